@@ -23,6 +23,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.automation.jsscripting.internal.fs.watch.JSDependencyTracker;
 import org.openhab.core.automation.module.script.ScriptDependencyTracker;
 import org.openhab.core.automation.module.script.ScriptEngineFactory;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.config.core.ConfigurableService;
 import org.osgi.framework.Constants;
@@ -70,6 +71,11 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
         this.jsDependencyTracker = jsDependencyTracker;
         this.jsScriptServiceUtil = jsScriptServiceUtil;
         modified(config);
+
+        // parse the global script and the library while the scripts are being loaded, instead of on first use
+        boolean warmUpInjectionCache = injectionEnabled && injectionCachingEnabled;
+        ThreadPoolManager.getPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON).execute(() -> OpenhabGraalJSScriptEngine
+                .warmUp(jsDependencyTracker.getLibraryPath(), warmUpInjectionCache));
     }
 
     @Override
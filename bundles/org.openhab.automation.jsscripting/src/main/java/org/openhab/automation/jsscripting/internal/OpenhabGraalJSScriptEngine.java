@@ -32,6 +32,7 @@ import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
@@ -44,6 +45,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
+import org.graalvm.polyglot.PolyglotException;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.openhab.automation.jsscripting.internal.fs.DelegatingFileSystem;
@@ -155,16 +157,7 @@ public class OpenhabGraalJSScriptEngine
         LOGGER.debug("Initializing GraalJS script engine...");
 
         delegate = GraalJSScriptEngine.create(ENGINE,
-                Context.newBuilder("js").allowExperimentalOptions(true).allowAllAccess(true)
-                        .allowHostAccess(HOST_ACCESS)
-                        .option("js.commonjs-require-cwd", jsDependencyTracker.getLibraryPath().toString())
-                        .option("js.nashorn-compat", "true") // Enable Nashorn compat mode as openhab-js relies on
-                                                             // accessors, see
-                                                             // https://github.com/oracle/graaljs/blob/master/docs/user/NashornMigrationGuide.md#accessors
-                        .option("js.ecmascript-version", "2022") // If Nashorn compat is enabled, it will enforce ES5
-                                                                 // compatibility, we want ECMA2022
-                        .option("js.commonjs-require", "true") // Enable CommonJS module support
-                        .hostClassLoader(getClass().getClassLoader())
+                newContextBuilder(jsDependencyTracker.getLibraryPath())
                         .fileSystem(new DelegatingFileSystem(FileSystems.getDefault().provider()) {
                             @Override
                             public SeekableByteChannel newByteChannel(Path path, Set<? extends OpenOption> options,
@@ -223,6 +216,46 @@ public class OpenhabGraalJSScriptEngine
                         }));
     }
 
+    /**
+     * Creates a builder for contexts of the shared {@link Engine}. All contexts must be created with the same language
+     * options, otherwise the engine cannot share the parsed code between them.
+     *
+     * @param libraryPath the path of the user's JavaScript libraries
+     * @return the context builder
+     */
+    private static Context.Builder newContextBuilder(Path libraryPath) {
+        return Context.newBuilder("js").allowExperimentalOptions(true).allowAllAccess(true).allowHostAccess(HOST_ACCESS)
+                .option("js.commonjs-require-cwd", libraryPath.toString())
+                .option("js.nashorn-compat", "true") // Enable Nashorn compat mode as openhab-js relies on
+                                                     // accessors, see
+                                                     // https://github.com/oracle/graaljs/blob/master/docs/user/NashornMigrationGuide.md#accessors
+                .option("js.ecmascript-version", "2022") // If Nashorn compat is enabled, it will enforce ES5
+                                                         // compatibility, we want ECMA2022
+                .option("js.commonjs-require", "true") // Enable CommonJS module support
+                .hostClassLoader(OpenhabGraalJSScriptEngine.class.getClassLoader());
+    }
+
+    /**
+     * Parses the global script and the cached openhab-js injection in a throwaway context, so the shared
+     * {@link Engine} holds their parsed code before the first script engine is initialized. The sources are
+     * parsed only, not executed, as executing them requires the injections of a script engine.
+     *
+     * @param libraryPath the path of the user's JavaScript libraries
+     * @param injectionCachingEnabled whether the cached openhab-js injection is used
+     */
+    public static void warmUp(Path libraryPath, boolean injectionCachingEnabled) {
+        long start = System.nanoTime();
+        try (Context context = newContextBuilder(libraryPath).engine(ENGINE).build()) {
+            context.parse(GLOBAL_SOURCE);
+            if (injectionCachingEnabled) {
+                context.parse(OPENHAB_JS_SOURCE);
+            }
+            LOGGER.debug("Warmed up GraalJS engine in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (PolyglotException | IllegalArgumentException | IllegalStateException e) {
+            LOGGER.warn("Failed to warm up GraalJS engine: {}", e.getMessage());
+        }
+    }
+
     @Override
     protected void beforeInvocation() {
         super.beforeInvocation();
@@ -233,6 +266,8 @@ public class OpenhabGraalJSScriptEngine
             return;
         }
 
+        long start = System.nanoTime();
+
         ScriptContext ctx = delegate.getContext();
         if (ctx == null) {
             throw new IllegalStateException("Failed to retrieve script context");
@@ -287,7 +322,8 @@ public class OpenhabGraalJSScriptEngine
                     eval(OPENHAB_JS_INJECTION_CODE);
                 }
             }
-            LOGGER.debug("Successfully initialized GraalJS script engine.");
+            LOGGER.debug("Successfully initialized GraalJS script engine {} in {} ms.", engineIdentifier,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
         } catch (ScriptException e) {
             LOGGER.error("Could not inject global script", e);
         }
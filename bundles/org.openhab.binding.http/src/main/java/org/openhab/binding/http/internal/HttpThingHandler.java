@@ -18,9 +18,11 @@ import java.net.URISyntaxException;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
@@ -88,7 +90,7 @@ public class HttpThingHandler extends BaseThingHandler {
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
 
     private HttpThingConfig config = new HttpThingConfig();
-    private final Map<String, RefreshingUrlCache> urlHandlers = new HashMap<>();
+    private final Map<String, RefreshingUrlCache> urlHandlers = new ConcurrentHashMap<>();
     private final Map<ChannelUID, ItemValueConverter> channels = new HashMap<>();
     private final Map<ChannelUID, String> channelUrls = new HashMap<>();
 
@@ -223,6 +225,15 @@ public class HttpThingHandler extends BaseThingHandler {
         super.dispose();
     }
 
+    /**
+     * get the refresh caches of this thing
+     *
+     * @return the caches, one per requested URL
+     */
+    public List<RefreshingUrlCache> getUrlCaches() {
+        return List.copyOf(urlHandlers.values());
+    }
+
     /**
      * create all necessary information to handle every channel
      *
@@ -14,6 +14,8 @@ package org.openhab.binding.http.internal.http;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -28,10 +30,26 @@ public class Content {
     private final byte[] rawContent;
     private final Charset encoding;
     private final @Nullable String mediaType;
+    private final @Nullable String eTag;
+    private final @Nullable String lastModified;
+    private final boolean notModified;
 
     public Content(byte[] rawContent, String encoding, @Nullable String mediaType) {
+        this(rawContent, encoding, mediaType, null, null, false);
+    }
+
+    public Content(byte[] rawContent, String encoding, @Nullable String mediaType, @Nullable String eTag,
+            @Nullable String lastModified) {
+        this(rawContent, encoding, mediaType, eTag, lastModified, false);
+    }
+
+    private Content(byte[] rawContent, String encoding, @Nullable String mediaType, @Nullable String eTag,
+            @Nullable String lastModified, boolean notModified) {
         this.rawContent = rawContent;
         this.mediaType = mediaType;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+        this.notModified = notModified;
 
         Charset finalEncoding = StandardCharsets.UTF_8;
         try {
@@ -52,4 +70,45 @@ public class Content {
     public @Nullable String getMediaType() {
         return mediaType;
     }
+
+    /**
+     * @return the value of the ETag header of the response, if present
+     */
+    public @Nullable String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @return the value of the Last-Modified header of the response, if present
+     */
+    public @Nullable String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return true if the server answered a conditional request with 304 (Not Modified), there is no content then
+     */
+    public boolean isNotModified() {
+        return notModified;
+    }
+
+    /**
+     * check if the other content has byte-identical data with the same encoding and media type
+     *
+     * @param other the other content
+     * @return true if both contents are equal
+     */
+    public boolean hasSameContent(Content other) {
+        return encoding.equals(other.encoding) && Objects.equals(mediaType, other.mediaType)
+                && Arrays.equals(rawContent, other.rawContent);
+    }
+
+    /**
+     * create the content for a 304 (Not Modified) response
+     *
+     * @return the content
+     */
+    public static Content notModified() {
+        return new Content(new byte[0], StandardCharsets.UTF_8.name(), null, null, null, true);
+    }
 }
@@ -24,6 +24,7 @@ import org.eclipse.jetty.client.api.Response;
 import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BufferingResponseListener;
 import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,7 +67,11 @@ public class HttpResponseListener extends BufferingResponseListener {
             future.complete(null);
         } else if (HttpStatus.isSuccess(response.getStatus())) {
             String encoding = Objects.requireNonNullElse(getEncoding(), fallbackEncoding);
-            future.complete(new Content(getContent(), encoding, getMediaType()));
+            future.complete(new Content(getContent(), encoding, getMediaType(),
+                    response.getHeaders().get(HttpHeader.ETAG), response.getHeaders().get(HttpHeader.LAST_MODIFIED)));
+        } else if (response.getStatus() == HttpStatus.NOT_MODIFIED_304) {
+            // only sent in reply to a conditional request, the previous content is still valid
+            future.complete(Content.notModified());
         } else {
             switch (response.getStatus()) {
                 case HttpStatus.UNAUTHORIZED_401:
@@ -25,12 +25,14 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.api.Authentication;
 import org.eclipse.jetty.client.api.AuthenticationStore;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.openhab.binding.http.internal.Util;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
@@ -41,6 +43,9 @@ import org.slf4j.LoggerFactory;
  * The {@link RefreshingUrlCache} is responsible for requesting from a single URL and passing the content to the
  * channels
  *
+ * If enabled, unchanged responses are not passed to the channels. Conditional requests (ETag / Last-Modified) are used
+ * if the server supports them, otherwise the content of the response is compared to the last content.
+ *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
@@ -57,9 +62,15 @@ public class RefreshingUrlCache {
     private final List<String> headers;
     private final HttpMethod httpMethod;
     private final String httpContent;
+    private final boolean skipUnchanged;
 
     private final ScheduledFuture<?> future;
-    private @Nullable Content lastContent;
+    private volatile @Nullable Content lastContent;
+    // set when a consumer was added, so that the next response is passed on even if it is unchanged
+    private volatile boolean forceProcessing = true;
+
+    private final AtomicLong processedRefreshes = new AtomicLong();
+    private final AtomicLong skippedRefreshes = new AtomicLong();
 
     public RefreshingUrlCache(ScheduledExecutorService executor, RateLimitedHttpClient httpClient, String url,
             boolean escapedUrl, HttpThingConfig thingConfig, String httpContent) {
@@ -71,6 +82,7 @@ public class RefreshingUrlCache {
         this.headers = thingConfig.headers;
         this.httpMethod = thingConfig.stateMethod;
         this.httpContent = httpContent;
+        this.skipUnchanged = thingConfig.skipUnchanged;
         fallbackEncoding = thingConfig.encoding;
 
         future = executor.scheduleWithFixedDelay(this::refresh, 1, thingConfig.refresh, TimeUnit.SECONDS);
@@ -105,6 +117,18 @@ public class RefreshingUrlCache {
                     }
                 });
 
+                Content content = lastContent;
+                if (skipUnchanged && httpMethod == HttpMethod.GET && content != null && !forceProcessing) {
+                    String eTag = content.getETag();
+                    if (eTag != null) {
+                        request.header(HttpHeader.IF_NONE_MATCH, eTag);
+                    }
+                    String lastModified = content.getLastModified();
+                    if (lastModified != null) {
+                        request.header(HttpHeader.IF_MODIFIED_SINCE, lastModified);
+                    }
+                }
+
                 CompletableFuture<@Nullable Content> response = new CompletableFuture<>();
                 response.exceptionally(e -> {
                     if (e instanceof HttpAuthException) {
@@ -152,6 +176,25 @@ public class RefreshingUrlCache {
 
     public void addConsumer(Consumer<Content> consumer) {
         consumers.add(consumer);
+        forceProcessing = true;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return the number of responses that were passed to the channels
+     */
+    public long getProcessedRefreshes() {
+        return processedRefreshes.get();
+    }
+
+    /**
+     * @return the number of responses that were not passed to the channels because they were unchanged
+     */
+    public long getSkippedRefreshes() {
+        return skippedRefreshes.get();
     }
 
     public Optional<Content> get() {
@@ -164,7 +207,28 @@ public class RefreshingUrlCache {
     }
 
     private void processResult(@Nullable Content content) {
+        Content previousContent = lastContent;
+        if (content != null && content.isNotModified()) {
+            if (previousContent == null) {
+                return;
+            }
+            content = previousContent;
+            if (!forceProcessing) {
+                skippedRefreshes.incrementAndGet();
+                logger.trace("Content of URL {} not modified, skipping", url);
+                return;
+            }
+        } else if (skipUnchanged && content != null && previousContent != null && !forceProcessing
+                && content.hasSameContent(previousContent)) {
+            // keep the new content, it may contain new validators
+            lastContent = content;
+            skippedRefreshes.incrementAndGet();
+            logger.trace("Content of URL {} unchanged, skipping", url);
+            return;
+        }
         if (content != null) {
+            forceProcessing = false;
+            processedRefreshes.incrementAndGet();
             for (Consumer<Content> consumer : consumers) {
                 try {
                     consumer.accept(content);
@@ -0,0 +1,274 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+
+/**
+ * Unit tests for the skipping of unchanged responses in {@link RefreshingUrlCache}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class RefreshingUrlCacheTest {
+
+    private static final String URL = "http://localhost/state";
+    private static final String ETAG = "\"abc\"";
+    private static final String LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @Mock @NonNullByDefault({}) ScheduledFuture<?> refreshJob;
+    private @Mock @NonNullByDefault({}) RateLimitedHttpClient httpClient;
+    private @Mock @NonNullByDefault({}) Request request;
+    private @Mock @NonNullByDefault({}) Consumer<Content> consumer;
+
+    private final HttpThingConfig thingConfig = new HttpThingConfig();
+
+    // the response sent for the next request
+    private int status = HttpStatus.OK_200;
+    private byte[] body = new byte[0];
+    private HttpFields headers = new HttpFields();
+
+    @BeforeEach
+    public void setUp() {
+        thingConfig.skipUnchanged = true;
+        doReturn(refreshJob).when(scheduler).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(),
+                any(TimeUnit.class));
+        when(httpClient.newRequest(any(URI.class), any(HttpMethod.class), anyString()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(request));
+        doAnswer(invocation -> {
+            HttpResponseListener listener = invocation.getArgument(0);
+            Response response = mock(Response.class);
+            when(response.getStatus()).thenReturn(status);
+            when(response.getHeaders()).thenReturn(headers);
+            listener.onContent(response, ByteBuffer.wrap(body));
+            listener.onComplete(new Result(request, response));
+            return null;
+        }).when(request).send(any(Response.CompleteListener.class));
+    }
+
+    private RefreshingUrlCache createCache() {
+        RefreshingUrlCache cache = new RefreshingUrlCache(scheduler, httpClient, URL, true, thingConfig, "");
+        cache.addConsumer(consumer);
+        return cache;
+    }
+
+    private void respond(int status, String body, @Nullable String eTag, @Nullable String lastModified) {
+        this.status = status;
+        this.body = body.getBytes();
+        this.headers = new HttpFields();
+        if (eTag != null) {
+            headers.put(HttpHeader.ETAG, eTag);
+        }
+        if (lastModified != null) {
+            headers.put(HttpHeader.LAST_MODIFIED, lastModified);
+        }
+    }
+
+    /**
+     * Run the scheduled refresh once
+     */
+    private void refresh() {
+        ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).scheduleWithFixedDelay(refresh.capture(), anyLong(), anyLong(), any(TimeUnit.class));
+        clearInvocations(request);
+        refresh.getValue().run();
+    }
+
+    private Content lastAcceptedContent(int expectedCalls) {
+        ArgumentCaptor<Content> content = ArgumentCaptor.forClass(Content.class);
+        verify(consumer, times(expectedCalls)).accept(content.capture());
+        return content.getValue();
+    }
+
+    @Test
+    public void unchangedContentIsSkipped() {
+        RefreshingUrlCache cache = createCache();
+        respond(HttpStatus.OK_200, "foo", null, null);
+
+        refresh();
+        refresh();
+
+        assertEquals("foo", lastAcceptedContent(1).getAsString());
+        assertEquals(1, cache.getProcessedRefreshes());
+        assertEquals(1, cache.getSkippedRefreshes());
+
+        respond(HttpStatus.OK_200, "bar", null, null);
+        refresh();
+
+        assertEquals("bar", lastAcceptedContent(2).getAsString());
+        assertEquals(2, cache.getProcessedRefreshes());
+        assertEquals(1, cache.getSkippedRefreshes());
+    }
+
+    @Test
+    public void unchangedContentIsProcessedIfSkippingIsDisabled() {
+        thingConfig.skipUnchanged = false;
+        RefreshingUrlCache cache = createCache();
+        respond(HttpStatus.OK_200, "foo", ETAG, null);
+
+        refresh();
+        refresh();
+
+        lastAcceptedContent(2);
+        assertEquals(2, cache.getProcessedRefreshes());
+        assertEquals(0, cache.getSkippedRefreshes());
+        verify(request, never()).header(eq(HttpHeader.IF_NONE_MATCH), anyString());
+    }
+
+    @Test
+    public void notModifiedResponseIsSkipped() {
+        RefreshingUrlCache cache = createCache();
+        respond(HttpStatus.OK_200, "foo", ETAG, null);
+        refresh();
+
+        respond(HttpStatus.NOT_MODIFIED_304, "", null, null);
+        refresh();
+
+        lastAcceptedContent(1);
+        assertEquals(1, cache.getProcessedRefreshes());
+        assertEquals(1, cache.getSkippedRefreshes());
+        // the previous content is still valid
+        assertEquals("foo", cache.get().map(Content::getAsString).orElse(null));
+    }
+
+    @Test
+    public void notModifiedResponseWithoutPreviousContentIsIgnored() {
+        RefreshingUrlCache cache = createCache();
+        respond(HttpStatus.NOT_MODIFIED_304, "", null, null);
+
+        refresh();
+
+        verify(consumer, never()).accept(any());
+        assertEquals(0, cache.getProcessedRefreshes());
+        assertEquals(0, cache.getSkippedRefreshes());
+        assertTrue(cache.get().isEmpty());
+    }
+
+    @Test
+    public void previousContentIsProcessedForNewConsumerOnNotModified() {
+        RefreshingUrlCache cache = createCache();
+        respond(HttpStatus.OK_200, "foo", ETAG, null);
+        refresh();
+
+        @SuppressWarnings("unchecked")
+        Consumer<Content> newConsumer = mock(Consumer.class);
+        cache.addConsumer(newConsumer);
+        respond(HttpStatus.NOT_MODIFIED_304, "", null, null);
+        refresh();
+
+        assertEquals("foo", lastAcceptedContent(2).getAsString());
+        verify(newConsumer).accept(any());
+        assertEquals(2, cache.getProcessedRefreshes());
+        assertEquals(0, cache.getSkippedRefreshes());
+
+        // the following unchanged response is skipped again
+        refresh();
+        lastAcceptedContent(2);
+        assertEquals(1, cache.getSkippedRefreshes());
+    }
+
+    @Test
+    public void unchangedContentIsProcessedForNewConsumer() {
+        RefreshingUrlCache cache = createCache();
+        respond(HttpStatus.OK_200, "foo", null, null);
+        refresh();
+
+        @SuppressWarnings("unchecked")
+        Consumer<Content> newConsumer = mock(Consumer.class);
+        cache.addConsumer(newConsumer);
+        refresh();
+
+        lastAcceptedContent(2);
+        verify(newConsumer).accept(any());
+        assertEquals(2, cache.getProcessedRefreshes());
+        assertEquals(0, cache.getSkippedRefreshes());
+    }
+
+    @Test
+    public void conditionalHeadersAreSentForGet() {
+        createCache();
+        respond(HttpStatus.OK_200, "foo", ETAG, LAST_MODIFIED);
+
+        // no validators are known for the first request
+        refresh();
+        verify(request, never()).header(eq(HttpHeader.IF_NONE_MATCH), anyString());
+        verify(request, never()).header(eq(HttpHeader.IF_MODIFIED_SINCE), anyString());
+
+        refresh();
+        verify(request).header(HttpHeader.IF_NONE_MATCH, ETAG);
+        verify(request).header(HttpHeader.IF_MODIFIED_SINCE, LAST_MODIFIED);
+    }
+
+    @Test
+    public void conditionalHeadersAreNotSentForPost() {
+        thingConfig.stateMethod = HttpMethod.POST;
+        RefreshingUrlCache cache = createCache();
+        respond(HttpStatus.OK_200, "foo", ETAG, LAST_MODIFIED);
+
+        refresh();
+        refresh();
+
+        verify(request, never()).header(eq(HttpHeader.IF_NONE_MATCH), anyString());
+        verify(request, never()).header(eq(HttpHeader.IF_MODIFIED_SINCE), anyString());
+        // unchanged content is still skipped by comparing it
+        assertEquals(1, cache.getProcessedRefreshes());
+        assertEquals(1, cache.getSkippedRefreshes());
+    }
+
+    @Test
+    public void conditionalHeadersAreNotSentAfterNewConsumer() {
+        RefreshingUrlCache cache = createCache();
+        respond(HttpStatus.OK_200, "foo", ETAG, null);
+        refresh();
+
+        @SuppressWarnings("unchecked")
+        Consumer<Content> newConsumer = mock(Consumer.class);
+        cache.addConsumer(newConsumer);
+        refresh();
+
+        // the new consumer needs the full content
+        verify(request, never()).header(eq(HttpHeader.IF_NONE_MATCH), anyString());
+    }
+}
@@ -274,6 +274,16 @@ public class Resource {
         return Objects.nonNull(children) ? children : List.of();
     }
 
+    /**
+     * Check if the resource contains the <code>children</code> field, which is missing in events that do not change
+     * the children.
+     *
+     * @return true if the children field is present.
+     */
+    public boolean hasChildren() {
+        return Objects.nonNull(children);
+    }
+
     /**
      * Get the color as an HSBType. This returns an HSB that is based on an amalgamation of the color xy, dimming, and
      * on/off JSON elements. It takes its 'H' and 'S' parts from the 'ColorXy' JSON element, and its 'B' part from the
@@ -0,0 +1,496 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.connection;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resource;
+import org.openhab.binding.hue.internal.api.dto.clip2.ResourceReference;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resources;
+import org.openhab.binding.hue.internal.api.dto.clip2.enums.ResourceType;
+import org.openhab.binding.hue.internal.api.serialization.InstantDeserializer;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+import org.openhab.binding.hue.internal.exceptions.AssetNotLoadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Class for scheduling the HTTP PUT commands that are sent to a Hue Bridge running CLIP 2.
+ * <p>
+ * The Hue Bridge only accepts one PUT command per time interval, so the commands are queued, and the queue is sent
+ * after a short coalescing window. Before sending, the queue is reduced as follows: a) successive commands to the same
+ * resource are merged into one command, whereby later property values overwrite earlier ones and earlier properties
+ * that exclude them are removed, and b) if all lights of a room or zone receive the same command, their commands are
+ * replaced by a single command to the room's or zone's grouped light resource.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class Clip2CommandScheduler {
+
+    /**
+     * Functional interface for sending a resource to the bridge.
+     */
+    @FunctionalInterface
+    public interface ResourceSender {
+        Resources putResource(Resource resource) throws ApiException, AssetNotLoadedException, InterruptedException;
+    }
+
+    /**
+     * A queued command and the futures of all submissions that have been merged into it.
+     */
+    private static class QueuedCommand {
+        private final String id;
+        private final ResourceType type;
+        private final JsonObject properties;
+        private final List<Submission> submissions = new ArrayList<>();
+
+        private QueuedCommand(String id, ResourceType type, JsonObject properties) {
+            this.id = id;
+            this.type = type;
+            this.properties = properties;
+        }
+    }
+
+    private static class Submission {
+        private final CompletableFuture<Resources> future = new CompletableFuture<>();
+        private final long submitNanos = System.nanoTime();
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Clip2CommandScheduler.class);
+
+    private static final Gson GSON = new GsonBuilder().registerTypeAdapter(Instant.class, new InstantDeserializer())
+            .create();
+    private static final int COALESCE_WINDOW_MILLISECS = 50;
+    private static final String ID = "id";
+    private static final String TYPE = "type";
+
+    /**
+     * The properties that a grouped light command can apply to all lights of the group.
+     */
+    private static final Set<String> GROUPED_LIGHT_PROPERTIES = Set.of(ID, TYPE, "on", "dimming", "color",
+            "color_temperature", "dynamics", "alert");
+
+    /**
+     * The properties of a queued command that are removed when a property is merged into it, because the bridge would
+     * apply them together rather than one after the other: a color and a color temperature exclude each other, a color
+     * change ends a running effect, and a new effect replaces the running one.
+     */
+    private static final Map<String, Set<String>> EXCLUSIVE_PROPERTIES = Map.of( //
+            "color", Set.of("color_temperature", "effects", "timed_effects"), //
+            "color_temperature", Set.of("color", "effects", "timed_effects"), //
+            "effects", Set.of("timed_effects"), //
+            "timed_effects", Set.of("effects"));
+
+    private final ResourceSender sender;
+    private final ScheduledExecutorService scheduler;
+    private final List<QueuedCommand> queue = new ArrayList<>();
+
+    private volatile Map<String, Set<String>> groupMembers = Map.of();
+    private boolean closed;
+    private @Nullable Future<?> flushTask;
+
+    private final LongAdder submittedCount = new LongAdder();
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder mergedCount = new LongAdder();
+    private final LongAdder groupedCount = new LongAdder();
+    private final LongAdder completedCount = new LongAdder();
+    private final AtomicLong latencyTotalNanos = new AtomicLong();
+    private final AtomicLong latencyMaxNanos = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param sender the method that sends a resource to the bridge.
+     * @param scheduler the scheduler on which the commands are sent.
+     */
+    public Clip2CommandScheduler(ResourceSender sender, ScheduledExecutorService scheduler) {
+        this.sender = sender;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Queue a resource to be sent to the bridge.
+     *
+     * @param resource the resource to put.
+     * @return a future that completes with the response of the bridge, which may contain errors, or completes
+     *         exceptionally if the command could not be sent.
+     */
+    public CompletableFuture<Resources> submit(Resource resource) {
+        Submission submission = new Submission();
+        JsonObject properties = GSON.toJsonTree(resource).getAsJsonObject();
+        String id = resource.getId();
+        ResourceType type = resource.getType();
+        synchronized (this) {
+            if (closed) {
+                submission.future.completeExceptionally(new ApiException("Command scheduler is closed"));
+                return submission.future;
+            }
+            submittedCount.increment();
+            QueuedCommand command = getMergeableCommand(id, type);
+            if (Objects.nonNull(command)) {
+                for (Map.Entry<String, JsonElement> property : properties.entrySet()) {
+                    EXCLUSIVE_PROPERTIES.getOrDefault(property.getKey(), Set.of()).forEach(command.properties::remove);
+                    command.properties.add(property.getKey(), property.getValue());
+                }
+                mergedCount.increment();
+            } else {
+                command = new QueuedCommand(id, type, properties);
+                queue.add(command);
+            }
+            command.submissions.add(submission);
+            if (Objects.isNull(flushTask)) {
+                flushTask = scheduler.schedule(() -> flush(), COALESCE_WINDOW_MILLISECS, TimeUnit.MILLISECONDS);
+            }
+        }
+        return submission.future;
+    }
+
+    /**
+     * Find a queued command that a new command to the given resource can be merged into, without changing the effect
+     * of any command that is queued after it. This is the case if it is the last queued command, or if both are light
+     * commands and all commands queued after it are light commands too, since the latter do not affect each other.
+     *
+     * @param id the resource id of the new command.
+     * @param type the resource type of the new command.
+     * @return the queued command, or null if the new command must be queued separately.
+     */
+    private @Nullable QueuedCommand getMergeableCommand(String id, ResourceType type) {
+        for (int i = queue.size() - 1; i >= 0; i--) {
+            QueuedCommand command = queue.get(i);
+            if (command.id.equals(id) && command.type == type) {
+                return command;
+            }
+            if (type != ResourceType.LIGHT || command.type != ResourceType.LIGHT) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Send all queued commands, including the ones that are queued while sending.
+     */
+    private void flush() {
+        while (true) {
+            List<QueuedCommand> commands;
+            synchronized (this) {
+                if (queue.isEmpty()) {
+                    flushTask = null;
+                    return;
+                }
+                commands = groupCommands(queue, groupMembers);
+                queue.clear();
+            }
+            for (int i = 0; i < commands.size(); i++) {
+                try {
+                    send(commands.get(i));
+                } catch (InterruptedException e) {
+                    ApiException cause = new ApiException("Command interrupted");
+                    commands.subList(i, commands.size()).forEach(command -> fail(command, cause));
+                    synchronized (this) {
+                        flushTask = null;
+                    }
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void send(QueuedCommand command) throws InterruptedException {
+        try {
+            Resource resource = Objects.requireNonNull(GSON.fromJson(command.properties, Resource.class));
+            Resources resources = sender.putResource(resource);
+            sentCount.increment();
+            long now = System.nanoTime();
+            for (Submission submission : command.submissions) {
+                long latency = now - submission.submitNanos;
+                completedCount.increment();
+                latencyTotalNanos.addAndGet(latency);
+                latencyMaxNanos.accumulateAndGet(latency, Math::max);
+                submission.future.complete(resources);
+            }
+        } catch (ApiException | AssetNotLoadedException | RuntimeException e) {
+            // complete the futures in any case, otherwise the sending thread would stop and the queue would grow
+            fail(command, e);
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("send() {} commands as {} {}, queue depth {}, average latency {} ms",
+                    command.submissions.size(), command.type, command.id, getQueueDepth(), getAverageLatencyMillis());
+        }
+    }
+
+    private void fail(QueuedCommand command, Exception e) {
+        command.submissions.forEach(submission -> submission.future.completeExceptionally(e));
+    }
+
+    /**
+     * Replace the light commands by grouped light commands where all lights of a group receive the same properties.
+     * Only uninterrupted runs of light commands are considered, so that the order relative to other commands (e.g. a
+     * scene recall) is preserved. Within such a run every light occurs only once, so the commands can be reordered.
+     *
+     * @param commands the queued commands.
+     * @param groupMembers map of grouped light resource ids to the ids of their member lights.
+     * @return the commands to send.
+     */
+    private List<QueuedCommand> groupCommands(List<QueuedCommand> commands, Map<String, Set<String>> groupMembers) {
+        List<QueuedCommand> result = new ArrayList<>(commands.size());
+        int start = 0;
+        while (start < commands.size()) {
+            int end = start;
+            while (end < commands.size() && commands.get(end).type == ResourceType.LIGHT) {
+                end++;
+            }
+            if (end == start) {
+                result.add(commands.get(start++));
+                continue;
+            }
+            result.addAll(groupLightCommands(commands.subList(start, end), groupMembers));
+            start = end;
+        }
+        return result;
+    }
+
+    private List<QueuedCommand> groupLightCommands(List<QueuedCommand> lightCommands,
+            Map<String, Set<String>> groupMembers) {
+        if (lightCommands.size() < 2 || groupMembers.isEmpty()) {
+            return lightCommands;
+        }
+        Map<String, QueuedCommand> commandsByLight = new LinkedHashMap<>();
+        lightCommands.forEach(command -> commandsByLight.put(command.id, command));
+
+        // the first member command of each group is replaced by the group command, the others are dropped
+        Map<QueuedCommand, QueuedCommand> replacements = new HashMap<>();
+        Set<QueuedCommand> dropped = new HashSet<>();
+        groupMembers.entrySet().stream().filter(group -> group.getValue().size() > 1)
+                .sorted(Comparator.comparingInt(group -> -group.getValue().size())).forEach(group -> {
+                    List<QueuedCommand> members = new ArrayList<>();
+                    for (String lightId : group.getValue()) {
+                        QueuedCommand command = commandsByLight.get(lightId);
+                        if (Objects.isNull(command) || dropped.contains(command) || replacements.containsKey(command)) {
+                            return;
+                        }
+                        members.add(command);
+                    }
+                    JsonObject properties = getGroupProperties(members);
+                    if (Objects.isNull(properties)) {
+                        return;
+                    }
+                    properties.addProperty(ID, group.getKey());
+                    properties.addProperty(TYPE, ResourceType.GROUPED_LIGHT.name().toLowerCase());
+                    QueuedCommand groupCommand = new QueuedCommand(group.getKey(), ResourceType.GROUPED_LIGHT,
+                            properties);
+                    members.forEach(member -> groupCommand.submissions.addAll(member.submissions));
+                    QueuedCommand first = lightCommands.stream().filter(members::contains).findFirst().orElseThrow();
+                    replacements.put(first, groupCommand);
+                    members.stream().filter(member -> member != first).forEach(dropped::add);
+                    groupedCount.add(members.size());
+                });
+        if (replacements.isEmpty()) {
+            return lightCommands;
+        }
+
+        List<QueuedCommand> result = new ArrayList<>(lightCommands.size());
+        for (QueuedCommand command : lightCommands) {
+            QueuedCommand groupCommand = replacements.get(command);
+            if (Objects.nonNull(groupCommand)) {
+                result.add(groupCommand);
+            } else if (!dropped.contains(command)) {
+                result.add(command);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the properties for a grouped light command that has the same effect as the given light commands.
+     *
+     * @param members the light commands for all members of the group.
+     * @return the properties, or null if the commands differ or contain properties not supported by grouped lights.
+     */
+    private static @Nullable JsonObject getGroupProperties(List<QueuedCommand> members) {
+        JsonObject properties = null;
+        for (QueuedCommand member : members) {
+            if (!GROUPED_LIGHT_PROPERTIES.containsAll(member.properties.keySet())) {
+                return null;
+            }
+            JsonObject memberProperties = member.properties.deepCopy();
+            memberProperties.remove(ID);
+            memberProperties.remove(TYPE);
+            if (Objects.isNull(properties)) {
+                properties = memberProperties;
+            } else if (!properties.equals(memberProperties)) {
+                return null;
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Update the group memberships from the given device, room and zone resources. A group is only taken into account
+     * if all of its members can be resolved, so a grouped light command never reaches a light that did not receive the
+     * respective light command.
+     *
+     * @param devices the device resources.
+     * @param groups the room and zone resources.
+     */
+    public void setGroups(Collection<Resource> devices, Collection<Resource> groups) {
+        Map<String, Set<String>> deviceLights = new HashMap<>();
+        for (Resource device : devices) {
+            Set<String> lights = new HashSet<>();
+            device.getServiceReferences().stream().filter(service -> service.getType() == ResourceType.LIGHT)
+                    .map(ResourceReference::getId).filter(Objects::nonNull).forEach(lights::add);
+            deviceLights.put(device.getId(), lights);
+        }
+
+        Map<String, Set<String>> groupMembers = new HashMap<>();
+        for (Resource group : groups) {
+            String groupedLightId = group.getServiceReferences().stream()
+                    .filter(service -> service.getType() == ResourceType.GROUPED_LIGHT).map(ResourceReference::getId)
+                    .filter(Objects::nonNull).findFirst().orElse(null);
+            Set<String> members = Objects.nonNull(groupedLightId) ? getMembers(group, deviceLights) : null;
+            if (Objects.nonNull(groupedLightId) && Objects.nonNull(members) && !members.isEmpty()) {
+                groupMembers.put(groupedLightId, Set.copyOf(members));
+            }
+        }
+        LOGGER.debug("setGroups() {} groups", groupMembers.size());
+        this.groupMembers = Map.copyOf(groupMembers);
+    }
+
+    private static @Nullable Set<String> getMembers(Resource group, Map<String, Set<String>> deviceLights) {
+        Set<String> members = new HashSet<>();
+        for (ResourceReference child : group.getChildren()) {
+            String childId = child.getId();
+            if (Objects.isNull(childId)) {
+                return null;
+            }
+            switch (child.getType()) {
+                case LIGHT:
+                    members.add(childId);
+                    break;
+                case DEVICE:
+                    Set<String> lights = deviceLights.get(childId);
+                    if (Objects.isNull(lights)) {
+                        return null;
+                    }
+                    members.addAll(lights);
+                    break;
+                default:
+                    // e.g. the rooms in the 'All Lights' zone
+                    return null;
+            }
+        }
+        return members;
+    }
+
+    /**
+     * Forget the group memberships, e.g. because a room or zone has changed. No grouped light commands are created
+     * until the next call of {@link #setGroups(Collection, Collection)}.
+     */
+    public void clearGroups() {
+        groupMembers = Map.of();
+    }
+
+    /**
+     * Stop sending, and fail all queued commands.
+     */
+    public void close() {
+        List<QueuedCommand> commands;
+        synchronized (this) {
+            closed = true;
+            Future<?> task = flushTask;
+            if (Objects.nonNull(task)) {
+                task.cancel(false);
+                flushTask = null;
+            }
+            commands = new ArrayList<>(queue);
+            queue.clear();
+        }
+        ApiException cause = new ApiException("Command scheduler is closed");
+        commands.forEach(command -> fail(command, cause));
+    }
+
+    /**
+     * @return the number of queued commands, after merging.
+     */
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of submitted commands.
+     */
+    public long getSubmittedCount() {
+        return submittedCount.sum();
+    }
+
+    /**
+     * @return the number of PUT commands sent to the bridge.
+     */
+    public long getSentCount() {
+        return sentCount.sum();
+    }
+
+    /**
+     * @return the number of submitted commands that were merged into a queued command to the same resource.
+     */
+    public long getMergedCount() {
+        return mergedCount.sum();
+    }
+
+    /**
+     * @return the number of light commands that were replaced by grouped light commands.
+     */
+    public long getGroupedCount() {
+        return groupedCount.sum();
+    }
+
+    /**
+     * @return the average time from submitting a command until the bridge has responded, in milliseconds.
+     */
+    public long getAverageLatencyMillis() {
+        long count = completedCount.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(latencyTotalNanos.get() / count);
+    }
+
+    /**
+     * @return the maximum time from submitting a command until the bridge has responded, in milliseconds.
+     */
+    public long getMaximumLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(latencyMaxNanos.get());
+    }
+}
@@ -64,16 +64,20 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension impleme
     private static final String FMT_COMMENT = "    // %s things";
     private static final String FMT_APPKEY = "  - Application key: %s";
     private static final String FMT_SCENE = "  %s '%s'";
+    private static final String FMT_QUEUE = "  - Queued commands: %d";
+    private static final String FMT_COMMANDS = "  - Commands submitted: %d, merged: %d, grouped: %d, sent: %d";
+    private static final String FMT_LATENCY = "  - Command latency average: %d ms, maximum: %d ms";
 
     private static final String USER_NAME = "username";
     private static final String SCENES = "scenes";
     private static final String APPLICATION_KEY = "applicationkey";
     private static final String THINGS = "things";
+    private static final String COMMANDS = "commands";
 
     private static final StringsCompleter SUBCMD_COMPLETER = new StringsCompleter(List.of(USER_NAME, SCENES), false);
 
     private static final StringsCompleter SUBCMD_COMPLETER_2 = new StringsCompleter(
-            List.of(APPLICATION_KEY, THINGS, SCENES), false);
+            List.of(APPLICATION_KEY, THINGS, SCENES, COMMANDS), false);
 
     private static final StringsCompleter SCENES_COMPLETER = new StringsCompleter(List.of(SCENES), false);
 
@@ -139,6 +143,17 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension impleme
                             console.println(String.format(FMT_APPKEY, applicationKey));
                             return;
 
+                        case COMMANDS:
+                            clip2BridgeHandler.getCommandScheduler().ifPresentOrElse(commandScheduler -> {
+                                console.println(String.format(FMT_QUEUE, commandScheduler.getQueueDepth()));
+                                console.println(String.format(FMT_COMMANDS, commandScheduler.getSubmittedCount(),
+                                        commandScheduler.getMergedCount(), commandScheduler.getGroupedCount(),
+                                        commandScheduler.getSentCount()));
+                                console.println(String.format(FMT_LATENCY, commandScheduler.getAverageLatencyMillis(),
+                                        commandScheduler.getMaximumLatencyMillis()));
+                            }, () -> console.println("Bridge is not initialized"));
+                            return;
+
                         case SCENES:
                             console.println(String.format(FMT_BRIDGE, thing.getUID(), ipAddress, applicationKey));
                             try {
@@ -232,6 +247,7 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension impleme
                 buildCommandUsage("<bridgeUID> " + APPLICATION_KEY, "show the API v2 application key"),
                 buildCommandUsage("<bridgeUID> " + SCENES, "list all the scenes with their id"),
                 buildCommandUsage("<bridgeUID> " + THINGS, "list all the API v2 device/room/zone things with their id"),
+                buildCommandUsage("<bridgeUID> " + COMMANDS, "show the API v2 command queue statistics"),
                 buildCommandUsage("<groupThingUID> " + SCENES, "list all the scenes from this group with their id") });
     }
 
@@ -15,6 +15,7 @@ package org.openhab.binding.hue.internal.handler;
 import static org.openhab.binding.hue.internal.HueBindingConstants.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -22,7 +23,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -40,11 +43,13 @@ import org.openhab.binding.hue.internal.api.dto.clip2.enums.ResourceType;
 import org.openhab.binding.hue.internal.api.dto.clip2.helper.Setters;
 import org.openhab.binding.hue.internal.config.Clip2BridgeConfig;
 import org.openhab.binding.hue.internal.connection.Clip2Bridge;
+import org.openhab.binding.hue.internal.connection.Clip2CommandScheduler;
 import org.openhab.binding.hue.internal.connection.HueTlsTrustManagerProvider;
 import org.openhab.binding.hue.internal.discovery.Clip2ThingDiscoveryService;
 import org.openhab.binding.hue.internal.exceptions.ApiException;
 import org.openhab.binding.hue.internal.exceptions.AssetNotLoadedException;
 import org.openhab.binding.hue.internal.exceptions.HttpUnauthorizedException;
+import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.i18n.LocaleProvider;
 import org.openhab.core.i18n.TranslationProvider;
@@ -99,6 +104,7 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
      * NOTE: the SCENE resources must be mass down loaded first!
      */
     private static final List<ResourceReference> MASS_DOWNLOAD_RESOURCE_REFERENCES = List.of(SCENE, DEVICE, ROOM, ZONE);
+    private static final Set<ResourceType> GROUP_RESOURCE_TYPES = Set.of(ResourceType.ROOM, ResourceType.ZONE);
 
     private final Logger logger = LoggerFactory.getLogger(Clip2BridgeHandler.class);
 
@@ -109,6 +115,8 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
     private final TranslationProvider translationProvider;
 
     private @Nullable Clip2Bridge clip2Bridge;
+    private @Nullable Clip2CommandScheduler commandScheduler;
+    private @Nullable ScheduledExecutorService commandExecutor;
     private @Nullable ServiceRegistration<?> trustManagerRegistration;
     private @Nullable Clip2ThingDiscoveryService discoveryService;
 
@@ -280,6 +288,16 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
                 registration.unregister();
                 trustManagerRegistration = null;
             }
+            Clip2CommandScheduler cmdScheduler = commandScheduler;
+            if (Objects.nonNull(cmdScheduler)) {
+                cmdScheduler.close();
+                commandScheduler = null;
+            }
+            ScheduledExecutorService cmdExecutor = commandExecutor;
+            if (Objects.nonNull(cmdExecutor)) {
+                cmdExecutor.shutdownNow();
+                commandExecutor = null;
+            }
             Clip2Bridge bridge = clip2Bridge;
             if (Objects.nonNull(bridge)) {
                 bridge.close();
@@ -479,6 +497,11 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
 
             try {
                 clip2Bridge = new Clip2Bridge(httpClientFactory, this, ipAddress, applicationKey);
+                // the commands are sent one by one with blocking calls, which must not occupy the shared thread pool
+                ScheduledExecutorService cmdExecutor = Executors.newSingleThreadScheduledExecutor(
+                        new NamedThreadFactory("hue-commands-" + thing.getUID().getId(), true));
+                commandExecutor = cmdExecutor;
+                commandScheduler = new Clip2CommandScheduler(this::putResource, cmdExecutor);
             } catch (ApiException e) {
                 logger.trace("initializeAssets() communication error on '{}'", ipAddress, e);
                 setStatusOfflineWithCommunicationError(e);
@@ -531,6 +554,13 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
     private void onResourcesEventTask(List<Resource> resources) {
         int numberOfResources = resources.size();
         logger.debug("onResourcesEventTask() resource count {}", numberOfResources);
+        if (resources.stream().anyMatch(Clip2BridgeHandler::isGroupMembershipEvent)) {
+            Clip2CommandScheduler cmdScheduler = commandScheduler;
+            if (Objects.nonNull(cmdScheduler)) {
+                cmdScheduler.clearGroups();
+            }
+            updateThingsScheduled(FAST_SCHEDULE_MILLI_SECONDS);
+        }
         Setters.mergeLightResources(resources);
         if (numberOfResources != resources.size()) {
             logger.debug("onResourcesEventTask() merged to {} resources", resources.size());
@@ -542,6 +572,19 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
         });
     }
 
+    /**
+     * Check if an event resource changes the members of a room or zone. Rooms and zones are sent with their children
+     * when they are added or their members change, and with their id only when they are deleted. Other changes, e.g.
+     * of the name, do not require the groups to be downloaded again.
+     *
+     * @param resource the event resource.
+     * @return true if the resource is a room or zone whose members may have changed.
+     */
+    private static boolean isGroupMembershipEvent(Resource resource) {
+        return GROUP_RESOURCE_TYPES.contains(resource.getType()) && (resource.hasChildren()
+                || (Objects.isNull(resource.getMetaData()) && resource.getServiceReferences().isEmpty()));
+    }
+
     /**
      * Execute an HTTP PUT to send a Resource object to the server.
      *
@@ -557,6 +600,34 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
         return getClip2Bridge().putResource(resource);
     }
 
+    /**
+     * Queue a Resource object to be sent to the server with an HTTP PUT. Successive commands to the same resource are
+     * merged, and commands to all lights of a room or zone may be sent as one command to its grouped light.
+     *
+     * @param resource the resource to put.
+     * @return a future that completes with the resource, which may contain errors, or completes exceptionally with an
+     *         ApiException if a communication error occurred.
+     * @throws AssetNotLoadedException if one of the assets is not loaded.
+     */
+    public CompletableFuture<Resources> submitResource(Resource resource) throws AssetNotLoadedException {
+        logger.debug("submitResource() {}", resource);
+        checkAssetsLoaded();
+        Clip2CommandScheduler cmdScheduler = commandScheduler;
+        if (Objects.isNull(cmdScheduler)) {
+            throw new AssetNotLoadedException("Command scheduler not initialized");
+        }
+        return cmdScheduler.submit(resource);
+    }
+
+    /**
+     * Getter for the command scheduler.
+     *
+     * @return the command scheduler, or empty if the assets are not loaded.
+     */
+    public Optional<Clip2CommandScheduler> getCommandScheduler() {
+        return Optional.ofNullable(commandScheduler);
+    }
+
     /**
      * Register the application key with the hub. If the current application key is empty it will create a new one.
      *
@@ -730,9 +801,16 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
         logger.debug("updateThingsNow()");
         try {
             Clip2Bridge bridge = getClip2Bridge();
+            List<Resource> devices = List.of();
+            List<Resource> groups = new ArrayList<>();
             for (ResourceReference reference : MASS_DOWNLOAD_RESOURCE_REFERENCES) {
                 ResourceType resourceType = reference.getType();
                 List<Resource> resourceList = bridge.getResources(reference).getResources();
+                if (resourceType == ResourceType.DEVICE) {
+                    devices = resourceList;
+                } else if (GROUP_RESOURCE_TYPES.contains(resourceType)) {
+                    groups.addAll(resourceList);
+                }
                 switch (resourceType) {
                     case ZONE:
                         // add special 'All Lights' zone to the zone resource list
@@ -754,6 +832,10 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
                     }
                 });
             }
+            Clip2CommandScheduler cmdScheduler = commandScheduler;
+            if (Objects.nonNull(cmdScheduler)) {
+                cmdScheduler.setGroups(devices, groups);
+            }
         } catch (ApiException | AssetNotLoadedException e) {
             if (logger.isDebugEnabled()) {
                 logger.debug("updateThingsNow() unexpected exception", e);
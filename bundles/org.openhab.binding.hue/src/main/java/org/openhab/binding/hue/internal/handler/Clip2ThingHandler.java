@@ -47,7 +47,6 @@ import org.openhab.binding.hue.internal.api.dto.clip2.MirekSchema;
 import org.openhab.binding.hue.internal.api.dto.clip2.ProductData;
 import org.openhab.binding.hue.internal.api.dto.clip2.Resource;
 import org.openhab.binding.hue.internal.api.dto.clip2.ResourceReference;
-import org.openhab.binding.hue.internal.api.dto.clip2.Resources;
 import org.openhab.binding.hue.internal.api.dto.clip2.TimedEffects;
 import org.openhab.binding.hue.internal.api.dto.clip2.enums.ActionType;
 import org.openhab.binding.hue.internal.api.dto.clip2.enums.EffectType;
@@ -530,20 +529,27 @@ public class Clip2ThingHandler extends BaseThingHandler {
         putResource.setId(putResourceId);
         logger.debug("{} -> handleCommand() put resource {}", resourceId, putResource);
 
+        Command putCommand = command;
         try {
-            Resources resources = getBridgeHandler().putResource(putResource);
-            if (resources.hasErrors()) {
-                logger.info("Command '{}' for thing '{}', channel '{}' succeeded with errors: {}", command,
-                        thing.getUID(), channelUID, String.join("; ", resources.getErrors()));
-            }
-        } catch (ApiException | AssetNotLoadedException e) {
-            if (logger.isDebugEnabled()) {
-                logger.debug("{} -> handleCommand() error {}", resourceId, e.getMessage(), e);
-            } else {
-                logger.warn("Command '{}' for thing '{}', channel '{}' failed with error '{}'.", command,
-                        thing.getUID(), channelUID, e.getMessage());
-            }
-        } catch (InterruptedException e) {
+            getBridgeHandler().submitResource(putResource).whenComplete((resources, e) -> {
+                if (Objects.nonNull(e)) {
+                    logCommandError(putCommand, channelUID, e);
+                } else if (resources.hasErrors()) {
+                    logger.info("Command '{}' for thing '{}', channel '{}' succeeded with errors: {}", putCommand,
+                            thing.getUID(), channelUID, String.join("; ", resources.getErrors()));
+                }
+            });
+        } catch (AssetNotLoadedException e) {
+            logCommandError(command, channelUID, e);
+        }
+    }
+
+    private void logCommandError(Command command, ChannelUID channelUID, Throwable e) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} -> handleCommand() error {}", resourceId, e.getMessage(), e);
+        } else {
+            logger.warn("Command '{}' for thing '{}', channel '{}' failed with error '{}'.", command, thing.getUID(),
+                    channelUID, e.getMessage());
         }
     }
 
@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.clip2;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.hue.internal.api.dto.clip2.ColorTemperature;
+import org.openhab.binding.hue.internal.api.dto.clip2.ColorXy;
+import org.openhab.binding.hue.internal.api.dto.clip2.Dimming;
+import org.openhab.binding.hue.internal.api.dto.clip2.Effects;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resource;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resources;
+import org.openhab.binding.hue.internal.api.dto.clip2.enums.EffectType;
+import org.openhab.binding.hue.internal.api.dto.clip2.enums.ResourceType;
+import org.openhab.binding.hue.internal.api.serialization.InstantDeserializer;
+import org.openhab.binding.hue.internal.connection.Clip2CommandScheduler;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+import org.openhab.core.library.types.OnOffType;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+
+/**
+ * Tests for {@link Clip2CommandScheduler}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class Clip2CommandSchedulerTest {
+
+    private static final Gson GSON = new GsonBuilder().registerTypeAdapter(Instant.class, new InstantDeserializer())
+            .create();
+
+    private final List<Resource> sent = new ArrayList<>();
+    private final List<Runnable> flushTasks = new ArrayList<>();
+    private @NonNullByDefault({}) Clip2CommandScheduler commandScheduler;
+
+    @BeforeEach
+    public void setUp() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> {
+            flushTasks.add(invocation.getArgument(0));
+            return mock(ScheduledFuture.class);
+        }).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        commandScheduler = new Clip2CommandScheduler(resource -> {
+            sent.add(resource);
+            return new Resources();
+        }, scheduler);
+
+        // a room with two devices with one light each, and a zone with one of the lights
+        List<Resource> devices = List.of(
+                resource("{'id':'d1','type':'device','services':[{'rid':'l1','rtype':'light'}]}"),
+                resource("{'id':'d2','type':'device','services':[{'rid':'l2','rtype':'light'}]}"));
+        List<Resource> groups = List.of(resource("{'id':'r1','type':'room','children':[{'rid':'d1','rtype':'device'},"
+                + "{'rid':'d2','rtype':'device'}],'services':[{'rid':'g1','rtype':'grouped_light'}]}"),
+                resource("{'id':'z1','type':'zone','children':[{'rid':'l2','rtype':'light'}],"
+                        + "'services':[{'rid':'g2','rtype':'grouped_light'}]}"));
+        commandScheduler.setGroups(devices, groups);
+    }
+
+    private static Resource resource(String json) {
+        return GSON.fromJson(json.replace('\'', '"'), Resource.class);
+    }
+
+    private static Resource dimLight(String id, double brightness) {
+        return new Resource(ResourceType.LIGHT).setId(id).setDimming(new Dimming().setBrightness(brightness));
+    }
+
+    private static Resource colorLight(String id) {
+        return new Resource(ResourceType.LIGHT).setId(id).setColorXy(new ColorXy().setXY(new double[] { 0.3, 0.4 }));
+    }
+
+    private static Resource colorTemperatureLight(String id) {
+        return new Resource(ResourceType.LIGHT).setId(id).setColorTemperature(new ColorTemperature().setMirek(300));
+    }
+
+    private static Resource effectLight(String id) {
+        return new Resource(ResourceType.LIGHT).setId(id).setFixedEffects(new Effects().setEffect(EffectType.CANDLE));
+    }
+
+    private static JsonObject json(Resource resource) {
+        return GSON.toJsonTree(resource).getAsJsonObject();
+    }
+
+    private void flush() {
+        flushTasks.forEach(Runnable::run);
+        flushTasks.clear();
+    }
+
+    @Test
+    public void successiveCommandsToSameResourceAreMerged() throws Exception {
+        CompletableFuture<Resources> first = commandScheduler.submit(dimLight("l1", 20));
+        CompletableFuture<Resources> second = commandScheduler
+                .submit(new Resource(ResourceType.LIGHT).setId("l1").setOnOff(OnOffType.ON));
+        CompletableFuture<Resources> third = commandScheduler.submit(dimLight("l1", 40));
+        assertThat(commandScheduler.getQueueDepth(), is(1));
+        flush();
+
+        assertThat(sent.size(), is(1));
+        Resource resource = sent.get(0);
+        assertThat(resource.getId(), is("l1"));
+        assertThat(resource.getOnOffState(), is(OnOffType.ON));
+        assertThat(resource.getDimming().getBrightness(), is(40.0));
+        assertThat(first.isDone() && second.isDone() && third.isDone(), is(true));
+        assertThat(commandScheduler.getSubmittedCount(), is(3L));
+        assertThat(commandScheduler.getMergedCount(), is(2L));
+        assertThat(commandScheduler.getSentCount(), is(1L));
+        assertThat(commandScheduler.getQueueDepth(), is(0));
+    }
+
+    @Test
+    public void sameStateForAllLightsOfRoomIsSentToGroupedLight() throws Exception {
+        CompletableFuture<Resources> first = commandScheduler.submit(dimLight("l1", 30));
+        CompletableFuture<Resources> second = commandScheduler.submit(dimLight("l2", 30));
+        flush();
+
+        assertThat(sent.size(), is(1));
+        Resource resource = sent.get(0);
+        assertThat(resource.getType(), is(ResourceType.GROUPED_LIGHT));
+        assertThat(resource.getId(), is("g1"));
+        assertThat(resource.getDimming().getBrightness(), is(30.0));
+        assertThat(first.isDone() && second.isDone(), is(true));
+        assertThat(commandScheduler.getGroupedCount(), is(2L));
+    }
+
+    @Test
+    public void differentStatesAreSentPerLight() {
+        commandScheduler.submit(dimLight("l1", 30));
+        commandScheduler.submit(dimLight("l2", 60));
+        flush();
+
+        assertThat(sent.stream().map(Resource::getId).toList(), is(List.of("l1", "l2")));
+        assertThat(commandScheduler.getGroupedCount(), is(0L));
+    }
+
+    @Test
+    public void commandsAreNotMergedAcrossGroupedLightCommands() throws Exception {
+        commandScheduler.submit(dimLight("l1", 50));
+        commandScheduler.submit(new Resource(ResourceType.GROUPED_LIGHT).setId("g1").setOnOff(OnOffType.OFF));
+        commandScheduler.submit(dimLight("l1", 20));
+        flush();
+
+        assertThat(sent.stream().map(Resource::getId).toList(), is(List.of("l1", "g1", "l1")));
+        assertThat(sent.get(2).getDimming().getBrightness(), is(20.0));
+    }
+
+    @Test
+    public void groupsAreForgottenWhenCleared() {
+        commandScheduler.clearGroups();
+        commandScheduler.submit(dimLight("l1", 30));
+        commandScheduler.submit(dimLight("l2", 30));
+        flush();
+
+        assertThat(sent.stream().map(Resource::getType).toList(), is(List.of(ResourceType.LIGHT, ResourceType.LIGHT)));
+    }
+
+    @Test
+    public void queuedCommandsFailWhenClosed() {
+        CompletableFuture<Resources> future = commandScheduler.submit(dimLight("l1", 30));
+        commandScheduler.close();
+        flush();
+
+        assertThat(sent.isEmpty(), is(true));
+        assertThat(future.isCompletedExceptionally(), is(true));
+        future.whenComplete((resources, e) -> assertThat(e, is(instanceOf(ApiException.class))));
+    }
+
+    @Test
+    public void mergedCommandKeepsOnlyTheLastOfExclusiveColorProperties() {
+        commandScheduler.submit(colorLight("l1"));
+        commandScheduler.submit(colorTemperatureLight("l1"));
+        commandScheduler.submit(colorTemperatureLight("l2"));
+        commandScheduler.submit(colorLight("l2"));
+        flush();
+
+        assertThat(sent.size(), is(2));
+        assertThat(json(sent.get(0)).has("color"), is(false));
+        assertThat(json(sent.get(0)).has("color_temperature"), is(true));
+        assertThat(json(sent.get(1)).has("color"), is(true));
+        assertThat(json(sent.get(1)).has("color_temperature"), is(false));
+    }
+
+    @Test
+    public void mergedColorCommandEndsQueuedEffect() {
+        commandScheduler.submit(effectLight("l1"));
+        commandScheduler.submit(colorLight("l1"));
+        flush();
+
+        assertThat(sent.size(), is(1));
+        assertThat(json(sent.get(0)).has("effects"), is(false));
+        assertThat(json(sent.get(0)).has("color"), is(true));
+    }
+
+    @Test
+    public void mergedEffectCommandKeepsQueuedColor() {
+        commandScheduler.submit(colorLight("l1"));
+        commandScheduler.submit(effectLight("l1"));
+        flush();
+
+        assertThat(sent.size(), is(1));
+        assertThat(json(sent.get(0)).has("effects"), is(true));
+        assertThat(json(sent.get(0)).has("color"), is(true));
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link FrameRing} holds the most recent mjpeg frames of a camera, shared by all streams of the camera. Each
+ * frame is stored once and every stream reads the frames with its own cursor, so a slow stream never blocks the
+ * camera or the other streams. A stream that falls behind by more than the capacity of the ring resumes at the
+ * newest frame it can start with.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class FrameRing {
+    public static final int DEFAULT_CAPACITY = 50;
+    private static final byte[] PART_START = "--".getBytes();
+    private static final byte[] PART_START_CRLF = "\r\n--".getBytes();
+
+    /**
+     * A frame, as received from the camera or ffmpeg
+     */
+    public static class Frame {
+        public final byte[] data;
+        public final long sequence;
+        public final long queuedNanos;
+        // true if the frame starts a new part of a multipart stream
+        public final boolean partStart;
+
+        Frame(byte[] data, long sequence) {
+            this.data = data;
+            this.sequence = sequence;
+            this.queuedNanos = System.nanoTime();
+            this.partStart = startsWith(data, PART_START) || startsWith(data, PART_START_CRLF);
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition frameAdded = lock.newCondition();
+    // guarded by lock
+    private final @Nullable Frame[] frames;
+    private long nextSequence = 0;
+
+    public FrameRing(int capacity) {
+        frames = new Frame[capacity];
+    }
+
+    /**
+     * Add a frame, overwriting the oldest frame if the ring is full. Never blocks on a stream.
+     */
+    public void add(byte[] data) {
+        lock.lock();
+        try {
+            frames[(int) (nextSequence % frames.length)] = new Frame(data, nextSequence);
+            nextSequence++;
+            frameAdded.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the sequence number the next added frame will have. A new stream starts reading there.
+     */
+    public long getNextSequence() {
+        lock.lock();
+        try {
+            return nextSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait for the frame with the given sequence number.
+     *
+     * If the frame was already overwritten, the stream has fallen behind and the newest frame is returned instead.
+     * With wholeFrames set to false, the frames are chunks of a multipart stream and the newest frame that starts a
+     * new part is returned, or the oldest frame if no frame in the ring starts a part.
+     *
+     * @param sequence the sequence number of the wanted frame
+     * @param wholeFrames true if every frame is a complete image
+     * @param timeout maximum time to wait for a frame in milliseconds
+     * @return the frame or null if no frame was added within the timeout
+     */
+    public @Nullable Frame take(long sequence, boolean wholeFrames, long timeout) throws InterruptedException {
+        lock.lock();
+        try {
+            long nanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+            while (sequence >= nextSequence) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = frameAdded.awaitNanos(nanos);
+            }
+            long oldest = Math.max(0, nextSequence - frames.length);
+            if (sequence >= oldest) {
+                return frames[(int) (sequence % frames.length)];
+            }
+            if (wholeFrames) {
+                return frames[(int) ((nextSequence - 1) % frames.length)];
+            }
+            for (long s = nextSequence - 1; s >= oldest; s--) {
+                Frame frame = frames[(int) (s % frames.length)];
+                if (frame != null && frame.partStart) {
+                    return frame;
+                }
+            }
+            return frames[(int) (oldest % frames.length)];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release the references to all frames. Must only be called while no stream reads from the ring.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            Arrays.fill(frames, null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
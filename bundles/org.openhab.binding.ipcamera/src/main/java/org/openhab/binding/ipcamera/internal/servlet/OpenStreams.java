@@ -12,29 +12,40 @@
  */
 package org.openhab.binding.ipcamera.internal.servlet;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * The {@link OpenStreams} Keeps track of all open mjpeg streams so the byte[] can be given to all FIFO buffers to allow
- * 1 to many streams without needing to open more than 1 source stream.
+ * The {@link OpenStreams} Keeps track of all open mjpeg streams so the byte[] can be shared by all streams to allow
+ * 1 to many streams without needing to open more than 1 source stream. Frames are stored once in a
+ * {@link FrameRing} that every stream reads with its own cursor.
  *
  * @author Matthew Skinner - Initial contribution
  */
 @NonNullByDefault
 public class OpenStreams {
-    private List<StreamOutput> openStreams = Collections.synchronizedList(new ArrayList<StreamOutput>());
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private List<StreamOutput> openStreams = new CopyOnWriteArrayList<>();
+    private final FrameRing frames = new FrameRing(FrameRing.DEFAULT_CAPACITY);
     public String boundary = "thisMjpegStream";
 
     public synchronized void addStream(StreamOutput stream) {
+        stream.startReading(frames);
         openStreams.add(stream);
     }
 
     public synchronized void removeStream(StreamOutput stream) {
-        openStreams.remove(stream);
+        if (openStreams.remove(stream)) {
+            logger.debug("Stream closed after sending {} frames, {} frames dropped, average latency {} ms",
+                    stream.getSentFrames(), stream.getDroppedFrames(), stream.getAverageLatency());
+        }
+        if (openStreams.isEmpty()) {
+            frames.clear();
+        }
     }
 
     public synchronized int getNumberOfStreams() {
@@ -52,16 +63,27 @@ public class OpenStreams {
         }
     }
 
-    public synchronized void queueFrame(byte[] frame) {
-        for (StreamOutput stream : openStreams) {
-            stream.queueFrame(frame);
+    /**
+     * Queue a frame for all open streams. The frame is not copied and must not be modified afterwards.
+     */
+    public void queueFrame(byte[] frame) {
+        if (!openStreams.isEmpty()) {
+            frames.add(frame);
         }
     }
 
+    /**
+     * Returns the open streams, e.g. to read their statistics.
+     */
+    public List<StreamOutput> getStreams() {
+        return List.copyOf(openStreams);
+    }
+
     public synchronized void closeAllStreams() {
         for (StreamOutput stream : openStreams) {
             stream.close();
         }
         openStreams.clear();
+        frames.clear();
     }
 }
@@ -13,13 +13,13 @@
 package org.openhab.binding.ipcamera.internal.servlet;
 
 import java.io.IOException;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.ipcamera.internal.servlet.FrameRing.Frame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,9 +35,15 @@ public class StreamOutput {
     private final String boundary;
     private String contentType;
     private final ServletOutputStream output;
-    private BlockingQueue<byte[]> fifo = new ArrayBlockingQueue<byte[]>(50);
-    private boolean connected = false;
+    private @Nullable FrameRing frames;
+    private long nextFrame;
+    private volatile boolean closed = false;
+    private volatile boolean connected = false;
     public boolean isSnapshotBased = false;
+    // statistics of the frames read from the frame ring
+    private volatile long sentFrames = 0;
+    private volatile long droppedFrames = 0;
+    private volatile long totalLatencyNanos = 0;
 
     public StreamOutput(HttpServletResponse response) throws IOException {
         boundary = "thisMjpegStream";
@@ -74,14 +80,12 @@ public class StreamOutput {
         output.write("\r\n".getBytes());
     }
 
-    public void queueFrame(byte[] frame) {
-        try {
-            fifo.add(frame);
-        } catch (IllegalStateException e) {
-            logger.debug("FIFO buffer has run out of space: {}", e.getMessage());
-            fifo.remove();
-            fifo.add(frame);
-        }
+    /**
+     * Start reading the frames queued from now on.
+     */
+    void startReading(FrameRing frames) {
+        this.frames = frames;
+        nextFrame = frames.getNextSequence();
     }
 
     public void updateContentType(String contentType) {
@@ -93,11 +97,58 @@ public class StreamOutput {
     }
 
     public void sendFrame() throws IOException, InterruptedException {
+        FrameRing localFrames = frames;
+        if (localFrames == null) {
+            throw new IOException("Stream is not attached to a camera");
+        }
+        if (!isSnapshotBased && !connected) {
+            // keep the frames until the content type is known
+            Thread.sleep(100);
+            return;
+        }
+        Frame frame;
+        do {
+            if (closed) {
+                throw new IOException("Stream was closed");
+            }
+            frame = localFrames.take(nextFrame, isSnapshotBased, 1000);
+        } while (frame == null);
+        if (frame.sequence > nextFrame) {
+            logger.debug("Stream fell behind, skipping {} frames", frame.sequence - nextFrame);
+            droppedFrames += frame.sequence - nextFrame;
+        }
+        nextFrame = frame.sequence + 1;
+
+        // frames are shared by all streams and written without copying
         if (isSnapshotBased) {
-            sendSnapshotBasedFrame(fifo.take());
-        } else if (connected) {
-            output.write(fifo.take());
+            sendSnapshotBasedFrame(frame.data);
+        } else {
+            output.write(frame.data);
         }
+        sentFrames++;
+        totalLatencyNanos += System.nanoTime() - frame.queuedNanos;
+    }
+
+    /**
+     * Returns the number of frames sent to the client.
+     */
+    public long getSentFrames() {
+        return sentFrames;
+    }
+
+    /**
+     * Returns the number of frames skipped because the client could not keep up.
+     */
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * Returns the average time between queueing and sending a frame in milliseconds.
+     */
+    public long getAverageLatency() {
+        long sent = sentFrames;
+        return sent == 0 ? 0 : totalLatencyNanos / sent / 1_000_000;
     }
 
     private void sendInitialHeaders() {
@@ -107,6 +158,7 @@ public class StreamOutput {
     }
 
     public void close() {
+        closed = true;
         try {
             output.close();
         } catch (IOException e) {
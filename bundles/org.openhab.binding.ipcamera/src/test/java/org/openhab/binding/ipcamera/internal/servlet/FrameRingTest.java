@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.ipcamera.internal.servlet.FrameRing.Frame;
+
+/**
+ * Tests the {@link FrameRing}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class FrameRingTest {
+
+    private static final long TIMEOUT_MS = 5000;
+
+    private static byte[] frame(long sequence) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(sequence).array();
+    }
+
+    private static long sequenceOf(Frame frame) {
+        return ByteBuffer.wrap(frame.data).getLong();
+    }
+
+    private static Frame take(FrameRing ring, long sequence, boolean wholeFrames) throws InterruptedException {
+        Frame frame = ring.take(sequence, wholeFrames, TIMEOUT_MS);
+        assertNotNull(frame);
+        return frame;
+    }
+
+    @Test
+    public void framesAreReadInOrder() throws InterruptedException {
+        FrameRing ring = new FrameRing(4);
+        for (long i = 0; i < 3; i++) {
+            ring.add(frame(i));
+        }
+
+        for (long i = 0; i < 3; i++) {
+            Frame frame = take(ring, i, true);
+            assertEquals(i, frame.sequence);
+            assertEquals(i, sequenceOf(frame));
+        }
+        assertEquals(3, ring.getNextSequence());
+    }
+
+    @Test
+    public void takeReturnsNullIfNoFrameIsAdded() throws InterruptedException {
+        FrameRing ring = new FrameRing(4);
+        ring.add(frame(0));
+
+        assertNull(ring.take(ring.getNextSequence(), true, 50));
+    }
+
+    @Test
+    public void framesAreOverwrittenWhenTheRingWrapsAround() throws InterruptedException {
+        FrameRing ring = new FrameRing(4);
+        for (long i = 0; i < 10; i++) {
+            ring.add(frame(i));
+        }
+
+        // the last four frames are still available, at their slots modulo the capacity
+        for (long i = 6; i < 10; i++) {
+            Frame frame = take(ring, i, true);
+            assertEquals(i, frame.sequence);
+            assertEquals(i, sequenceOf(frame));
+        }
+        // a stream that fell behind resumes at the newest frame
+        assertEquals(9, take(ring, 0, true).sequence);
+        assertEquals(9, take(ring, 5, true).sequence);
+    }
+
+    @Test
+    public void streamThatFellBehindResumesAtTheNewestPartStart() throws InterruptedException {
+        FrameRing ring = new FrameRing(3);
+        ring.add("--boundary a".getBytes());
+        ring.add("a".getBytes());
+        ring.add("\r\n--boundary b".getBytes());
+        ring.add("b".getBytes());
+        ring.add("b".getBytes());
+
+        // frames 2 to 4 are in the ring, frame 2 starts a part
+        Frame frame = take(ring, 0, false);
+        assertEquals(2, frame.sequence);
+        assertTrue(frame.partStart);
+
+        // no frame in the ring starts a part, the oldest one is returned
+        ring.add("b".getBytes());
+        ring.add("b".getBytes());
+        frame = take(ring, 0, false);
+        assertEquals(4, frame.sequence);
+        assertFalse(frame.partStart);
+    }
+
+    @Test
+    public void concurrentReadersSeeTheFramesInOrder() throws Exception {
+        int frameCount = 10_000;
+        int readerCount = 4;
+        FrameRing ring = new FrameRing(FrameRing.DEFAULT_CAPACITY);
+        ExecutorService executor = Executors.newFixedThreadPool(readerCount + 1);
+        try {
+            List<Future<List<Long>>> readers = new ArrayList<>();
+            for (int r = 0; r < readerCount; r++) {
+                readers.add(executor.submit(() -> {
+                    List<Long> sequences = new ArrayList<>();
+                    long next = 0;
+                    while (next < frameCount) {
+                        @Nullable
+                        Frame frame = ring.take(next, true, TIMEOUT_MS);
+                        if (frame == null) {
+                            fail("no frame within the timeout, waiting for " + next);
+                            break;
+                        }
+                        // the data belongs to the frame, even if the slot was overwritten in the meantime
+                        assertEquals(frame.sequence, sequenceOf(frame));
+                        sequences.add(frame.sequence);
+                        next = frame.sequence + 1;
+                    }
+                    return sequences;
+                }));
+            }
+            Future<?> writer = executor.submit(() -> {
+                for (long i = 0; i < frameCount; i++) {
+                    ring.add(frame(i));
+                    if (i % 100 == 0) {
+                        Thread.yield();
+                    }
+                }
+            });
+
+            writer.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            for (Future<List<Long>> reader : readers) {
+                List<Long> sequences = reader.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                // frames may be skipped by a slow reader, but never read twice or out of order
+                for (int i = 1; i < sequences.size(); i++) {
+                    assertTrue(sequences.get(i) > sequences.get(i - 1));
+                }
+                assertEquals(frameCount - 1, sequences.get(sequences.size() - 1));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
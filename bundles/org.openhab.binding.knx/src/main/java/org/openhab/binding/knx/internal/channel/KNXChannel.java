@@ -22,12 +22,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.knx.internal.client.InboundSpec;
 import org.openhab.binding.knx.internal.client.OutboundSpec;
 import org.openhab.binding.knx.internal.dpt.DPTUtil;
+import org.openhab.binding.knx.internal.dpt.ValueDecoder;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.thing.Channel;
 import org.openhab.core.thing.ChannelUID;
@@ -56,6 +58,7 @@ public abstract class KNXChannel {
     private final ChannelUID channelUID;
     private final boolean isControl;
     private final Class<? extends Type> preferredType;
+    private final Map<String, ValueDecoder.Decoder> decoders = new ConcurrentHashMap<>();
 
     KNXChannel(List<Class<? extends Type>> acceptedTypes, Channel channel) {
         this(Set.of(GA), acceptedTypes, channel);
@@ -109,6 +112,14 @@ public abstract class KNXChannel {
         return preferredType;
     }
 
+    /**
+     * Get the decoder for data of the given DPT received on this channel. The decoder is created on first use and
+     * re-used for all following telegrams.
+     */
+    public final ValueDecoder.Decoder getDecoder(String dpt) {
+        return decoders.computeIfAbsent(dpt, d -> ValueDecoder.createDecoder(d, preferredType));
+    }
+
     public final Set<GroupAddress> getAllGroupAddresses() {
         return listenAddresses;
     }
@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * The {@link GroupAddressRoutingTable} routes inbound telegrams to the {@link GroupAddressListener}s interested in
+ * their destination.
+ *
+ * The listeners are indexed by the group addresses they report on registration, so a telegram is routed with a single
+ * lookup instead of asking every listener. Notifications are queued per listener and a listener's queue is drained by
+ * one task at a time, so telegrams arriving in a burst are handled in a single task per listener and in the order
+ * they were received.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class GroupAddressRoutingTable {
+
+    private final Logger logger = LoggerFactory.getLogger(GroupAddressRoutingTable.class);
+
+    private final Executor executor;
+    private final Map<GroupAddress, Set<ListenerQueue>> queuesByAddress = new ConcurrentHashMap<>();
+    private final Map<GroupAddressListener, ListenerQueue> queuesByListener = new ConcurrentHashMap<>();
+
+    /**
+     * Pending notifications of a single listener
+     */
+    private class ListenerQueue implements Runnable {
+        private final GroupAddressListener listener;
+        private final Set<GroupAddress> groupAddresses;
+        private final Queue<Runnable> notifications = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        ListenerQueue(GroupAddressListener listener, Set<GroupAddress> groupAddresses) {
+            this.listener = listener;
+            this.groupAddresses = groupAddresses;
+        }
+
+        void add(Runnable notification) {
+            notifications.add(notification);
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    logger.debug("Could not schedule notification of listener {}: {}", listener, e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            do {
+                Runnable notification;
+                while ((notification = notifications.poll()) != null) {
+                    try {
+                        notification.run();
+                    } catch (RuntimeException e) {
+                        logger.warn("Listener {} failed to handle a telegram: {}", listener, e.getMessage());
+                    }
+                }
+                scheduled.set(false);
+                // a notification added after the queue was found empty, but before the flag was reset, is handled here
+            } while (!notifications.isEmpty() && scheduled.compareAndSet(false, true));
+        }
+    }
+
+    /**
+     * @param executor executes the notifications of the listeners
+     */
+    public GroupAddressRoutingTable(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Register a listener for the group addresses it currently reports. Registering a listener again updates its
+     * group addresses.
+     */
+    public synchronized void register(GroupAddressListener listener) {
+        unregister(listener);
+        ListenerQueue queue = new ListenerQueue(listener, Set.copyOf(listener.getGroupAddresses()));
+        queuesByListener.put(listener, queue);
+        queue.groupAddresses.forEach(groupAddress -> queuesByAddress
+                .computeIfAbsent(groupAddress, ga -> new CopyOnWriteArraySet<>()).add(queue));
+    }
+
+    /**
+     * Unregister a listener. Notifications already queued for the listener are still delivered.
+     */
+    public synchronized void unregister(GroupAddressListener listener) {
+        ListenerQueue queue = queuesByListener.remove(listener);
+        if (queue == null) {
+            return;
+        }
+        queue.groupAddresses.forEach(groupAddress -> queuesByAddress.computeIfPresent(groupAddress, (ga, queues) -> {
+            queues.remove(queue);
+            return queues.isEmpty() ? null : queues;
+        }));
+    }
+
+    /**
+     * Queue a notification for all listeners of a group address.
+     *
+     * @param destination the destination of the telegram
+     * @param notification notifies a single listener
+     * @return true if at least one listener is registered for the group address
+     */
+    public boolean dispatch(GroupAddress destination, Consumer<GroupAddressListener> notification) {
+        Set<ListenerQueue> queues = queuesByAddress.get(destination);
+        if (queues == null) {
+            return false;
+        }
+        for (ListenerQueue queue : queues) {
+            queue.add(() -> notification.accept(queue.listener));
+        }
+        return !queues.isEmpty();
+    }
+
+    /**
+     * Returns the number of registered listeners.
+     */
+    public int getListenerCount() {
+        return queuesByListener.size();
+    }
+
+    /**
+     * Returns the number of group addresses with at least one listener.
+     */
+    public int getGroupAddressCount() {
+        return queuesByAddress.size();
+    }
+}
@@ -116,14 +116,21 @@ public class ValueDecoder {
 
             switch (mainType) {
                 case "1":
-                    return handleDpt1(subType, translator);
+                    return handleDpt1(subType, ((DPTXlatorBoolean) translator).getValueBoolean());
                 case "2":
                     DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
                     int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
                             + (translator1BitControlled.getValueBit() ? 1 : 0);
                     return new DecimalType(decValue);
                 case "3":
-                    return handleDpt3(subType, translator);
+                    DPTXlator3BitControlled translator3BitControlled = (DPTXlator3BitControlled) translator;
+                    return handleDpt3(subType, translator3BitControlled.getControlBit(),
+                            translator3BitControlled.getStepCode());
+                case "9":
+                    if (isDpt9InvalidData(data)) {
+                        return invalidData(dptId, data);
+                    }
+                    return handleNumericDpt(id, translator, preferredType);
                 case "10":
                     return handleDpt10(value);
                 case "11":
@@ -172,38 +179,173 @@ public class ValueDecoder {
         return null;
     }
 
-    private static Type handleDpt1(String subType, DPTXlator translator) {
-        DPTXlatorBoolean translatorBoolean = (DPTXlatorBoolean) translator;
+    /**
+     * A decoder for a fixed DPT and preferred type, see {@link #createDecoder(String, Class)}
+     */
+    @FunctionalInterface
+    public interface Decoder {
+        /**
+         * convert the raw value received to the corresponding openHAB value
+         *
+         * @param data a byte array containing the value
+         * @return the data converted to an openHAB Type (or null if conversion failed)
+         */
+        @Nullable
+        Type decode(byte[] data);
+    }
+
+    /**
+     * create a decoder for the given DPT and preferred type
+     *
+     * The DPT is resolved once. The common DPTs (1, 3, 5, 9, 14, 232, 242 and 251) are decoded directly from the raw
+     * data, all other DPTs are decoded using {@link #decode(String, byte[], Class)}.
+     *
+     * @param dptId the DPT of the data to decode
+     * @param preferredType the preferred datatype for the conversion
+     * @return the decoder
+     */
+    public static Decoder createDecoder(String dptId, Class<? extends Type> preferredType) {
+        Decoder translatorDecoder = data -> decode(dptId, data, preferredType);
+
+        Matcher m = DPTUtil.DPT_PATTERN.matcher(dptId);
+        if (!m.matches() || m.groupCount() != 2) {
+            return translatorDecoder;
+        }
+        try {
+            // make sure the translator path would accept the DPT, unknown subtypes are left to the translator
+            TranslatorTypes.createTranslator(0, DPTUtil.NORMALIZED_DPT.getOrDefault(dptId, dptId));
+        } catch (KNXException e) {
+            return translatorDecoder;
+        }
+
+        String mainType = m.group("main");
+        String subType = m.group("sub");
+        Set<Class<? extends Type>> allowedTypes = DPTUtil.getAllowedTypes(dptId);
+
+        switch (mainType) {
+            case "1":
+                return data -> data.length < 1 ? invalidData(dptId, data)
+                        : handleDpt1(subType, (data[0] & 0x01) != 0);
+            case "3":
+                return data -> data.length < 1 ? invalidData(dptId, data)
+                        : handleDpt3(subType, (data[0] & 0x08) != 0, data[0] & 0x07);
+            case "5":
+                return data -> data.length < 1 ? invalidData(dptId, data)
+                        : handleNumericValue(dptId, decodeDpt5(subType, data[0] & 0xff), null, preferredType,
+                                allowedTypes);
+            case "9":
+                return data -> {
+                    if (data.length < 2 || isDpt9InvalidData(data)) {
+                        return invalidData(dptId, data);
+                    }
+                    return handleNumericValue(dptId, decodeDpt9(data), null, preferredType, allowedTypes);
+                };
+            case "14":
+                return data -> data.length < 4 ? invalidData(dptId, data)
+                        : handleNumericValue(dptId, Float.intBitsToFloat(((data[0] & 0xff) << 24)
+                                | ((data[1] & 0xff) << 16) | ((data[2] & 0xff) << 8) | (data[3] & 0xff)), null,
+                                preferredType, allowedTypes);
+            case "232":
+                return data -> data.length < 3 ? invalidData(dptId, data)
+                        : handleDpt232(data[0] & 0xff, data[1] & 0xff, data[2] & 0xff, subType);
+            case "242":
+                return data -> data.length < 6 ? invalidData(dptId, data) : decodeDpt242(data);
+            case "251":
+                return data -> data.length < 6 ? invalidData(dptId, data) : decodeDpt251(data, preferredType);
+            default:
+                return translatorDecoder;
+        }
+    }
+
+    private static @Nullable Type invalidData(String dptId, byte[] data) {
+        LOGGER.info("Translator couldn't parse data '{}' for datapoint type '{}' (invalid data).", data, dptId);
+        return null;
+    }
+
+    private static boolean isDpt9InvalidData(byte[] data) {
+        // 0x7fff is reserved for invalid data
+        return data.length >= 2 && (data[0] & 0xff) == 0x7f && (data[1] & 0xff) == 0xff;
+    }
+
+    private static double decodeDpt5(String subType, int value) {
+        switch (subType) {
+            case "001":
+                return Math.round(value * 100.0f / 255);
+            case "003":
+                return Math.round(value * 360.0f / 255);
+            default:
+                return value;
+        }
+    }
+
+    private static double decodeDpt9(byte[] data) {
+        // 2-byte float: MEEEEMMM MMMMMMMM, signed mantissa in two's complement, value = 0.01 * M * 2^E
+        int exponent = (data[0] & 0x78) >> 3;
+        int mantissa = ((data[0] & 0x07) << 8) | (data[1] & 0xff);
+        if ((data[0] & 0x80) != 0) {
+            mantissa -= 2048;
+        }
+        return (1 << exponent) * mantissa * 0.01;
+    }
+
+    private static @Nullable Type decodeDpt242(byte[] data) {
+        // x (2 bytes), y (2 bytes), Y (1 byte), validity of xy and Y (bits 1 and 0)
+        if ((data[5] & 0x02) != 0) {
+            double x = (((data[0] & 0xff) << 8) | (data[1] & 0xff)) / 65535.0;
+            double y = (((data[2] & 0xff) << 8) | (data[3] & 0xff)) / 65535.0;
+            if ((data[5] & 0x01) == 0) {
+                return ColorUtil.xyToHsb(new double[] { x, y });
+            } else {
+                return ColorUtil.xyToHsb(new double[] { x, y, (data[4] & 0xff) / 255.0 });
+            }
+        }
+        LOGGER.warn("Failed to convert '{}' (DPT 242): x and y are not valid", data);
+        return null;
+    }
+
+    private static @Nullable Type decodeDpt251(byte[] data, Class<? extends Type> preferredType) {
+        // r, g, b, w (1 byte each), reserved byte, validity of r, g, b and w (bits 3 to 0)
+        int valid = data[5] & 0x0f;
+        if ((valid & 0x0e) == 0x0e && HSBType.class.equals(preferredType)) {
+            // does not support PercentType and r,g,b valid -> HSBType
+            return HSBType.fromRGB(data[0] & 0xff, data[1] & 0xff, data[2] & 0xff);
+        } else if ((valid & 0x01) != 0 && PercentType.class.equals(preferredType)) {
+            // does support PercentType and w valid -> PercentType
+            return new PercentType(BigDecimal.valueOf((data[3] & 0xff) * 100.0 / 255.0));
+        }
+        LOGGER.warn("Failed to convert '{}' (DPT 251): invalid content", data);
+        return null;
+    }
+
+    private static Type handleDpt1(String subType, boolean value) {
         switch (subType) {
             case "008":
-                return translatorBoolean.getValueBoolean() ? UpDownType.DOWN : UpDownType.UP;
+                return value ? UpDownType.DOWN : UpDownType.UP;
             case "009":
             case "019":
                 // This is wrong for DPT 1.009. It should be true -> CLOSE, false -> OPEN, but unfortunately
                 // can't be fixed without breaking a lot of working installations.
                 // The documentation has been updated to reflect that. / @J-N-K
-                return translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                return value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
             case "010":
-                return translatorBoolean.getValueBoolean() ? StopMoveType.MOVE : StopMoveType.STOP;
+                return value ? StopMoveType.MOVE : StopMoveType.STOP;
             case "022":
-                return DecimalType.valueOf(translatorBoolean.getValueBoolean() ? "1" : "0");
+                return DecimalType.valueOf(value ? "1" : "0");
             default:
-                return OnOffType.from(translatorBoolean.getValueBoolean());
+                return OnOffType.from(value);
         }
     }
 
-    private static @Nullable Type handleDpt3(String subType, DPTXlator translator) {
-        DPTXlator3BitControlled translator3BitControlled = (DPTXlator3BitControlled) translator;
-        if (translator3BitControlled.getStepCode() == 0) {
+    private static @Nullable Type handleDpt3(String subType, boolean controlBit, int stepCode) {
+        if (stepCode == 0) {
             LOGGER.debug("convertRawDataToType: KNX DPT_Control_Dimming: break received.");
             return UnDefType.NULL;
         }
         switch (subType) {
             case "007":
-                return translator3BitControlled.getControlBit() ? IncreaseDecreaseType.INCREASE
-                        : IncreaseDecreaseType.DECREASE;
+                return controlBit ? IncreaseDecreaseType.INCREASE : IncreaseDecreaseType.DECREASE;
             case "008":
-                return translator3BitControlled.getControlBit() ? UpDownType.DOWN : UpDownType.UP;
+                return controlBit ? UpDownType.DOWN : UpDownType.UP;
             default:
                 LOGGER.warn("DPT3, subtype '{}' is unknown.", subType);
                 return null;
@@ -317,25 +459,28 @@ public class ValueDecoder {
             int r = Integer.parseInt(rgb.group("r"));
             int g = Integer.parseInt(rgb.group("g"));
             int b = Integer.parseInt(rgb.group("b"));
-
-            switch (subType) {
-                case "600":
-                    return HSBType.fromRGB(r, g, b);
-                case "60000":
-                    // MDT specific: mis-use 232.600 for hsv instead of rgb
-                    DecimalType hue = new DecimalType(coerceToRange(r * 360.0 / 255.0, 0.0, 359.9999));
-                    PercentType sat = new PercentType(BigDecimal.valueOf(coerceToRange(g / 2.55, 0.0, 100.0)));
-                    PercentType bright = new PercentType(BigDecimal.valueOf(coerceToRange(b / 2.55, 0.0, 100.0)));
-                    return new HSBType(hue, sat, bright);
-                default:
-                    LOGGER.warn("Unknown subtype '232.{}', no conversion possible.", subType);
-                    return null;
-            }
+            return handleDpt232(r, g, b, subType);
         }
         LOGGER.warn("Failed to convert '{}' (DPT 232): Pattern does not match", value);
         return null;
     }
 
+    private static @Nullable Type handleDpt232(int r, int g, int b, String subType) {
+        switch (subType) {
+            case "600":
+                return HSBType.fromRGB(r, g, b);
+            case "60000":
+                // MDT specific: mis-use 232.600 for hsv instead of rgb
+                DecimalType hue = new DecimalType(coerceToRange(r * 360.0 / 255.0, 0.0, 359.9999));
+                PercentType sat = new PercentType(BigDecimal.valueOf(coerceToRange(g / 2.55, 0.0, 100.0)));
+                PercentType bright = new PercentType(BigDecimal.valueOf(coerceToRange(b / 2.55, 0.0, 100.0)));
+                return new HSBType(hue, sat, bright);
+            default:
+                LOGGER.warn("Unknown subtype '232.{}', no conversion possible.", subType);
+                return null;
+        }
+    }
+
     private static @Nullable Type handleDpt242(String value) {
         Matcher xyY = XYY_PATTERN.matcher(value);
         if (xyY.matches()) {
@@ -386,9 +531,12 @@ public class ValueDecoder {
 
     private static @Nullable Type handleNumericDpt(String id, DPTXlator translator, Class<? extends Type> preferredType)
             throws KNXFormatException {
-        Set<Class<? extends Type>> allowedTypes = DPTUtil.getAllowedTypes(id);
+        return handleNumericValue(id, translator.getNumericValue(), translator, preferredType,
+                DPTUtil.getAllowedTypes(id));
+    }
 
-        double value = translator.getNumericValue();
+    private static @Nullable Type handleNumericValue(String id, double value, @Nullable DPTXlator translator,
+            Class<? extends Type> preferredType, Set<Class<? extends Type>> allowedTypes) {
         if (allowedTypes.contains(PercentType.class)
                 && (HSBType.class.equals(preferredType) || PercentType.class.equals(preferredType))) {
             return new PercentType(BigDecimal.valueOf(Math.round(value)));
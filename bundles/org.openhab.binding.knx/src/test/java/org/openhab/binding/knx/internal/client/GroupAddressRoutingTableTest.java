@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+class GroupAddressRoutingTableTest {
+
+    private static class RecordingListener implements GroupAddressListener {
+        private Set<GroupAddress> groupAddresses;
+        private final List<Integer> received = new ArrayList<>();
+
+        RecordingListener(Set<GroupAddress> groupAddresses) {
+            this.groupAddresses = groupAddresses;
+        }
+
+        @Override
+        public boolean listensTo(GroupAddress destination) {
+            return groupAddresses.contains(destination);
+        }
+
+        @Override
+        public Set<GroupAddress> getGroupAddresses() {
+            return groupAddresses;
+        }
+
+        @Override
+        public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupReadResponse(AbstractKNXClient client, IndividualAddress source,
+                GroupAddress destination, byte[] asdu) {
+        }
+    }
+
+    @Test
+    void testRouting() {
+        GroupAddressRoutingTable table = new GroupAddressRoutingTable(Runnable::run);
+        GroupAddress ga1 = new GroupAddress(1, 2, 3);
+        GroupAddress ga2 = new GroupAddress(1, 2, 4);
+        RecordingListener listener1 = new RecordingListener(Set.of(ga1));
+        RecordingListener listener2 = new RecordingListener(Set.of(ga1, ga2));
+        table.register(listener1);
+        table.register(listener2);
+        assertEquals(2, table.getListenerCount());
+        assertEquals(2, table.getGroupAddressCount());
+
+        assertTrue(table.dispatch(ga1, listener -> ((RecordingListener) listener).received.add(1)));
+        assertTrue(table.dispatch(ga2, listener -> ((RecordingListener) listener).received.add(2)));
+        assertFalse(table.dispatch(new GroupAddress(7, 7, 7), listener -> fail("no listener expected")));
+        assertEquals(List.of(1), listener1.received);
+        assertEquals(List.of(1, 2), listener2.received);
+
+        table.unregister(listener2);
+        assertFalse(table.dispatch(ga2, listener -> fail("no listener expected")));
+        assertEquals(1, table.getGroupAddressCount());
+    }
+
+    @Test
+    void testRegisterAgainUpdatesGroupAddresses() {
+        GroupAddressRoutingTable table = new GroupAddressRoutingTable(Runnable::run);
+        GroupAddress ga1 = new GroupAddress(1, 2, 3);
+        GroupAddress ga2 = new GroupAddress(1, 2, 4);
+        RecordingListener listener = new RecordingListener(Set.of(ga1));
+        table.register(listener);
+
+        listener.groupAddresses = Set.of(ga2);
+        table.register(listener);
+
+        assertFalse(table.dispatch(ga1, l -> fail("no listener expected")));
+        assertTrue(table.dispatch(ga2, l -> ((RecordingListener) l).received.add(1)));
+        assertEquals(List.of(1), listener.received);
+        assertEquals(1, table.getListenerCount());
+        assertEquals(1, table.getGroupAddressCount());
+    }
+
+    /**
+     * Replays a synthetic bus trace of a large installation and checks that every listener receives its telegrams
+     * completely and in order, while notifications are executed concurrently.
+     */
+    @Test
+    void testReplayBusTrace() throws InterruptedException {
+        final int listenerCount = 800;
+        final int addressesPerListener = 4;
+        final int telegrams = 100_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        GroupAddressRoutingTable table = new GroupAddressRoutingTable(executor);
+        List<RecordingListener> listeners = new ArrayList<>();
+        List<GroupAddress> addresses = new ArrayList<>();
+        for (int i = 0; i < listenerCount; i++) {
+            List<GroupAddress> listenerAddresses = new ArrayList<>();
+            for (int j = 0; j < addressesPerListener; j++) {
+                GroupAddress groupAddress = new GroupAddress(1 + i * addressesPerListener + j);
+                listenerAddresses.add(groupAddress);
+                addresses.add(groupAddress);
+            }
+            RecordingListener listener = new RecordingListener(Set.copyOf(listenerAddresses));
+            listeners.add(listener);
+            table.register(listener);
+        }
+
+        Random random = new Random(42);
+        int[] expected = new int[listenerCount];
+        for (int i = 0; i < telegrams; i++) {
+            int addressIndex = random.nextInt(addresses.size());
+            expected[addressIndex / addressesPerListener]++;
+            final int sequence = i;
+            table.dispatch(addresses.get(addressIndex),
+                    listener -> ((RecordingListener) listener).received.add(sequence));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        for (int i = 0; i < listenerCount; i++) {
+            List<Integer> received = listeners.get(i).received;
+            assertEquals(expected[i], received.size());
+            for (int j = 1; j < received.size(); j++) {
+                assertTrue(received.get(j - 1) < received.get(j), "telegrams must be delivered in order");
+            }
+        }
+    }
+}
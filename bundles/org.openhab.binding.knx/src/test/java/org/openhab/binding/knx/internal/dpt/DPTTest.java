@@ -14,6 +14,8 @@ package org.openhab.binding.knx.internal.dpt;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Matcher;
@@ -21,16 +23,26 @@ import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.IncreaseDecreaseType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
 import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StopMoveType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.types.UpDownType;
 import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.Type;
 import org.openhab.core.util.ColorUtil;
 
 import tuwien.auto.calimero.dptxlator.DPTXlator2ByteUnsigned;
@@ -511,4 +523,115 @@ class DPTTest {
             Assertions.assertEquals(String.format("(%.4f %.4f) %.1f %%", dx, dy, dY), result);
         }
     }
+
+    private static Stream<Arguments> oneByteDecoderProvider() {
+        return Stream.of(Arguments.of("1.001", OnOffType.class), Arguments.of("1.008", UpDownType.class),
+                Arguments.of("1.009", OpenClosedType.class), Arguments.of("1.010", StopMoveType.class),
+                Arguments.of("1.022", DecimalType.class), Arguments.of("3.007", IncreaseDecreaseType.class),
+                Arguments.of("3.008", UpDownType.class), Arguments.of("5.001", PercentType.class),
+                Arguments.of("5.001", DecimalType.class), Arguments.of("5.003", DecimalType.class),
+                Arguments.of("5.010", DecimalType.class));
+    }
+
+    @ParameterizedTest
+    @MethodSource("oneByteDecoderProvider")
+    public void directDecoderMatchesTranslator(String dpt, Class<? extends Type> preferredType) {
+        ValueDecoder.Decoder decoder = ValueDecoder.createDecoder(dpt, preferredType);
+        for (int i = 0; i < 256; i++) {
+            byte[] data = new byte[] { (byte) i };
+            assertEquals(ValueDecoder.decode(dpt, data, preferredType), decoder.decode(data), dpt + ": " + i);
+        }
+    }
+
+    @Test
+    public void directDecoderMatchesTranslatorDpt9() {
+        ValueDecoder.Decoder decoder = ValueDecoder.createDecoder("9.001", DecimalType.class);
+        for (int i = 0; i < 0x10000; i += 7) {
+            byte[] data = new byte[] { (byte) (i >> 8), (byte) i };
+            if (i == 0x7fff) {
+                // reserved for invalid data on both paths
+                assertNull(ValueDecoder.decode("9.001", data, DecimalType.class));
+                assertNull(decoder.decode(data));
+                continue;
+            }
+            assertNumberEquals(ValueDecoder.decode("9.001", data, DecimalType.class), decoder.decode(data));
+        }
+        assertNull(decoder.decode(new byte[] { 0x0c }));
+    }
+
+    @Test
+    public void directDecoderMatchesTranslatorDpt14() {
+        ValueDecoder.Decoder decoder = ValueDecoder.createDecoder("14.056", DecimalType.class);
+        for (float value : new float[] { 0f, 1f, -1f, 21.25f, 1234.5f, -0.001f, 98765.43f }) {
+            int bits = Float.floatToIntBits(value);
+            byte[] data = new byte[] { (byte) (bits >> 24), (byte) (bits >> 16), (byte) (bits >> 8), (byte) bits };
+            assertNumberEquals(ValueDecoder.decode("14.056", data, DecimalType.class), decoder.decode(data));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("rgbValueProvider")
+    public void directDecoderMatchesTranslatorDpt232(byte[] value) {
+        assertEquals(ValueDecoder.decode("232.600", value, HSBType.class),
+                ValueDecoder.createDecoder("232.600", HSBType.class).decode(value));
+        assertEquals(ValueDecoder.decode("232.60000", value, HSBType.class),
+                ValueDecoder.createDecoder("232.60000", HSBType.class).decode(value));
+    }
+
+    @ParameterizedTest
+    @MethodSource("xyYValueProvider")
+    public void directDecoderMatchesTranslatorDpt242(byte[] value) {
+        // the translator path is limited to the precision of the string representation
+        HSBType expected = (HSBType) ValueDecoder.decode("242.600", value, HSBType.class);
+        HSBType actual = (HSBType) ValueDecoder.createDecoder("242.600", HSBType.class).decode(value);
+        assertNotNull(expected);
+        assertNotNull(actual);
+        assertEquals(expected.getHue().doubleValue(), actual.getHue().doubleValue(), 0.5);
+        assertEquals(expected.getSaturation().doubleValue(), actual.getSaturation().doubleValue(), 0.5);
+        assertEquals(expected.getBrightness().doubleValue(), actual.getBrightness().doubleValue(), 0.5);
+    }
+
+    @Test
+    public void directDecoderMatchesTranslatorDpt251() {
+        ValueDecoder.Decoder hsbDecoder = ValueDecoder.createDecoder("251.600", HSBType.class);
+        ValueDecoder.Decoder percentDecoder = ValueDecoder.createDecoder("251.600", PercentType.class);
+        for (int i = 0; i < 256; i++) {
+            byte[] data = new byte[] { (byte) i, (byte) (i / 2), (byte) (i / 3), (byte) i, 0x00, 0x0f };
+            HSBType expected = (HSBType) ValueDecoder.decode("251.600", data, HSBType.class);
+            HSBType actual = (HSBType) hsbDecoder.decode(data);
+            assertNotNull(expected);
+            assertNotNull(actual);
+            assertEquals(expected.getHue().doubleValue(), actual.getHue().doubleValue(), 1);
+            assertEquals(expected.getSaturation().doubleValue(), actual.getSaturation().doubleValue(), 1);
+            assertEquals(expected.getBrightness().doubleValue(), actual.getBrightness().doubleValue(), 1);
+            assertNumberEquals(ValueDecoder.decode("251.600", data, PercentType.class), percentDecoder.decode(data),
+                    0.1);
+        }
+        // white is not valid
+        assertNull(percentDecoder.decode(new byte[] { 0x00, 0x00, 0x00, 0x10, 0x00, 0x0e }));
+    }
+
+    @Test
+    public void directDecoderFallsBackToTranslator() {
+        byte[] data = "openHAB".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] padded = Arrays.copyOf(data, 14);
+        assertEquals(ValueDecoder.decode("16.000", padded, StringType.class),
+                ValueDecoder.createDecoder("16.000", StringType.class).decode(padded));
+    }
+
+    private static void assertNumberEquals(@Nullable Type expected, @Nullable Type actual) {
+        assertNumberEquals(expected, actual, 1e-6);
+    }
+
+    private static void assertNumberEquals(@Nullable Type expected, @Nullable Type actual, double tolerance) {
+        assertNotNull(expected);
+        assertNotNull(actual);
+        assertEquals(expected.getClass(), actual.getClass());
+        if (expected instanceof QuantityType<?> expectedQuantity && actual instanceof QuantityType<?> actualQuantity) {
+            assertEquals(expectedQuantity.getUnit(), actualQuantity.getUnit());
+        }
+        double expectedValue = ((Number) expected).doubleValue();
+        assertEquals(expectedValue, ((Number) actual).doubleValue(),
+                Math.max(tolerance, Math.abs(expectedValue) * 1e-6));
+    }
 }
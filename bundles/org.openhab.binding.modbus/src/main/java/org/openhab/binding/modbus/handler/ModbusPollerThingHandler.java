@@ -12,9 +12,11 @@
  */
 package org.openhab.binding.modbus.handler;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
@@ -22,10 +24,13 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.internal.AtomicStampedValue;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
+import org.openhab.binding.modbus.internal.ModbusPollPlanner;
 import org.openhab.binding.modbus.internal.config.ModbusPollerConfiguration;
+import org.openhab.binding.modbus.internal.handler.AbstractModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
 import org.openhab.core.io.transport.modbus.ModbusConstants;
 import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
@@ -69,6 +74,8 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
 
         private volatile @Nullable AtomicStampedValue<PollResult> lastResult;
+        // result of the previous successful poll, to detect unchanged data
+        private volatile @Nullable AsyncModbusReadResult previousReadResult;
 
         public synchronized void handleResult(PollResult result) {
             // Ignore all incoming data and errors if configuration is not correct
@@ -85,7 +92,9 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
                 }
             }
             logger.debug("Thing {} received response {}", thing.getUID(), result);
-            notifyChildren(result);
+            AsyncModbusReadResult previous = previousReadResult;
+            previousReadResult = result.result;
+            notifyChildren(result, config.isProcessUnchangedData() ? null : previous);
             if (result.failure != null) {
                 Exception error = result.failure.getCause();
                 assert error != null;
@@ -129,19 +138,32 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             return Optional.ofNullable(this.lastResult).map(result -> result.copyIfStampAfter(oldestStamp))
                     .map(result -> {
                         logger.debug("Thing {} reusing cached data: {}", thing.getUID(), result.getValue());
-                        notifyChildren(result.getValue());
+                        notifyChildren(result.getValue(), null);
                         return true;
                     }).orElse(false);
         }
 
-        private void notifyChildren(PollResult pollResult) {
+        /**
+         * Notify children about a poll result
+         *
+         * @param pollResult result to pass to the children
+         * @param previous result of the previous poll. Children whose data did not change since then are not asked to
+         *            decode it again. If null, all children decode the data.
+         */
+        private void notifyChildren(PollResult pollResult, @Nullable AsyncModbusReadResult previous) {
             @Nullable
             AsyncModbusReadResult result = pollResult.result;
             @Nullable
             AsyncModbusFailure<ModbusReadRequestBlueprint> failure = pollResult.failure;
             childCallbacks.forEach(handler -> {
                 if (result != null) {
-                    handler.onReadResult(result);
+                    if (previous != null && !isReadWindowChanged(handler, previous, result)) {
+                        skippedUpdates.incrementAndGet();
+                        handler.onUnchangedReadResult(result);
+                    } else {
+                        dispatchedUpdates.incrementAndGet();
+                        handler.onReadResult(result);
+                    }
                 } else if (failure != null) {
                     handler.handleReadError(failure);
                 }
@@ -153,6 +175,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
          */
         public void resetCache() {
             lastResult = null;
+            previousReadResult = null;
         }
     }
 
@@ -189,6 +212,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     private @NonNullByDefault({}) ModbusPollerConfiguration config;
     private long cacheMillis;
     private volatile @Nullable PollTask pollTask;
+    private volatile @Nullable ModbusPollPlanner pollPlanner;
     private volatile @Nullable ModbusReadRequestBlueprint request;
     private volatile boolean disposed;
     private volatile List<ModbusDataThingHandler> childCallbacks = new CopyOnWriteArrayList<>();
@@ -196,6 +220,8 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
 
     private ReadCallbackDelegator callbackDelegator = new ReadCallbackDelegator();
+    private final AtomicLong dispatchedUpdates = new AtomicLong();
+    private final AtomicLong skippedUpdates = new AtomicLong();
 
     private @Nullable ModbusReadFunctionCode functionCode;
 
@@ -312,7 +338,13 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             logger.debug("Unregistering polling from ModbusManager");
             comms.unregisterRegularPoll(localPollTask);
         }
+        ModbusPollPlanner localPollPlanner = this.pollPlanner;
+        if (localPollPlanner != null) {
+            logger.debug("Unregistering polling from endpoint poll planner");
+            localPollPlanner.unregisterRegularPoll(callbackDelegator);
+        }
         this.pollTask = null;
+        this.pollPlanner = null;
         request = null;
         comms = null;
         updateStatus(ThingStatus.OFFLINE);
@@ -327,7 +359,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     @SuppressWarnings("null")
     private synchronized void registerPollTask() throws EndpointNotInitializedException {
         logger.trace("registerPollTask()");
-        if (pollTask != null) {
+        if (pollTask != null || pollPlanner != null) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR);
             logger.debug("pollTask should be unregistered before registering a new one!");
             return;
@@ -357,9 +389,20 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
                 localFunctionCode, config.getStart(), config.getLength(), config.getMaxTries());
         this.request = localRequest;
 
+        ModbusPollPlanner localPollPlanner = null;
+        if (slaveEndpointThingHandler instanceof AbstractModbusEndpointThingHandler<?, ?> endpointHandler) {
+            // the endpoint coalesces the polls of all its pollers if enabled
+            localPollPlanner = endpointHandler.getPollPlanner();
+        }
         if (config.getRefresh() <= 0L) {
             logger.debug("Not registering polling with ModbusManager since refresh disabled");
             updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE, "Not polling");
+        } else if (localPollPlanner != null) {
+            logger.debug("Registering polling with endpoint poll planner");
+            localPollPlanner.registerRegularPoll(localRequest, config.getRefresh(), callbackDelegator,
+                    callbackDelegator);
+            pollPlanner = localPollPlanner;
+            updateStatus(ThingStatus.ONLINE);
         } else {
             logger.debug("Registering polling with ModbusManager");
             pollTask = localComms.registerRegularPoll(localRequest, config.getRefresh(), 0, callbackDelegator,
@@ -369,6 +412,55 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * Check whether the data read by a child thing differs between two poll results
+     */
+    private static boolean isReadWindowChanged(ModbusDataThingHandler handler, AsyncModbusReadResult previous,
+            AsyncModbusReadResult current) {
+        int start = handler.getReadWindowStart();
+        int end = start + handler.getReadWindowLength();
+        if (start < 0 || end <= start || !previous.getRequest().equals(current.getRequest())) {
+            return true;
+        }
+        Optional<ModbusRegisterArray> previousRegisters = previous.getRegisters();
+        Optional<ModbusRegisterArray> currentRegisters = current.getRegisters();
+        if (previousRegisters.isPresent() && currentRegisters.isPresent()) {
+            if (end > previousRegisters.get().size() || end > currentRegisters.get().size()) {
+                return true;
+            }
+            return !Arrays.equals(previousRegisters.get().getBytes(), 2 * start, 2 * end,
+                    currentRegisters.get().getBytes(), 2 * start, 2 * end);
+        }
+        Optional<BitArray> previousBits = previous.getBits();
+        Optional<BitArray> currentBits = current.getBits();
+        if (previousBits.isPresent() && currentBits.isPresent()) {
+            if (end > previousBits.get().size() || end > currentBits.get().size()) {
+                return true;
+            }
+            for (int i = start; i < end; i++) {
+                if (previousBits.get().getBit(i) != currentBits.get().getBit(i)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the number of poll results passed to child things for decoding
+     */
+    public long getDispatchedUpdates() {
+        return dispatchedUpdates.get();
+    }
+
+    /**
+     * Get the number of poll results not decoded by child things since their data did not change
+     */
+    public long getSkippedUpdates() {
+        return skippedUpdates.get();
+    }
+
     private boolean hasConfigurationError() {
         ThingStatusInfo statusInfo = getThing().getStatusInfo();
         return statusInfo.getStatus() == ThingStatus.OFFLINE
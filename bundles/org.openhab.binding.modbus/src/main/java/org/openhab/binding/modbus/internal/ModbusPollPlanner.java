@@ -0,0 +1,349 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ModbusPollPlanner} coalesces the regular polls of the pollers of one endpoint.
+ *
+ * Polls with the same slave id, function code, refresh interval and number of tries are merged into as few requests
+ * as possible, if their ranges are adjacent, overlapping or separated by at most the configured gap. The merged
+ * requests respect the maximum read length of the protocol. The results of a merged request are sliced and passed to
+ * the callbacks of the original polls, each with its original request.
+ *
+ * Changes of the registered polls are applied after a short delay, so the pollers of an endpoint that are initialized
+ * together cause one plan instead of one per poller. Only merged requests whose range changed are registered again,
+ * the others keep their poll phase.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollPlanner {
+
+    /**
+     * Listener for the number of transactions saved per poll cycle
+     */
+    @FunctionalInterface
+    public interface SavingsListener {
+        void savedTransactionsChanged(int polls, int transactions);
+    }
+
+    /**
+     * A regular poll registered by a poller
+     */
+    static class Poll {
+        final ModbusReadRequestBlueprint request;
+        final long pollPeriodMillis;
+        final ModbusReadCallback resultCallback;
+        final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+
+        Poll(ModbusReadRequestBlueprint request, long pollPeriodMillis, ModbusReadCallback resultCallback,
+                ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.pollPeriodMillis = pollPeriodMillis;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        GroupKey groupKey() {
+            return new GroupKey(request.getUnitID(), request.getFunctionCode(), pollPeriodMillis,
+                    request.getMaxTries());
+        }
+    }
+
+    /**
+     * Polls can only be merged if they share all properties except the range
+     */
+    private record GroupKey(int unitId, ModbusReadFunctionCode functionCode, long pollPeriodMillis, int maxTries) {
+    }
+
+    /**
+     * A merged request and the polls it serves
+     */
+    static class MergedPoll implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        final ModbusReadRequestBlueprint request;
+        // replaced when the polls served by an unchanged range change
+        volatile List<Poll> polls;
+
+        MergedPoll(ModbusReadRequestBlueprint request, List<Poll> polls) {
+            this.request = request;
+            this.polls = polls;
+        }
+
+        boolean hasSameRange(MergedPoll other) {
+            return request.getReference() == other.request.getReference()
+                    && request.getDataLength() == other.request.getDataLength();
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            for (Poll poll : polls) {
+                int offset = poll.request.getReference() - request.getReference();
+                int length = poll.request.getDataLength();
+                Optional<ModbusRegisterArray> registers = result.getRegisters();
+                Optional<BitArray> bits = result.getBits();
+                AsyncModbusReadResult slicedResult;
+                if (registers.isPresent() && registers.get().size() >= offset + length) {
+                    byte[] bytes = registers.get().getBytes();
+                    slicedResult = new AsyncModbusReadResult(poll.request,
+                            new ModbusRegisterArray(Arrays.copyOfRange(bytes, 2 * offset, 2 * (offset + length))));
+                } else if (bits.isPresent() && bits.get().size() >= offset + length) {
+                    BitArray slicedBits = new BitArray(length);
+                    for (int i = 0; i < length; i++) {
+                        slicedBits.setBit(i, bits.get().getBit(offset + i));
+                    }
+                    slicedResult = new AsyncModbusReadResult(poll.request, slicedBits);
+                } else {
+                    poll.failureCallback.handle(new AsyncModbusFailure<>(poll.request,
+                            new IllegalStateException("Response of merged request " + request + " is too short")));
+                    continue;
+                }
+                poll.resultCallback.handle(slicedResult);
+            }
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            for (Poll poll : polls) {
+                poll.failureCallback.handle(new AsyncModbusFailure<>(poll.request, failure.getCause()));
+            }
+        }
+    }
+
+    /**
+     * A merged poll registered with the communication interface
+     */
+    private record RegisteredPoll(MergedPoll mergedPoll, PollTask task) {
+    }
+
+    /**
+     * Delay before changes of the registered polls are applied
+     */
+    static final long REPLAN_DELAY_MILLIS = 500;
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusPollPlanner.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final ScheduledExecutorService scheduler;
+    private final int gap;
+    private final SavingsListener savingsListener;
+
+    // guarded by this
+    private final Map<GroupKey, List<Poll>> polls = new HashMap<>();
+    private final Map<GroupKey, List<RegisteredPoll>> registeredPolls = new HashMap<>();
+    private final Map<GroupKey, ScheduledFuture<?>> pendingReplans = new HashMap<>();
+    private boolean disposed = false;
+
+    /**
+     * @param comms communication interface of the endpoint
+     * @param scheduler scheduler used to apply changes of the registered polls
+     * @param gap number of unused registers or bits that may be read to merge two ranges
+     * @param savingsListener notified when the number of saved transactions changes
+     */
+    public ModbusPollPlanner(ModbusCommunicationInterface comms, ScheduledExecutorService scheduler, int gap,
+            SavingsListener savingsListener) {
+        this.comms = comms;
+        this.scheduler = scheduler;
+        this.gap = Math.max(0, gap);
+        this.savingsListener = savingsListener;
+    }
+
+    /**
+     * Register a regular poll. The poll is identified by its result callback.
+     */
+    public synchronized void registerRegularPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        if (disposed) {
+            return;
+        }
+        Poll poll = new Poll(request, pollPeriodMillis, resultCallback, failureCallback);
+        GroupKey key = poll.groupKey();
+        polls.computeIfAbsent(key, k -> new ArrayList<>()).add(poll);
+        scheduleReplan(key);
+    }
+
+    /**
+     * Unregister the regular poll with the given result callback.
+     *
+     * @return whether a poll was unregistered
+     */
+    public synchronized boolean unregisterRegularPoll(ModbusReadCallback resultCallback) {
+        if (disposed) {
+            return false;
+        }
+        for (Map.Entry<GroupKey, List<Poll>> entry : polls.entrySet()) {
+            if (entry.getValue().removeIf(poll -> poll.resultCallback == resultCallback)) {
+                scheduleReplan(entry.getKey());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Unregister all merged polls, further registrations are ignored.
+     */
+    public synchronized void dispose() {
+        pendingReplans.values().forEach(replan -> replan.cancel(false));
+        pendingReplans.clear();
+        registeredPolls.values().forEach(
+                registered -> registered.forEach(registeredPoll -> comms.unregisterRegularPoll(registeredPoll.task())));
+        registeredPolls.clear();
+        polls.clear();
+        disposed = true;
+    }
+
+    private void scheduleReplan(GroupKey key) {
+        // changes before the pending replan of the group are applied by it
+        pendingReplans.computeIfAbsent(key,
+                k -> scheduler.schedule(() -> replan(k), REPLAN_DELAY_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    private synchronized void replan(GroupKey key) {
+        pendingReplans.remove(key);
+        if (disposed) {
+            return;
+        }
+        List<Poll> groupPolls = polls.getOrDefault(key, List.of());
+        if (groupPolls.isEmpty()) {
+            polls.remove(key);
+        }
+        // merged polls that are not planned again are unregistered
+        List<RegisteredPoll> obsoletePolls = new ArrayList<>(registeredPolls.getOrDefault(key, List.of()));
+        List<RegisteredPoll> newPolls = new ArrayList<>();
+        for (MergedPoll mergedPoll : merge(groupPolls, gap)) {
+            Optional<RegisteredPoll> unchanged = obsoletePolls.stream()
+                    .filter(registered -> registered.mergedPoll().hasSameRange(mergedPoll)).findFirst();
+            if (unchanged.isPresent()) {
+                // keep the registered task and its poll phase, only the served polls may have changed
+                obsoletePolls.remove(unchanged.get());
+                unchanged.get().mergedPoll().polls = mergedPoll.polls;
+                newPolls.add(unchanged.get());
+            } else {
+                logger.debug("Registering merged poll {} for {} poll(s)", mergedPoll.request, mergedPoll.polls.size());
+                newPolls.add(new RegisteredPoll(mergedPoll, comms.registerRegularPoll(mergedPoll.request,
+                        key.pollPeriodMillis(), 0, mergedPoll, mergedPoll)));
+            }
+        }
+        for (RegisteredPoll obsolete : obsoletePolls) {
+            logger.debug("Unregistering merged poll {}", obsolete.mergedPoll().request);
+            comms.unregisterRegularPoll(obsolete.task());
+        }
+        if (newPolls.isEmpty()) {
+            registeredPolls.remove(key);
+        } else {
+            registeredPolls.put(key, newPolls);
+        }
+
+        int pollCount = 0;
+        int transactionCount = 0;
+        for (Map.Entry<GroupKey, List<Poll>> entry : polls.entrySet()) {
+            pollCount += entry.getValue().size();
+            List<RegisteredPoll> registered = registeredPolls.get(entry.getKey());
+            transactionCount += registered == null ? 0 : registered.size();
+        }
+        logger.debug("Coalesced {} poll(s) into {} transaction(s) per cycle", pollCount, transactionCount);
+        savingsListener.savedTransactionsChanged(pollCount, pollCount - transactionCount);
+    }
+
+    /**
+     * Merge polls of one group into as few requests as possible
+     *
+     * @param polls polls sharing the same {@link GroupKey}
+     * @param gap number of unused registers or bits that may be read to merge two ranges
+     * @return the merged polls, ordered by start address
+     */
+    static List<MergedPoll> merge(List<Poll> polls, int gap) {
+        List<MergedPoll> merged = new ArrayList<>();
+        if (polls.isEmpty()) {
+            return merged;
+        }
+        ModbusReadRequestBlueprint first = polls.get(0).request;
+        int maxLength = switch (first.getFunctionCode()) {
+            case READ_COILS, READ_INPUT_DISCRETES -> ModbusConstants.MAX_BITS_READ_COUNT;
+            default -> ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        };
+
+        List<Poll> sorted = new ArrayList<>(polls);
+        sorted.sort(Comparator.comparingInt((Poll poll) -> poll.request.getReference())
+                .thenComparingInt(poll -> poll.request.getDataLength()));
+
+        List<Poll> current = new ArrayList<>();
+        int start = 0;
+        int end = 0;
+        for (Poll poll : sorted) {
+            int pollStart = poll.request.getReference();
+            int pollEnd = pollStart + poll.request.getDataLength();
+            if (!current.isEmpty() && pollStart <= end + gap && Math.max(end, pollEnd) - start <= maxLength) {
+                end = Math.max(end, pollEnd);
+                current.add(poll);
+            } else {
+                if (!current.isEmpty()) {
+                    merged.add(createMergedPoll(first, start, end, current));
+                }
+                current = new ArrayList<>();
+                current.add(poll);
+                start = pollStart;
+                end = pollEnd;
+            }
+        }
+        merged.add(createMergedPoll(first, start, end, current));
+        return merged;
+    }
+
+    private static MergedPoll createMergedPoll(ModbusReadRequestBlueprint template, int start, int end,
+            List<Poll> polls) {
+        ModbusReadRequestBlueprint request = polls.size() == 1 ? polls.get(0).request
+                : new ModbusReadRequestBlueprint(template.getUnitID(), template.getFunctionCode(), start, end - start,
+                        template.getMaxTries());
+        return new MergedPoll(request, polls);
+    }
+
+    /**
+     * Create a poll, visible for tests
+     */
+    static Poll poll(ModbusReadRequestBlueprint request, long pollPeriodMillis, ModbusReadCallback resultCallback,
+            ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        return new Poll(request, pollPeriodMillis, resultCallback, failureCallback);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ModbusPollPlanner [gap=" + gap + ", groups=" + polls.size() + "]";
+    }
+}
@@ -29,6 +29,7 @@ public class ModbusPollerConfiguration {
     private @Nullable String type;
     private int maxTries = 3;// backwards compatibility and tests
     private long cacheMillis = 50L;
+    private boolean processUnchangedData;
 
     /**
      * Gets refresh period in milliseconds
@@ -115,4 +116,18 @@ public class ModbusPollerConfiguration {
     public void setCacheMillis(long cacheMillis) {
         this.cacheMillis = cacheMillis;
     }
+
+    /**
+     * Gets whether child things decode the polled data also when it did not change since the previous poll
+     */
+    public boolean isProcessUnchangedData() {
+        return processUnchangedData;
+    }
+
+    /**
+     * Sets whether child things decode the polled data also when it did not change since the previous poll
+     */
+    public void setProcessUnchangedData(boolean processUnchangedData) {
+        this.processUnchangedData = processUnchangedData;
+    }
 }
@@ -17,6 +17,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.ModbusPollPlanner;
 import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
 import org.openhab.core.io.transport.modbus.ModbusManager;
 import org.openhab.core.io.transport.modbus.endpoint.EndpointPoolConfiguration;
@@ -42,12 +43,15 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEndpoint, C> extends BaseBridgeHandler
         implements ModbusEndpointThingHandler {
 
+    private static final String PROPERTY_SAVED_TRANSACTIONS = "savedTransactionsPerCycle";
+
     protected volatile @Nullable C config;
     protected volatile @Nullable E endpoint;
     protected ModbusManager modbusManager;
     protected volatile @NonNullByDefault({}) EndpointPoolConfiguration poolConfiguration;
     private final Logger logger = LoggerFactory.getLogger(AbstractModbusEndpointThingHandler.class);
     private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private volatile @Nullable ModbusPollPlanner pollPlanner;
 
     public AbstractModbusEndpointThingHandler(Bridge bridge, ModbusManager modbusManager) {
         super(bridge);
@@ -76,6 +80,10 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
                 }
                 try {
                     comms = modbusManager.newModbusCommunicationInterface(endpoint, poolConfiguration);
+                    if (isPollCoalescingEnabled()) {
+                        pollPlanner = new ModbusPollPlanner(comms, scheduler, getPollCoalescingGap(),
+                                this::updateSavedTransactions);
+                    }
                     updateStatus(ThingStatus.ONLINE);
                 } catch (IllegalArgumentException e) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
@@ -93,6 +101,11 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
 
     @Override
     public void dispose() {
+        ModbusPollPlanner localPollPlanner = pollPlanner;
+        if (localPollPlanner != null) {
+            localPollPlanner.dispose();
+            pollPlanner = null;
+        }
         try {
             ModbusCommunicationInterface localComms = comms;
             if (localComms != null) {
@@ -110,6 +123,21 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
         return comms;
     }
 
+    /**
+     * Get the planner coalescing the polls of this endpoint
+     *
+     * @return the planner, or null if poll coalescing is not enabled
+     */
+    public @Nullable ModbusPollPlanner getPollPlanner() {
+        return pollPlanner;
+    }
+
+    private void updateSavedTransactions(int polls, int transactions) {
+        logger.debug("Endpoint {} saves {} of {} transactions per poll cycle", getThing().getUID(), transactions,
+                polls);
+        updateProperty(PROPERTY_SAVED_TRANSACTIONS, String.format("%d/%d", transactions, polls));
+    }
+
     @Nullable
     public E getEndpoint() {
         return endpoint;
@@ -128,4 +156,14 @@ public abstract class AbstractModbusEndpointThingHandler<E extends ModbusSlaveEn
      * {@link EndpointPoolConfiguration}
      */
     protected abstract String formatConflictingParameterError();
+
+    /**
+     * Whether the regular polls of the pollers of this endpoint should be coalesced
+     */
+    protected abstract boolean isPollCoalescingEnabled();
+
+    /**
+     * Number of unused registers or bits that may be read to coalesce two polls
+     */
+    protected abstract int getPollCoalescingGap();
 }
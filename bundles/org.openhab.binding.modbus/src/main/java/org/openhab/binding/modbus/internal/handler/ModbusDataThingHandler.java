@@ -151,6 +151,8 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
     private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    // whether channelLastState holds the states of the last successfully decoded poll of all linked channels
+    private volatile boolean lastReadStatesValid;
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -486,6 +488,20 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        lastReadStatesValid = false;
+    }
+
+    @Override
+    public void channelLinked(ChannelUID channelUID) {
+        // the newly linked channel has no state yet, decode the next poll again
+        lastReadStatesValid = false;
+        super.channelLinked(channelUID);
+    }
+
+    @Override
+    public void channelUnlinked(ChannelUID channelUID) {
+        lastReadStatesValid = false;
+        super.channelUnlinked(channelUID);
     }
 
     @Override
@@ -800,6 +816,48 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         result.getBits().ifPresent(bits -> onBits(result.getRequest(), bits));
     }
 
+    /**
+     * Handle a poll result whose data read by this thing did not change since the previous poll.
+     *
+     * The states of the previous poll are updated again, respecting updateUnchangedValuesEveryMillis, without decoding
+     * and transforming the data again. If there are no such states, the result is processed like a changed one.
+     */
+    public synchronized void onUnchangedReadResult(AsyncModbusReadResult result) {
+        if (!lastReadStatesValid || !ThingStatus.ONLINE.equals(getThing().getStatus())) {
+            onReadResult(result);
+            return;
+        }
+        Map<ChannelUID, State> states = new HashMap<>(channelLastState);
+        ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
+        if (states.containsKey(lastReadSuccessUID)) {
+            states.put(lastReadSuccessUID, new DateTimeType());
+        }
+        updateExpiredChannels(states);
+    }
+
+    /**
+     * Get the index of the first register, coil or discrete input read by this thing, relative to the start of the
+     * poll
+     *
+     * @return the index, or -1 if this thing does not read polled data
+     */
+    public int getReadWindowStart() {
+        return isReadEnabled ? readIndex.map(index -> index - pollStart).orElse(-1) : -1;
+    }
+
+    /**
+     * Get the number of registers, coils or discrete inputs read by this thing
+     *
+     * @return the number, or 0 if this thing does not read polled data
+     */
+    public int getReadWindowLength() {
+        ValueType localReadValueType = readValueType;
+        if (!isReadEnabled || localReadValueType == null || readIndex.isEmpty()) {
+            return 0;
+        }
+        return Math.max(1, localReadValueType.getBits() / 16);
+    }
+
     public synchronized void handleReadError(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
         onError(failure.getRequest(), failure.getCause());
     }
@@ -881,6 +939,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                     getThing().getUID(), getThing().getLabel(), error.getClass().getName(), error.toString(),
                     error.getMessage(), error);
         }
+        lastReadStatesValid = false;
         Map<ChannelUID, State> states = new HashMap<>();
         ChannelUID lastReadErrorUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_ERROR);
         if (isLinked(lastReadErrorUID)) {
@@ -1022,6 +1081,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             states.put(lastReadSuccessUID, new DateTimeType());
         }
         updateExpiredChannels(states);
+        lastReadStatesValid = true;
         return states;
     }
 
@@ -109,6 +109,18 @@ public class ModbusSerialThingHandler
         return getThing().getUID();
     }
 
+    @Override
+    protected boolean isPollCoalescingEnabled() {
+        ModbusSerialConfiguration config = this.config;
+        return config != null && config.isCoalescePolls();
+    }
+
+    @Override
+    protected int getPollCoalescingGap() {
+        ModbusSerialConfiguration config = this.config;
+        return config == null ? 0 : config.getCoalesceGap();
+    }
+
     @Override
     public Collection<Class<? extends ThingHandlerService>> getServices() {
         return Set.of(ModbusEndpointDiscoveryService.class);
@@ -99,6 +99,18 @@ public class ModbusTcpThingHandler
         }
     }
 
+    @Override
+    protected boolean isPollCoalescingEnabled() {
+        ModbusTcpConfiguration config = this.config;
+        return config != null && config.isCoalescePolls();
+    }
+
+    @Override
+    protected int getPollCoalescingGap() {
+        ModbusTcpConfiguration config = this.config;
+        return config == null ? 0 : config.getCoalesceGap();
+    }
+
     @Override
     public Collection<Class<? extends ThingHandlerService>> getServices() {
         return Set.of(ModbusEndpointDiscoveryService.class);
@@ -0,0 +1,275 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.binding.modbus.internal.ModbusPollPlanner.MergedPoll;
+import org.openhab.binding.modbus.internal.ModbusPollPlanner.Poll;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollPlannerTest {
+
+    private static ModbusReadRequestBlueprint request(ModbusReadFunctionCode functionCode, int start, int length) {
+        return new ModbusReadRequestBlueprint(1, functionCode, start, length, 3);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Poll poll(ModbusReadFunctionCode functionCode, int start, int length) {
+        return ModbusPollPlanner.poll(request(functionCode, start, length), 1000, mock(ModbusReadCallback.class),
+                mock(ModbusFailureCallback.class));
+    }
+
+    @Test
+    public void testAdjacentAndOverlappingPollsAreMerged() {
+        List<MergedPoll> merged = ModbusPollPlanner.merge(
+                List.of(poll(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 5),
+                        poll(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 10),
+                        poll(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 12, 8)),
+                0);
+
+        assertThat(merged.size(), is(equalTo(1)));
+        assertThat(merged.get(0).request.getReference(), is(equalTo(0)));
+        assertThat(merged.get(0).request.getDataLength(), is(equalTo(20)));
+        assertThat(merged.get(0).polls.size(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testGap() {
+        List<Poll> polls = List.of(poll(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 2),
+                poll(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 5, 2));
+
+        assertThat(ModbusPollPlanner.merge(polls, 2).size(), is(equalTo(2)));
+
+        List<MergedPoll> merged = ModbusPollPlanner.merge(polls, 3);
+        assertThat(merged.size(), is(equalTo(1)));
+        assertThat(merged.get(0).request.getReference(), is(equalTo(0)));
+        assertThat(merged.get(0).request.getDataLength(), is(equalTo(7)));
+    }
+
+    @Test
+    public void testMaximumReadLengthIsRespected() {
+        List<MergedPoll> merged = ModbusPollPlanner.merge(List.of(
+                poll(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, ModbusConstants.MAX_REGISTERS_READ_COUNT - 1),
+                poll(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, ModbusConstants.MAX_REGISTERS_READ_COUNT - 1,
+                        2)),
+                0);
+
+        assertThat(merged.size(), is(equalTo(2)));
+        // polls that are not merged keep their original request
+        assertThat(merged.get(0).request, is(sameInstance(merged.get(0).polls.get(0).request)));
+        assertThat(merged.get(1).request, is(sameInstance(merged.get(1).polls.get(0).request)));
+    }
+
+    @Test
+    public void testRegisterResultIsSliced() {
+        Poll first = poll(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 100, 1);
+        Poll second = poll(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 101, 2);
+        MergedPoll merged = ModbusPollPlanner.merge(List.of(first, second), 0).get(0);
+
+        merged.handle(new AsyncModbusReadResult(merged.request, new ModbusRegisterArray(1, 2, 3)));
+
+        ArgumentCaptor<AsyncModbusReadResult> firstResult = ArgumentCaptor.forClass(AsyncModbusReadResult.class);
+        verify(first.resultCallback).handle(firstResult.capture());
+        assertThat(firstResult.getValue().getRequest(), is(sameInstance(first.request)));
+        ModbusRegisterArray firstRegisters = firstResult.getValue().getRegisters().get();
+        assertThat(firstRegisters.size(), is(equalTo(1)));
+        assertThat(firstRegisters.getRegister(0), is(equalTo(1)));
+
+        ArgumentCaptor<AsyncModbusReadResult> secondResult = ArgumentCaptor.forClass(AsyncModbusReadResult.class);
+        verify(second.resultCallback).handle(secondResult.capture());
+        assertThat(secondResult.getValue().getRequest(), is(sameInstance(second.request)));
+        ModbusRegisterArray secondRegisters = secondResult.getValue().getRegisters().get();
+        assertThat(secondRegisters.size(), is(equalTo(2)));
+        assertThat(secondRegisters.getRegister(0), is(equalTo(2)));
+        assertThat(secondRegisters.getRegister(1), is(equalTo(3)));
+    }
+
+    @Test
+    public void testBitResultIsSliced() {
+        Poll first = poll(ModbusReadFunctionCode.READ_COILS, 0, 2);
+        Poll second = poll(ModbusReadFunctionCode.READ_COILS, 2, 2);
+        MergedPoll merged = ModbusPollPlanner.merge(List.of(first, second), 0).get(0);
+
+        merged.handle(new AsyncModbusReadResult(merged.request, new BitArray(true, false, false, true)));
+
+        ArgumentCaptor<AsyncModbusReadResult> secondResult = ArgumentCaptor.forClass(AsyncModbusReadResult.class);
+        verify(second.resultCallback).handle(secondResult.capture());
+        BitArray secondBits = secondResult.getValue().getBits().get();
+        assertThat(secondBits.size(), is(equalTo(2)));
+        assertThat(secondBits.getBit(0), is(false));
+        assertThat(secondBits.getBit(1), is(true));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testFailureIsPassedToAllPolls() {
+        Poll first = poll(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 1);
+        Poll second = poll(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 1, 1);
+        MergedPoll merged = ModbusPollPlanner.merge(List.of(first, second), 0).get(0);
+
+        merged.handle(new AsyncModbusFailure<>(merged.request, new Exception("timeout")));
+
+        ArgumentCaptor<AsyncModbusFailure<ModbusReadRequestBlueprint>> failure = ArgumentCaptor
+                .forClass(AsyncModbusFailure.class);
+        verify(second.failureCallback).handle(failure.capture());
+        assertThat(failure.getValue().getRequest(), is(sameInstance(second.request)));
+        verify(first.failureCallback).handle(any(AsyncModbusFailure.class));
+    }
+
+    private final ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final ModbusPollPlanner.SavingsListener listener = mock(ModbusPollPlanner.SavingsListener.class);
+
+    private ModbusPollPlanner createPlanner() {
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any()))
+                .thenAnswer(invocation -> mock(PollTask.class));
+        doReturn(mock(ScheduledFuture.class)).when(scheduler).schedule(any(Runnable.class), anyLong(),
+                any(TimeUnit.class));
+        return new ModbusPollPlanner(comms, scheduler, 0, listener);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void register(ModbusPollPlanner planner, int start, int length, ModbusReadCallback callback) {
+        planner.registerRegularPoll(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length), 1000,
+                callback, mock(ModbusFailureCallback.class));
+    }
+
+    /**
+     * Run the replans scheduled since the last call
+     */
+    private void runScheduledReplans() {
+        ArgumentCaptor<Runnable> replan = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, atLeast(0)).schedule(replan.capture(), eq(ModbusPollPlanner.REPLAN_DELAY_MILLIS),
+                eq(TimeUnit.MILLISECONDS));
+        clearInvocations(scheduler);
+        replan.getAllValues().forEach(Runnable::run);
+    }
+
+    @Test
+    public void testPlannerRegistersMergedPolls() {
+        ModbusPollPlanner planner = createPlanner();
+
+        ModbusReadCallback firstCallback = mock(ModbusReadCallback.class);
+        register(planner, 0, 2, firstCallback);
+        register(planner, 2, 2, mock(ModbusReadCallback.class));
+        runScheduledReplans();
+        verify(listener).savedTransactionsChanged(2, 1);
+        verify(comms, times(1)).registerRegularPoll(any(), anyLong(), eq(0L), any(), any());
+
+        assertThat(planner.unregisterRegularPoll(firstCallback), is(true));
+        runScheduledReplans();
+        verify(listener).savedTransactionsChanged(1, 0);
+        verify(comms, times(1)).unregisterRegularPoll(any());
+
+        planner.dispose();
+        verify(comms, times(2)).unregisterRegularPoll(any());
+    }
+
+    @Test
+    public void testRegistrationsAreAppliedTogether() {
+        ModbusPollPlanner planner = createPlanner();
+
+        for (int i = 0; i < 10; i++) {
+            register(planner, 2 * i, 2, mock(ModbusReadCallback.class));
+        }
+        // one replan per group, nothing is polled before it
+        verify(scheduler, times(1)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        verify(comms, never()).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+
+        runScheduledReplans();
+        ArgumentCaptor<ModbusReadRequestBlueprint> request = ArgumentCaptor.forClass(ModbusReadRequestBlueprint.class);
+        verify(comms, times(1)).registerRegularPoll(request.capture(), eq(1000L), eq(0L), any(), any());
+        assertThat(request.getValue().getReference(), is(equalTo(0)));
+        assertThat(request.getValue().getDataLength(), is(equalTo(20)));
+        verify(comms, never()).unregisterRegularPoll(any());
+        verify(listener).savedTransactionsChanged(10, 9);
+    }
+
+    @Test
+    public void testUnchangedMergedPollIsNotRegisteredAgain() {
+        ModbusPollPlanner planner = createPlanner();
+        ModbusReadCallback innerCallback = mock(ModbusReadCallback.class);
+        ModbusReadCallback otherCallback = mock(ModbusReadCallback.class);
+        register(planner, 0, 4, mock(ModbusReadCallback.class));
+        register(planner, 1, 2, innerCallback);
+        register(planner, 100, 2, otherCallback);
+        runScheduledReplans();
+        ArgumentCaptor<MergedPoll> mergedPoll = ArgumentCaptor.forClass(MergedPoll.class);
+        verify(comms, times(2)).registerRegularPoll(any(), anyLong(), anyLong(), mergedPoll.capture(), any());
+        MergedPoll first = mergedPoll.getAllValues().get(0);
+        assertThat(first.polls.size(), is(equalTo(2)));
+
+        // the range of the first merged poll stays the same, the second one is removed
+        assertThat(planner.unregisterRegularPoll(innerCallback), is(true));
+        assertThat(planner.unregisterRegularPoll(otherCallback), is(true));
+        runScheduledReplans();
+
+        verify(comms, times(2)).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+        verify(comms, times(1)).unregisterRegularPoll(any());
+        assertThat(first.polls.size(), is(equalTo(1)));
+
+        // the running merged poll no longer serves the unregistered poll
+        first.handle(new AsyncModbusReadResult(first.request, new ModbusRegisterArray(1, 2, 3, 4)));
+        verify(innerCallback, never()).handle(any(AsyncModbusReadResult.class));
+    }
+
+    @Test
+    public void testChangedRangeIsRegisteredAgain() {
+        ModbusPollPlanner planner = createPlanner();
+        register(planner, 0, 2, mock(ModbusReadCallback.class));
+        runScheduledReplans();
+
+        register(planner, 2, 2, mock(ModbusReadCallback.class));
+        runScheduledReplans();
+
+        verify(comms, times(2)).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+        verify(comms, times(1)).unregisterRegularPoll(any());
+    }
+
+    @Test
+    public void testDisposeCancelsPendingReplan() {
+        ModbusPollPlanner planner = createPlanner();
+        register(planner, 0, 2, mock(ModbusReadCallback.class));
+
+        planner.dispose();
+        runScheduledReplans();
+
+        verify(comms, never()).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+    }
+}
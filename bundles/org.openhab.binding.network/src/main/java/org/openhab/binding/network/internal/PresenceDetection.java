@@ -17,13 +17,17 @@ import java.net.Inet4Address;
 import java.net.InetAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -77,18 +81,22 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     /// State variables (cannot be final because of test dependency injections)
     ExpiringCacheAsync<PresenceDetectionValue> cache;
     private final PresenceDetectionListener updateListener;
+    private final PresenceProbeEngine probeEngine;
 
     private Set<String> networkInterfaceNames = Set.of();
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService executorService;
+    protected @Nullable CompletableFuture<Void> detection;
+    // incremented for each detection, results of probes of a finished detection are ignored
+    private int detectionGeneration = 0;
     private String dhcpState = "off";
-    private Integer currentCheck = 0;
     int detectionChecks;
     private String lastReachableNetworkInterfaceName = "";
+    private PresenceProbeEngine.Priority probePriority = PresenceProbeEngine.Priority.THING;
 
-    public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS)
-            throws IllegalArgumentException {
+    public PresenceDetection(final PresenceDetectionListener updateListener, PresenceProbeEngine probeEngine,
+            int cacheDeviceStateTimeInMS) throws IllegalArgumentException {
         this.updateListener = updateListener;
+        this.probeEngine = probeEngine;
         cache = new ExpiringCacheAsync<>(cacheDeviceStateTimeInMS, () -> performPresenceDetection(false));
     }
 
@@ -240,6 +248,14 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         iosDevice = value;
     }
 
+    /**
+     * Set the priority of the probes of this presence detection. Discovery scans use
+     * {@link PresenceProbeEngine.Priority#DISCOVERY}, so the probes of things are not delayed by a scan.
+     */
+    public void setProbePriority(PresenceProbeEngine.Priority probePriority) {
+        this.probePriority = probePriority;
+    }
+
     /**
      * Return the last seen value in milliseconds based on {@link System#currentTimeMillis()} or 0 if not seen yet.
      */
@@ -258,14 +274,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
-    }
-
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. The checks are executed by the {@link PresenceProbeEngine} shared
+     * by all presence detections.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -279,80 +291,66 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
-            logger.debug(
-                    "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
-                    hostname, tcpPorts);
-            return false;
-        }
+        final int generation;
+        synchronized (this) {
+            if (detection != null) {
+                logger.debug(
+                        "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
+                        hostname, tcpPorts);
+                return false;
+            }
 
-        if (!cache.isExpired()) {
-            return false;
-        }
+            if (!cache.isExpired()) {
+                return false;
+            }
 
-        Set<String> interfaceNames = null;
+            Set<String> interfaceNames = null;
 
-        currentCheck = 0;
-        detectionChecks = tcpPorts.size();
-        if (pingMethod != null) {
-            detectionChecks += 1;
-        }
-        if (arpPingMethod.canProceed) {
-            if (!lastReachableNetworkInterfaceName.isEmpty()) {
-                interfaceNames = Set.of(lastReachableNetworkInterfaceName);
-            } else if (!networkInterfaceNames.isEmpty()) {
-                interfaceNames = networkInterfaceNames;
-            } else {
-                interfaceNames = networkUtils.getInterfaceNames();
+            detectionChecks = tcpPorts.size();
+            if (pingMethod != null) {
+                detectionChecks += 1;
+            }
+            if (arpPingMethod.canProceed) {
+                if (!lastReachableNetworkInterfaceName.isEmpty()) {
+                    interfaceNames = Set.of(lastReachableNetworkInterfaceName);
+                } else if (!networkInterfaceNames.isEmpty()) {
+                    interfaceNames = networkInterfaceNames;
+                } else {
+                    interfaceNames = networkUtils.getInterfaceNames();
+                }
+                detectionChecks += interfaceNames.size();
             }
-            detectionChecks += interfaceNames.size();
-        }
 
-        if (detectionChecks == 0) {
-            return false;
-        }
+            if (detectionChecks == 0) {
+                return false;
+            }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
-        this.executorService = executorService;
+            generation = ++detectionGeneration;
+            List<CompletableFuture<?>> checks = new ArrayList<>();
 
-        for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + tcpPort);
-                performServicePing(tcpPort);
-                checkIfFinished();
-            });
-        }
+            for (Integer tcpPort : tcpPorts) {
+                checks.add(performServicePing(tcpPort));
+            }
 
-        // ARP ping for IPv4 addresses. Use single executor for Windows tool and
-        // each own executor for each network interface for other tools
-        if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
+            // ARP ping for IPv4 addresses. Use single check for Windows tool and
+            // one check for each network interface for other tools
+            if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
                 // arp-ping.exe tool capable of handling multiple interfaces by itself
-                performARPping("");
-                checkIfFinished();
-            });
-        } else if (interfaceNames != null) {
-            for (final String interfaceName : interfaceNames) {
-                executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performARPping(interfaceName);
-                    checkIfFinished();
-                });
+                checks.add(performARPping(""));
+            } else if (interfaceNames != null) {
+                for (final String interfaceName : interfaceNames) {
+                    checks.add(performARPping(interfaceName));
+                }
             }
-        }
 
-        // ICMP ping
-        if (pingMethod != null) {
-            executorService.execute(() -> {
-                if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
-                    performSystemPing();
-                } else {
-                    performJavaPing();
-                }
-                checkIfFinished();
-            });
+            // ICMP ping
+            if (pingMethod != null) {
+                checks.add(pingMethod != IpPingMethodEnum.JAVA_PING ? performSystemPing() : performJavaPing());
+            }
+
+            CompletableFuture<Void> detection = CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new));
+            this.detection = detection;
+            detection.whenComplete((result, e) -> submitFinalResult(generation));
         }
 
         if (waitForDetectionToFinish) {
@@ -362,21 +360,29 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return true;
     }
 
+    /**
+     * Returns true if the given detection is still ongoing.
+     */
+    private synchronized boolean isCurrentDetection(int generation) {
+        return generation == detectionGeneration;
+    }
+
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished and results of still running
+     * checks are ignored.
+     *
+     * @param generation the detection to finish, nothing is done if this detection is already finished
      */
-    private synchronized void submitFinalResult() {
-        // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
-        if (service == null) {
+    private synchronized void submitFinalResult(int generation) {
+        // Do nothing if we are not in this detection process
+        if (detection == null || generation != detectionGeneration) {
             return;
         }
         // Finish the detection process
-        service.shutdownNow();
-        executorService = null;
+        detection = null;
+        detectionGeneration++;
         detectionChecks = 0;
 
         PresenceDetectionValue v;
@@ -400,37 +406,35 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     }
 
     /**
-     * This method is called after each individual check and increases a check counter.
-     * If the counter equals the total checks,the final result is submitted. This will
-     * happen way before the "timeoutInMS", if all checks were successful.
-     * Thread safe.
-     */
-    private synchronized void checkIfFinished() {
-        currentCheck += 1;
-        if (currentCheck < detectionChecks) {
-            return;
-        }
-        submitFinalResult();
-    }
-
-    /**
-     * Waits for the presence detection threads to finish. Returns immediately
+     * Waits for the presence detection checks to finish. Returns immediately
      * if no presence detection is performed right now.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
-        if (service == null) {
+        CompletableFuture<Void> detection;
+        int generation;
+        synchronized (this) {
+            detection = this.detection;
+            generation = detectionGeneration;
+        }
+        if (detection == null) {
             return;
         }
         try {
             // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
-            submitFinalResult();
+            detection.get(timeoutInMS + 100, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // submit the result of the checks finished so far
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            service.shutdownNow();
-            executorService = null;
+            synchronized (this) {
+                if (generation == detectionGeneration) {
+                    this.detection = null;
+                    detectionGeneration++;
+                }
+            }
+            return;
         }
+        submitFinalResult(generation);
     }
 
     /**
@@ -458,12 +462,22 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
-    protected void performServicePing(int tcpPort) {
+    protected CompletableFuture<?> performServicePing(int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
-        try {
+        int generation = detectionGeneration;
+        String port = Integer.toString(tcpPort);
+        return probeEngine.probe(PresenceDetectionType.TCP_CONNECTION, hostname, port, probePriority, () -> {
             InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress != null) {
-                networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS).ifPresent(o -> {
+            if (destinationAddress == null) {
+                return Optional.empty();
+            }
+            return networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS);
+        }).handle((result, e) -> {
+            if (e != null) {
+                // This should not happen and might be a user configuration issue, we log a warning message therefore.
+                logger.warn("Could not create a socket connection", e);
+            } else if (isCurrentDetection(generation)) {
+                result.ifPresent(o -> {
                     if (o.isSuccess()) {
                         PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
                                 getLatency(o, preferResponseTimeAsLatency));
@@ -472,10 +486,8 @@ public class PresenceDetection implements IPRequestReceivedCallback {
                     }
                 });
             }
-        } catch (IOException e) {
-            // This should not happen and might be a user configuration issue, we log a warning message therefore.
-            logger.warn("Could not create a socket connection", e);
-        }
+            return null;
+        });
     }
 
     /**
@@ -486,35 +498,38 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @param interfaceName The interface name. You can request a list of interface names
      *            from {@see NetworkUtils.getInterfaceNames()} for example.
      */
-    protected void performARPping(String interfaceName) {
-        try {
-            logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
+    protected CompletableFuture<?> performARPping(String interfaceName) {
+        logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
+        int generation = detectionGeneration;
+        return probeEngine.probe(PresenceDetectionType.ARP_PING, hostname, interfaceName, probePriority, () -> {
             InetAddress destinationAddress = destination.getValue();
             if (destinationAddress == null) {
-                return;
+                return Optional.empty();
             }
             if (iosDevice) {
                 networkUtils.wakeUpIOS(destinationAddress);
                 Thread.sleep(50);
             }
-
-            networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName,
-                    destinationAddress.getHostAddress(), timeoutInMS).ifPresent(o -> {
-                        if (o.isSuccess()) {
-                            PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING,
-                                    getLatency(o, preferResponseTimeAsLatency));
-                            updateListener.partialDetectionResult(v);
-                            lastReachableNetworkInterfaceName = interfaceName;
-                        } else if (lastReachableNetworkInterfaceName.equals(interfaceName)) {
-                            logger.trace("{} is no longer reachable on network interface: {}", hostname, interfaceName);
-                            lastReachableNetworkInterfaceName = "";
-                        }
-                    });
-        } catch (IOException e) {
-            logger.trace("Failed to execute an arp ping for ip {}", hostname, e);
-        } catch (InterruptedException ignored) {
-            // This can be ignored, the thread will end anyway
-        }
+            return networkUtils.nativeARPPing(arpPingMethod, arpPingUtilPath, interfaceName,
+                    destinationAddress.getHostAddress(), timeoutInMS);
+        }).handle((result, e) -> {
+            if (e != null) {
+                logger.trace("Failed to execute an arp ping for ip {}", hostname, e);
+            } else if (isCurrentDetection(generation)) {
+                result.ifPresent(o -> {
+                    if (o.isSuccess()) {
+                        PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_PING,
+                                getLatency(o, preferResponseTimeAsLatency));
+                        updateListener.partialDetectionResult(v);
+                        lastReachableNetworkInterfaceName = interfaceName;
+                    } else if (lastReachableNetworkInterfaceName.equals(interfaceName)) {
+                        logger.trace("{} is no longer reachable on network interface: {}", hostname, interfaceName);
+                        lastReachableNetworkInterfaceName = "";
+                    }
+                });
+            }
+            return null;
+        });
     }
 
     /**
@@ -523,43 +538,46 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * the TCP echo service on port 7 which barely no device or server supports nowadays.
      * (https://docs.oracle.com/en/java/javase/17/docs/api/java.base/java/net/InetAddress.html#isReachable%28int%29)
      */
-    protected void performJavaPing() {
+    protected CompletableFuture<?> performJavaPing() {
         logger.trace("Perform java ping presence detection for {}", hostname);
-
-        InetAddress destinationAddress = destination.getValue();
-        if (destinationAddress == null) {
-            return;
-        }
-
-        networkUtils.javaPing(timeoutInMS, destinationAddress).ifPresent(o -> {
-            if (o.isSuccess()) {
-                PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
-                        getLatency(o, preferResponseTimeAsLatency));
-                updateListener.partialDetectionResult(v);
+        PresenceProbeEngine.Probe probe = () -> {
+            InetAddress destinationAddress = destination.getValue();
+            if (destinationAddress == null) {
+                return Optional.empty();
             }
-        });
+            return networkUtils.javaPing(timeoutInMS, destinationAddress);
+        };
+        return handleIcmpPing(
+                probeEngine.probe(PresenceDetectionType.ICMP_PING, hostname, "java", probePriority, probe));
     }
 
-    protected void performSystemPing() {
-        try {
-            logger.trace("Perform native ping presence detection for {}", hostname);
+    protected CompletableFuture<?> performSystemPing() {
+        logger.trace("Perform native ping presence detection for {}", hostname);
+        return handleIcmpPing(probeEngine.probe(PresenceDetectionType.ICMP_PING, hostname, "", probePriority, () -> {
             InetAddress destinationAddress = destination.getValue();
             if (destinationAddress == null) {
-                return;
+                return Optional.empty();
             }
+            return networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(), timeoutInMS);
+        }));
+    }
 
-            networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(), timeoutInMS).ifPresent(o -> {
-                if (o.isSuccess()) {
-                    PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
-                            getLatency(o, preferResponseTimeAsLatency));
-                    updateListener.partialDetectionResult(v);
-                }
-            });
-        } catch (IOException e) {
-            logger.trace("Failed to execute a native ping for ip {}", hostname, e);
-        } catch (InterruptedException e) {
-            // This can be ignored, the thread will end anyway
-        }
+    private CompletableFuture<?> handleIcmpPing(CompletableFuture<Optional<PingResult>> ping) {
+        int generation = detectionGeneration;
+        return ping.handle((result, e) -> {
+            if (e != null) {
+                logger.trace("Failed to execute a native ping for ip {}", hostname, e);
+            } else if (isCurrentDetection(generation)) {
+                result.ifPresent(o -> {
+                    if (o.isSuccess()) {
+                        PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ICMP_PING,
+                                getLatency(o, preferResponseTimeAsLatency));
+                        updateListener.partialDetectionResult(v);
+                    }
+                });
+            }
+            return null;
+        });
     }
 
     private double getLatency(PingResult pingResult, boolean preferResponseTimeAsLatency) {
@@ -0,0 +1,261 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.common.ThreadPoolManager;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PresenceProbeEngine} executes the probes (TCP connection attempts, ARP and ICMP pings) of all
+ * {@link PresenceDetection}s of the binding.
+ *
+ * Probes are executed on a bounded pool of threads that is shared by all things and the discovery service. A probe
+ * for a host, detection type and target (port or network interface) that is already running is not started again,
+ * the result of the running probe is shared instead. Probe starts are paced to avoid bursts of process spawns and
+ * connection attempts, e.g. when many things share the same refresh interval.
+ *
+ * Probes of things are executed before the probes of discovery scans. A scan queues probes for every address of the
+ * subnet, so things would otherwise wait for the scan and their detections would time out.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = PresenceProbeEngine.class)
+public class PresenceProbeEngine {
+    static final int MAXIMUM_CONCURRENT_PROBES = 32;
+    static final long PROBE_INTERVAL_MS = 5;
+    private static final String THREAD_POOL_NAME = "network-probe";
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceProbeEngine.class);
+
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+    private final long probeIntervalInNanos;
+    private final Map<ProbeKey, CompletableFuture<Optional<PingResult>>> runningProbes = new ConcurrentHashMap<>();
+    private final Map<ProbeKey, CompletableFuture<Optional<PingResult>>> runningDiscoveryProbes =
+            new ConcurrentHashMap<>();
+    private final Queue<Runnable> queuedProbes = new ConcurrentLinkedQueue<>();
+    private final Queue<Runnable> queuedDiscoveryProbes = new ConcurrentLinkedQueue<>();
+
+    // guarded by this, the start slots of both priorities are reserved separately
+    private long nextProbeStartInNanos;
+    private long nextDiscoveryProbeStartInNanos;
+
+    /**
+     * The priority of a probe
+     */
+    public enum Priority {
+        /** probes of things, executed first */
+        THING,
+        /** probes of discovery scans, executed when no probe of a thing is waiting */
+        DISCOVERY
+    }
+
+    /**
+     * A single probe, e.g. a TCP connection attempt to one port of a host
+     */
+    @FunctionalInterface
+    public interface Probe {
+        Optional<PingResult> run() throws IOException, InterruptedException;
+    }
+
+    private record ProbeKey(PresenceDetectionType type, String host, String target) {
+    }
+
+    @Activate
+    public PresenceProbeEngine() {
+        this(createExecutor(), ThreadPoolManager.getScheduledPool(THREAD_POOL_NAME), PROBE_INTERVAL_MS);
+    }
+
+    /**
+     * @param executor executes the probes
+     * @param scheduler delays the start of probes to pace them
+     * @param probeIntervalInMS minimum time between the start of two probes, 0 to disable pacing
+     */
+    PresenceProbeEngine(Executor executor, ScheduledExecutorService scheduler, long probeIntervalInMS) {
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.probeIntervalInNanos = TimeUnit.MILLISECONDS.toNanos(probeIntervalInMS);
+        this.nextProbeStartInNanos = System.nanoTime();
+        this.nextDiscoveryProbeStartInNanos = nextProbeStartInNanos;
+    }
+
+    private static ExecutorService createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAXIMUM_CONCURRENT_PROBES, MAXIMUM_CONCURRENT_PROBES, 60,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new NamedThreadFactory(THREAD_POOL_NAME, true));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Deactivate
+    public void deactivate() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+        queuedProbes.clear();
+        queuedDiscoveryProbes.clear();
+        runningProbes.values().forEach(future -> future.complete(Optional.empty()));
+        runningProbes.clear();
+        runningDiscoveryProbes.values().forEach(future -> future.complete(Optional.empty()));
+        runningDiscoveryProbes.clear();
+    }
+
+    /**
+     * Execute a probe of a thing, or share the result of a running probe with the same host, type and target.
+     *
+     * @see #probe(PresenceDetectionType, String, String, Priority, Probe)
+     */
+    public CompletableFuture<Optional<PingResult>> probe(PresenceDetectionType type, String host, String target,
+            Probe probe) {
+        return probe(type, host, target, Priority.THING, probe);
+    }
+
+    /**
+     * Execute a probe, or share the result of a running probe with the same host, type and target. A probe of a thing
+     * never waits for a queued discovery probe, a discovery probe may share the result of a probe of a thing.
+     *
+     * @param type the detection type of the probe
+     * @param host the host name or address of the probed device
+     * @param target the port or network interface of the probe, empty if not applicable
+     * @param priority the priority of the probe
+     * @param probe the probe
+     * @return the future result of the probe. The future completes exceptionally if the probe failed with an
+     *         {@link IOException}.
+     */
+    public CompletableFuture<Optional<PingResult>> probe(PresenceDetectionType type, String host, String target,
+            Priority priority, Probe probe) {
+        ProbeKey key = new ProbeKey(type, host, target);
+        if (priority == Priority.DISCOVERY) {
+            CompletableFuture<Optional<PingResult>> future = runningProbes.get(key);
+            if (future != null) {
+                logger.trace("Sharing result of running probe {}", key);
+                return future;
+            }
+        }
+        Map<ProbeKey, CompletableFuture<Optional<PingResult>>> running = priority == Priority.THING ? runningProbes
+                : runningDiscoveryProbes;
+        CompletableFuture<Optional<PingResult>> newFuture = new CompletableFuture<>();
+        CompletableFuture<Optional<PingResult>> future = running.putIfAbsent(key, newFuture);
+        if (future != null) {
+            logger.trace("Sharing result of running probe {}", key);
+            return future;
+        }
+        newFuture.whenComplete((result, e) -> running.remove(key, newFuture));
+
+        Runnable task = () -> run(key, probe, newFuture);
+        try {
+            long delay = reserveProbeStart(priority);
+            if (delay > 0) {
+                scheduler.schedule(() -> execute(priority, task, newFuture), delay, TimeUnit.NANOSECONDS);
+            } else {
+                execute(priority, task, newFuture);
+            }
+        } catch (RejectedExecutionException e) {
+            newFuture.complete(Optional.empty());
+        }
+        return newFuture;
+    }
+
+    /**
+     * Returns the number of running or queued probes.
+     */
+    public int getRunningProbeCount() {
+        return runningProbes.size() + runningDiscoveryProbes.size();
+    }
+
+    /**
+     * Queue a probe and let the executor run the next queued probe. Each task of the executor runs one probe, so the
+     * probes of things are taken before the discovery probes whenever a thread of the executor gets free.
+     */
+    private void execute(Priority priority, Runnable task, CompletableFuture<Optional<PingResult>> future) {
+        Queue<Runnable> queue = priority == Priority.THING ? queuedProbes : queuedDiscoveryProbes;
+        queue.add(task);
+        try {
+            executor.execute(this::runNextProbe);
+        } catch (RejectedExecutionException e) {
+            queue.remove(task);
+            logger.debug("Probe rejected, the engine is shut down");
+            future.complete(Optional.empty());
+        }
+    }
+
+    private void runNextProbe() {
+        Runnable task = queuedProbes.poll();
+        if (task == null) {
+            task = queuedDiscoveryProbes.poll();
+        }
+        if (task != null) {
+            task.run();
+        }
+    }
+
+    private void run(ProbeKey key, Probe probe, CompletableFuture<Optional<PingResult>> future) {
+        Thread thread = Thread.currentThread();
+        String threadName = thread.getName();
+        try {
+            thread.setName(threadName + " " + key.type() + " " + key.host() + " " + key.target());
+            future.complete(probe.run());
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.complete(Optional.empty());
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        } finally {
+            thread.setName(threadName);
+        }
+    }
+
+    /**
+     * Reserve the next free start slot
+     *
+     * @return the delay until the reserved slot in nanoseconds
+     */
+    private synchronized long reserveProbeStart(Priority priority) {
+        if (probeIntervalInNanos <= 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long next = priority == Priority.THING ? nextProbeStartInNanos : nextDiscoveryProbeStartInNanos;
+        long start = next - now > 0 ? next : now;
+        if (priority == Priority.THING) {
+            nextProbeStartInNanos = start + probeIntervalInNanos;
+        } else {
+            nextDiscoveryProbeStartInNanos = start + probeIntervalInNanos;
+        }
+        return start - now;
+    }
+}
@@ -22,7 +22,10 @@ import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -58,6 +61,8 @@ public class PresenceDetectionTest {
     private @Mock ExecutorService executorService;
     private @Mock PresenceDetectionListener listener;
     private @Mock NetworkUtils networkUtils;
+    private @Mock ScheduledExecutorService scheduler;
+    private Executor probeExecutor = Runnable::run;
 
     @BeforeEach
     public void setUp() throws UnknownHostException {
@@ -66,7 +71,9 @@ public class PresenceDetectionTest {
         doReturn(ArpPingUtilEnum.IPUTILS_ARPING).when(networkUtils).determineNativeARPpingMethod(anyString());
         doReturn(IpPingMethodEnum.WINDOWS_PING).when(networkUtils).determinePingMethod();
 
-        subject = spy(new PresenceDetection(listener, (int) CACHETIME));
+        PresenceProbeEngine probeEngine = new PresenceProbeEngine(command -> probeExecutor.execute(command), scheduler,
+                0);
+        subject = spy(new PresenceDetection(listener, probeEngine, (int) CACHETIME));
         subject.networkUtils = networkUtils;
         subject.cache = spy(new ExpiringCacheAsync<>(CACHETIME, () -> {
             subject.performPresenceDetection(false);
@@ -89,26 +96,34 @@ public class PresenceDetectionTest {
         subject.waitForPresenceDetection();
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
+    // Depending on the amount of test methods an according amount of checks is started.
+    // We will check if they are started and the detection finishes once they are done.
     @Test
     public void threadCountTest() {
-        assertNull(subject.executorService);
+        assertNull(subject.detection);
 
-        doNothing().when(subject).performARPping(any());
-        doNothing().when(subject).performJavaPing();
-        doNothing().when(subject).performSystemPing();
-        doNothing().when(subject).performServicePing(anyInt());
+        CompletableFuture<Void> arpPing = new CompletableFuture<>();
+        CompletableFuture<Void> systemPing = new CompletableFuture<>();
+        CompletableFuture<Void> servicePing = new CompletableFuture<>();
+        doReturn(arpPing).when(subject).performARPping(any());
+        doReturn(systemPing).when(subject).performSystemPing();
+        doReturn(servicePing).when(subject).performServicePing(anyInt());
 
         subject.performPresenceDetection(false);
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // Check count: ARP + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detection);
+        verify(subject, times(0)).performJavaPing();
+
+        arpPing.complete(null);
+        systemPing.complete(null);
+        assertNotNull(subject.detection);
+        servicePing.complete(null);
 
-        subject.waitForPresenceDetection();
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.executorService);
+        assertNull(subject.detection);
+        verify(listener, times(1)).finalDetectionResult(any());
     }
 
     @Test
@@ -142,14 +157,14 @@ public class PresenceDetectionTest {
                 .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
 
-        doReturn(executorService).when(subject).getThreadsFor(anyInt());
+        probeExecutor = executorService;
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection(eq(false));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detection);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(any());
 
@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.network.internal.PresenceProbeEngine.Priority;
+import org.openhab.binding.network.internal.utils.PingResult;
+
+/**
+ * Tests cases for {@link PresenceProbeEngine}
+ *
+ * @author agent - Initial contribution
+ */
+public class PresenceProbeEngineTest {
+
+    @Test
+    public void concurrentProbesForSameTargetAreShared() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        PresenceProbeEngine engine = new PresenceProbeEngine(tasks::add, mock(ScheduledExecutorService.class), 0);
+        AtomicInteger executions = new AtomicInteger();
+        PresenceProbeEngine.Probe probe = () -> {
+            executions.incrementAndGet();
+            return Optional.of(new PingResult(true, 10));
+        };
+
+        CompletableFuture<Optional<PingResult>> first = engine.probe(PresenceDetectionType.TCP_CONNECTION,
+                "192.168.1.2", "80", probe);
+        CompletableFuture<Optional<PingResult>> second = engine.probe(PresenceDetectionType.TCP_CONNECTION,
+                "192.168.1.2", "80", probe);
+        CompletableFuture<Optional<PingResult>> otherPort = engine.probe(PresenceDetectionType.TCP_CONNECTION,
+                "192.168.1.2", "443", probe);
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(otherPort, is(not(sameInstance(first))));
+        assertThat(tasks.size(), is(2));
+        assertThat(engine.getRunningProbeCount(), is(2));
+
+        tasks.forEach(Runnable::run);
+        assertTrue(first.get().get().isSuccess());
+        assertThat(executions.get(), is(2));
+        assertThat(engine.getRunningProbeCount(), is(0));
+
+        // a finished probe is executed again
+        engine.probe(PresenceDetectionType.TCP_CONNECTION, "192.168.1.2", "80", probe);
+        assertThat(tasks.size(), is(3));
+    }
+
+    @Test
+    public void failedProbeCompletesExceptionally() {
+        PresenceProbeEngine engine = new PresenceProbeEngine(Runnable::run, mock(ScheduledExecutorService.class), 0);
+
+        CompletableFuture<Optional<PingResult>> result = engine.probe(PresenceDetectionType.ARP_PING, "host", "eth0",
+                () -> {
+                    throw new IOException("arping not found");
+                });
+
+        ExecutionException e = assertThrows(ExecutionException.class, result::get);
+        assertThat(e.getCause(), is(instanceOf(IOException.class)));
+        assertThat(engine.getRunningProbeCount(), is(0));
+    }
+
+    @Test
+    public void probeStartsArePaced() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        PresenceProbeEngine engine = new PresenceProbeEngine(Runnable::run, scheduler, 100);
+
+        for (int i = 0; i < 3; i++) {
+            engine.probe(PresenceDetectionType.ICMP_PING, "host" + i, "", Optional::empty);
+        }
+
+        // the first probe is started immediately, the others are delayed
+        verify(scheduler, times(2)).schedule(any(Runnable.class), longThat(delay -> delay > 0),
+                eq(TimeUnit.NANOSECONDS));
+        verify(scheduler).schedule(any(Runnable.class),
+                longThat(delay -> delay > TimeUnit.MILLISECONDS.toNanos(100)), eq(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void thingProbesRunBeforeQueuedDiscoveryProbes() {
+        List<Runnable> tasks = new ArrayList<>();
+        PresenceProbeEngine engine = new PresenceProbeEngine(tasks::add, mock(ScheduledExecutorService.class), 0);
+        List<String> executed = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            String host = "192.168.1." + i;
+            engine.probe(PresenceDetectionType.ICMP_PING, host, "", Priority.DISCOVERY, () -> {
+                executed.add(host);
+                return Optional.empty();
+            });
+        }
+        engine.probe(PresenceDetectionType.ICMP_PING, "thing", "", () -> {
+            executed.add("thing");
+            return Optional.empty();
+        });
+
+        tasks.get(0).run();
+        assertThat(executed, is(List.of("thing")));
+        tasks.subList(1, tasks.size()).forEach(Runnable::run);
+        assertThat(executed, is(List.of("thing", "192.168.1.0", "192.168.1.1", "192.168.1.2")));
+    }
+
+    @Test
+    public void thingProbesDoNotWaitForDiscoveryProbes() {
+        List<Runnable> tasks = new ArrayList<>();
+        PresenceProbeEngine engine = new PresenceProbeEngine(tasks::add, mock(ScheduledExecutorService.class), 0);
+        PresenceProbeEngine.Probe probe = () -> Optional.of(new PingResult(true, 10));
+
+        CompletableFuture<Optional<PingResult>> discovery = engine.probe(PresenceDetectionType.TCP_CONNECTION,
+                "192.168.1.2", "80", Priority.DISCOVERY, probe);
+        CompletableFuture<Optional<PingResult>> thing = engine.probe(PresenceDetectionType.TCP_CONNECTION,
+                "192.168.1.2", "80", probe);
+        CompletableFuture<Optional<PingResult>> otherDiscovery = engine.probe(PresenceDetectionType.TCP_CONNECTION,
+                "192.168.1.2", "80", Priority.DISCOVERY, probe);
+
+        // a queued discovery probe is not shared with a thing, but a discovery probe shares the probe of a thing
+        assertThat(thing, is(not(sameInstance(discovery))));
+        assertThat(otherDiscovery, is(sameInstance(thing)));
+        assertThat(tasks.size(), is(2));
+    }
+
+    @Test
+    public void thingProbesRunDuringScan() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            PresenceProbeEngine engine = new PresenceProbeEngine(executor, mock(ScheduledExecutorService.class), 0);
+            List<CompletableFuture<Optional<PingResult>>> scan = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                scan.add(engine.probe(PresenceDetectionType.ICMP_PING, "192.168.1." + i, "", Priority.DISCOVERY,
+                        () -> {
+                            // an unreachable address, the ping times out
+                            Thread.sleep(50);
+                            return Optional.of(new PingResult(false, 50));
+                        }));
+            }
+
+            // the scan takes 2.5 s, the probe of the thing is executed as soon as a thread gets free
+            CompletableFuture<Optional<PingResult>> thing = engine.probe(PresenceDetectionType.ICMP_PING, "thing", "",
+                    () -> Optional.of(new PingResult(true, 1)));
+            assertTrue(thing.get(1, TimeUnit.SECONDS).get().isSuccess());
+            assertThat(scan.stream().filter(CompletableFuture::isDone).count() < scan.size(), is(true));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void discoveryProbeStartsDoNotDelayThingProbes() {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        PresenceProbeEngine engine = new PresenceProbeEngine(Runnable::run, scheduler, 100);
+
+        for (int i = 0; i < 3; i++) {
+            engine.probe(PresenceDetectionType.ICMP_PING, "192.168.1." + i, "", Priority.DISCOVERY, Optional::empty);
+        }
+        engine.probe(PresenceDetectionType.ICMP_PING, "thing", "", Optional::empty);
+
+        // only the discovery probes wait for a start slot
+        verify(scheduler, times(2)).schedule(any(Runnable.class), longThat(delay -> delay > 0),
+                eq(TimeUnit.NANOSECONDS));
+    }
+}
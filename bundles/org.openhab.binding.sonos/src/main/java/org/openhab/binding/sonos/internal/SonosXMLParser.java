@@ -13,18 +13,25 @@
 package org.openhab.binding.sonos.internal;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringReader;
 import java.net.URL;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.util.StringUtils;
@@ -35,7 +42,6 @@ import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
 import org.xml.sax.helpers.DefaultHandler;
-import org.xml.sax.helpers.XMLReaderFactory;
 
 /**
  * The {@link SonosXMLParser} is a class of helper functions
@@ -83,6 +89,46 @@ public class SonosXMLParser {
         desc
     }
 
+    private static final String DISALLOW_DOCTYPE_DECL = "http://apache.org/xml/features/disallow-doctype-decl";
+    private static final DefaultHandler NO_HANDLER = new DefaultHandler();
+    private static final SAXParserFactory PARSER_FACTORY = SAXParserFactory.newInstance();
+
+    static {
+        // same behaviour as the readers of XMLReaderFactory, handlers rely on both qName and localName
+        PARSER_FACTORY.setNamespaceAware(true);
+    }
+
+    // Idle readers of the current thread. A stack instead of a single reader, as parsing an entry parses its
+    // embedded resource meta data with a second reader while the first one is still in use.
+    private static final ThreadLocal<Deque<XMLReader>> READERS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static void parse(InputSource source, DefaultHandler handler) throws IOException, SAXException {
+        parse(source, handler, false);
+    }
+
+    /**
+     * Parses the source with an idle reader of the current thread, creating a reader only if none is idle. Creating
+     * a reader is much more expensive than the parsing of the small documents of events and responses.
+     */
+    private static void parse(InputSource source, DefaultHandler handler, boolean disallowDoctype)
+            throws IOException, SAXException {
+        Deque<XMLReader> readers = READERS.get();
+        XMLReader reader = readers.poll();
+        if (reader == null) {
+            try {
+                reader = PARSER_FACTORY.newSAXParser().getXMLReader();
+            } catch (ParserConfigurationException e) {
+                throw new SAXException(e);
+            }
+        }
+        reader.setFeature(DISALLOW_DOCTYPE_DECL, disallowDoctype);
+        reader.setContentHandler(handler);
+        reader.parse(source);
+        // only readers that completed a parse are reused, a failed reader may be left in an inconsistent state
+        reader.setContentHandler(NO_HANDLER);
+        readers.push(reader);
+    }
+
     /**
      * @param xml
      * @return a list of alarms from the given xml string.
@@ -90,9 +136,7 @@ public class SonosXMLParser {
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) {
         AlarmHandler handler = new AlarmHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException e) {
             LOGGER.error("Could not parse Alarms from string '{}'", xml);
         } catch (SAXException s) {
@@ -106,18 +150,39 @@ public class SonosXMLParser {
      * @return a list of Entries from the given xml string.
      */
     public static List<SonosEntry> getEntriesFromString(String xml) {
-        EntryHandler handler = new EntryHandler();
+        List<SonosEntry> entries = new ArrayList<>();
+        getEntriesFromString(xml, entries::add);
+        return entries;
+    }
+
+    /**
+     * Parses the entries of the given xml string and hands each entry to the consumer as soon as it is parsed.
+     *
+     * @param xml
+     * @param consumer receives the entries in document order
+     */
+    public static void getEntriesFromString(String xml, Consumer<SonosEntry> consumer) {
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(new InputSource(new StringReader(xml)), new EntryHandler(consumer));
         } catch (IOException e) {
             LOGGER.error("Could not parse Entries from string '{}'", xml);
         } catch (SAXException s) {
             LOGGER.error("Could not parse Entries from string '{}'", xml);
         }
+    }
 
-        return handler.getArtists();
+    /**
+     * Parses the entries of a DIDL-Lite document directly from a stream, e.g. the body of an HTTP response, without
+     * buffering the document. Each entry is handed to the consumer as soon as it is parsed.
+     *
+     * @param stream the DIDL-Lite document, UTF-8 encoded unless declared otherwise
+     * @param consumer receives the entries in document order
+     * @throws IOException if reading the stream fails
+     * @throws SAXException if the document is not well-formed
+     */
+    public static void getEntriesFromStream(InputStream stream, Consumer<SonosEntry> consumer)
+            throws IOException, SAXException {
+        parse(new InputSource(stream), new EntryHandler(consumer));
     }
 
     /**
@@ -129,12 +194,9 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static @Nullable SonosResourceMetaData getResourceMetaData(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
-        reader.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
         ResourceMetaDataHandler handler = new ResourceMetaDataHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(new InputSource(new StringReader(xml)), handler, true);
         } catch (IOException e) {
             LOGGER.error("Could not parse Resource MetaData from String '{}'", xml);
         } catch (SAXException s) {
@@ -150,9 +212,7 @@ public class SonosXMLParser {
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) {
         ZoneGroupHandler handler = new ZoneGroupHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse ZoneGroup from string '{}'", xml);
@@ -166,9 +226,7 @@ public class SonosXMLParser {
     public static List<String> getRadioTimeFromXML(String xml) {
         OpmlHandler handler = new OpmlHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse RadioTime from string '{}'", xml);
@@ -182,9 +240,7 @@ public class SonosXMLParser {
     public static Map<String, String> getRenderingControlFromXML(String xml) {
         RenderingControlEventHandler handler = new RenderingControlEventHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
@@ -197,9 +253,7 @@ public class SonosXMLParser {
     public static Map<String, String> getAVTransportFromXML(String xml) {
         AVTransportEventHandler handler = new AVTransportEventHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse AV Transport from string '{}'", xml);
@@ -212,9 +266,7 @@ public class SonosXMLParser {
     public static SonosMetaData getMetaDataFromXML(String xml) {
         MetaDataHandler handler = new MetaDataHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse MetaData from string '{}'", xml);
@@ -228,9 +280,7 @@ public class SonosXMLParser {
     public static List<SonosMusicService> getMusicServicesFromXML(String xml) {
         MusicServiceHandler handler = new MusicServiceHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse music services from string '{}'", xml);
@@ -258,10 +308,11 @@ public class SonosXMLParser {
         private StringBuilder desc = new StringBuilder();
         private @Nullable Element element;
 
-        private List<SonosEntry> artists = new ArrayList<>();
+        private final Consumer<SonosEntry> consumer;
 
-        EntryHandler() {
+        EntryHandler(Consumer<SonosEntry> consumer) {
             // shouldn't be used outside of this package.
+            this.consumer = consumer;
         }
 
         @Override
@@ -378,7 +429,7 @@ public class SonosXMLParser {
                     }
                 }
 
-                artists.add(new SonosEntry(id, title.toString(), parentId, album.toString(), albumArtUri.toString(),
+                consumer.accept(new SonosEntry(id, title.toString(), parentId, album.toString(), albumArtUri.toString(),
                         creator.toString(), upnpClass.toString(), res.toString(), trackNumberVal, md));
                 title = new StringBuilder();
                 upnpClass = new StringBuilder();
@@ -390,10 +441,6 @@ public class SonosXMLParser {
                 desc = new StringBuilder();
             }
         }
-
-        public List<SonosEntry> getArtists() {
-            return artists;
-        }
     }
 
     private static class ResourceMetaDataHandler extends DefaultHandler {
@@ -930,11 +977,8 @@ public class SonosXMLParser {
 
     public static @Nullable String getRoomName(String descriptorXML) {
         RoomNameHandler roomNameHandler = new RoomNameHandler();
-        try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(roomNameHandler);
-            URL url = new URL(descriptorXML);
-            reader.parse(new InputSource(url.openStream()));
+        try (InputStream stream = new URL(descriptorXML).openStream()) {
+            parse(new InputSource(stream), roomNameHandler);
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos room name from string '{}'", descriptorXML);
         }
@@ -969,11 +1013,8 @@ public class SonosXMLParser {
 
     public static @Nullable String parseModelDescription(URL descriptorURL) {
         ModelNameHandler modelNameHandler = new ModelNameHandler();
-        try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(modelNameHandler);
-            URL url = new URL(descriptorURL.toString());
-            reader.parse(new InputSource(url.openStream()));
+        try (InputStream stream = descriptorURL.openStream()) {
+            parse(new InputSource(stream), modelNameHandler);
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos model name from string '{}'", descriptorURL.toString());
         }
@@ -31,6 +31,10 @@ import java.util.Map;
 import java.util.TimeZone;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -680,15 +684,13 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
                     updateChannel(TUNEINSTATIONID);
                     break;
                 case "SavedQueuesUpdateID": // service ContentDirectoy
-                    for (SonosEntry entry : getPlayLists()) {
-                        options.add(new StateOption(entry.getTitle(), entry.getTitle()));
-                    }
+                    forEachEntry("SQ:", "dc:title",
+                            entry -> options.add(new StateOption(entry.getTitle(), entry.getTitle())));
                     stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), PLAYLIST), options);
                     break;
                 case "FavoritesUpdateID": // service ContentDirectoy
-                    for (SonosEntry entry : getFavorites()) {
-                        options.add(new StateOption(entry.getTitle(), entry.getTitle()));
-                    }
+                    forEachEntry("FV:2", "dc:title",
+                            entry -> options.add(new StateOption(entry.getTitle(), entry.getTitle())));
                     stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), FAVORITE), options);
                     break;
                 // For favorite radios, we should have checked the state variable named RadioFavoritesUpdateID
@@ -697,9 +699,8 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
                 case "ContainerUpdateIDs": // service ContentDirectoy
                     if (value.startsWith("R:0,") || stateDescriptionProvider
                             .getStateOptions(new ChannelUID(getThing().getUID(), RADIO)) == null) {
-                        for (SonosEntry entry : getFavoriteRadios()) {
-                            options.add(new StateOption(entry.getTitle(), entry.getTitle()));
-                        }
+                        forEachEntry("R:0/0", "dc:title",
+                                entry -> options.add(new StateOption(entry.getTitle(), entry.getTitle())));
                         stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), RADIO), options);
                     }
                     break;
@@ -1592,6 +1593,40 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     }
 
     protected List<SonosEntry> getEntries(String type, String filter) {
+        List<SonosEntry> resultList = new ArrayList<>();
+        forEachEntry(type, filter, resultList::add);
+        return resultList;
+    }
+
+    /**
+     * Browses the entries of the given type page by page and hands each entry to the consumer as soon as it is
+     * parsed, without collecting all entries first.
+     *
+     * @param type the object ID of the browsed container, e.g. Q:0 for the queue
+     * @param filter the properties to return
+     * @param consumer receives the entries in the order of the container
+     */
+    protected void forEachEntry(String type, String filter, Consumer<SonosEntry> consumer) {
+        browseEntries(type, filter, consumer, () -> false);
+    }
+
+    /**
+     * Browses the entries of the given type until an entry matches. Pages after the page of the first match are
+     * not requested.
+     *
+     * @return the first matching entry or null if no entry matches
+     */
+    protected @Nullable SonosEntry findEntry(String type, String filter, Predicate<SonosEntry> matcher) {
+        AtomicReference<@Nullable SonosEntry> match = new AtomicReference<>();
+        browseEntries(type, filter, entry -> {
+            if (match.get() == null && matcher.test(entry)) {
+                match.set(entry);
+            }
+        }, () -> match.get() != null);
+        return match.get();
+    }
+
+    private void browseEntries(String type, String filter, Consumer<SonosEntry> consumer, BooleanSupplier done) {
         long startAt = 0;
 
         Map<String, String> inputs = new HashMap<>();
@@ -1606,16 +1641,16 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
         String initialResult = result.get("Result");
         if (initialResult == null) {
-            return Collections.emptyList();
+            return;
         }
 
         long totalMatches = getResultEntry(result, "TotalMatches", type, filter);
         long initialNumberReturned = getResultEntry(result, "NumberReturned", type, filter);
 
-        List<SonosEntry> resultList = SonosXMLParser.getEntriesFromString(initialResult);
+        SonosXMLParser.getEntriesFromString(initialResult, consumer);
         startAt = startAt + initialNumberReturned;
 
-        while (startAt < totalMatches) {
+        while (startAt < totalMatches && !done.getAsBoolean()) {
             inputs.put("StartingIndex", Long.toString(startAt));
             result = service.invokeAction(this, SERVICE_CONTENT_DIRECTORY, "Browse", inputs);
 
@@ -1627,12 +1662,10 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
             long numberReturned = getResultEntry(result, "NumberReturned", type, filter);
 
-            resultList.addAll(SonosXMLParser.getEntriesFromString(nextResult));
+            SonosXMLParser.getEntriesFromString(nextResult, consumer);
 
             startAt = startAt + numberReturned;
         }
-
-        return resultList;
     }
 
     protected long getNbEntries(String type) {
@@ -3012,16 +3045,9 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     public void playRadio(Command command) {
         if (command instanceof StringType) {
             String station = command.toString();
-            List<SonosEntry> stations = getFavoriteRadios();
-
-            SonosEntry theEntry = null;
             // search for the appropriate radio based on its name (title)
-            for (SonosEntry someStation : stations) {
-                if (someStation.getTitle().equals(station)) {
-                    theEntry = someStation;
-                    break;
-                }
-            }
+            SonosEntry theEntry = findEntry("R:0/0", "dc:title,res,dc:creator,upnp:artist,upnp:album",
+                    entry -> entry.getTitle().equals(station));
 
             // set the URI of the group coordinator
             if (theEntry != null) {
@@ -3126,16 +3152,9 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     public void playFavorite(Command command) {
         if (command instanceof StringType) {
             String favorite = command.toString();
-            List<SonosEntry> favorites = getFavorites();
-
-            SonosEntry theEntry = null;
             // search for the appropriate favorite based on its name (title)
-            for (SonosEntry entry : favorites) {
-                if (entry.getTitle().equals(favorite)) {
-                    theEntry = entry;
-                    break;
-                }
-            }
+            SonosEntry theEntry = findEntry("FV:2", "dc:title,res,dc:creator,upnp:artist,upnp:album",
+                    entry -> entry.getTitle().equals(favorite));
 
             // set the URI of the group coordinator
             if (theEntry != null) {
@@ -3191,16 +3210,9 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     public void playPlayList(Command command) {
         if (command instanceof StringType) {
             String playlist = command.toString();
-            List<SonosEntry> playlists = getPlayLists();
-
-            SonosEntry theEntry = null;
             // search for the appropriate play list based on its name (title)
-            for (SonosEntry somePlaylist : playlists) {
-                if (somePlaylist.getTitle().equals(playlist)) {
-                    theEntry = somePlaylist;
-                    break;
-                }
-            }
+            SonosEntry theEntry = findEntry("SQ:", "dc:title,res,dc:creator,upnp:artist,upnp:album",
+                    entry -> entry.getTitle().equals(playlist));
 
             // set the URI of the group coordinator
             if (theEntry != null) {
@@ -14,13 +14,16 @@ package org.openhab.binding.sonos.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
 
 /**
  *
@@ -79,4 +82,51 @@ public class SonosXMLParserTest {
             assertEquals("Paris, France", result.get(2));
         }
     }
+
+    private static final String ENTRIES = "<DIDL-Lite xmlns:dc=\"http://purl.org/dc/elements/1.1/\" "
+            + "xmlns:upnp=\"urn:schemas-upnp-org:metadata-1-0/upnp/\" "
+            + "xmlns:r=\"urn:schemas-rinconnetworks-com:metadata-1-0/\" "
+            + "xmlns=\"urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/\">"
+            + "<item id=\"Q:0/1\" parentID=\"Q:0\"><dc:title>First</dc:title>"
+            + "<upnp:class>object.item.audioItem.musicTrack</upnp:class><res>x-file:first.mp3</res>"
+            + "<upnp:originalTrackNumber>1</upnp:originalTrackNumber></item>"
+            + "<item id=\"FV:2/3\" parentID=\"FV:2\"><dc:title>Second</dc:title>"
+            + "<upnp:class>object.itemobject.item.sonos-favorite</upnp:class><res>x-sonosapi-radio:s1</res>"
+            + "<r:resMD>&lt;DIDL-Lite xmlns:dc=&quot;http://purl.org/dc/elements/1.1/&quot; "
+            + "xmlns=&quot;urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/&quot;&gt;"
+            + "&lt;item id=&quot;100c2068&quot; parentID=&quot;0&quot;&gt;&lt;dc:title&gt;Radio&lt;/dc:title&gt;"
+            + "&lt;desc id=&quot;cdudn&quot;&gt;SA_RINCON3_&lt;/desc&gt;&lt;/item&gt;&lt;/DIDL-Lite&gt;</r:resMD>"
+            + "</item></DIDL-Lite>";
+
+    @Test
+    public void getEntriesFromString() {
+        List<SonosEntry> entries = SonosXMLParser.getEntriesFromString(ENTRIES);
+        assertEquals(2, entries.size());
+        assertEquals("Q:0/1", entries.get(0).getId());
+        assertEquals("First", entries.get(0).getTitle());
+        assertEquals(1, entries.get(0).getOriginalTrackNumber());
+        assertNull(entries.get(0).getResourceMetaData());
+        assertEquals("Second", entries.get(1).getTitle());
+        // the embedded meta data is parsed while the outer document is parsed
+        SonosResourceMetaData metaData = entries.get(1).getResourceMetaData();
+        assertNotNull(metaData);
+        assertEquals("100c2068", metaData.getId());
+        assertEquals("SA_RINCON3_", metaData.getDesc());
+    }
+
+    @Test
+    public void getEntriesIncrementally() throws IOException, SAXException {
+        List<String> titles = new ArrayList<>();
+        SonosXMLParser.getEntriesFromStream(new ByteArrayInputStream(ENTRIES.getBytes(StandardCharsets.UTF_8)),
+                entry -> titles.add(entry.getTitle()));
+        assertEquals(List.of("First", "Second"), titles);
+    }
+
+    @Test
+    public void readersAreReusedAfterFailure() {
+        assertEquals(0, SonosXMLParser.getEntriesFromString("<DIDL-Lite><item id=\"1\">").size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(2, SonosXMLParser.getEntriesFromString(ENTRIES).size());
+        }
+    }
 }
@@ -22,10 +22,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -283,6 +285,10 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     private synchronized void applyUpdates() {
         logger.trace("Apply updates");
+        long start = System.nanoTime();
+        int replaced = 0;
+        int unchanged = 0;
+        int removed = 0;
 
         HomekitRoot bridge = accessoryRegistry.getBridge();
         if (bridge != null) {
@@ -293,9 +299,28 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
             boolean changed = false;
             for (final String name : pendingUpdates) {
                 String oldValue = knownAccessories.get(name);
-                accessoryRegistry.remove(name);
+                final @Nullable HomekitAccessory oldAccessory = accessoryRegistry.getAllAccessories().get(name);
                 logger.trace(" Add items {}", name);
-                getItemOptional(name).ifPresent(this::createRootAccessories);
+                final @Nullable AbstractHomekitAccessoryImpl accessory = getItemOptional(name)
+                        .map(this::createRootAccessory).orElse(null);
+                if (accessory == null) {
+                    if (oldAccessory != null) {
+                        accessoryRegistry.remove(name);
+                        removed++;
+                    }
+                    continue;
+                }
+                String newValue = accessory.toJson();
+                if (newValue.equals(oldValue) && oldAccessory instanceof AbstractHomekitAccessoryImpl oldImpl
+                        && isSameConfiguration(oldImpl, accessory)) {
+                    // neither the structure nor the items changed, keep the accessory the bridge already serves
+                    unchanged++;
+                    continue;
+                }
+                accessoryRegistry.remove(name);
+                knownAccessories.put(name, newValue);
+                accessoryRegistry.addRootAccessory(name, accessory);
+                replaced++;
                 if (accessoryChanged(name, oldValue)) {
                     changed = true;
                 }
@@ -310,6 +335,49 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
                 bridge.completeUpdateBatch();
             }
         }
+        logger.debug(
+                "Applied HomeKit updates in instance {} in {} ms: {} accessories replaced, {} unchanged, {} removed.",
+                instance, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), replaced, unchanged, removed);
+    }
+
+    /**
+     * Check whether two accessories of the same item are backed by the same items with the same configuration, so
+     * the existing accessory can be kept. The linked sub-accessories, e.g. of group members, are compared as well.
+     */
+    static boolean isSameConfiguration(AbstractHomekitAccessoryImpl oldAccessory,
+            AbstractHomekitAccessoryImpl newAccessory) {
+        if (!isSameConfiguration(oldAccessory.getRootAccessory(), newAccessory.getRootAccessory())) {
+            return false;
+        }
+        List<HomekitTaggedItem> oldCharacteristics = oldAccessory.getCharacteristics();
+        List<HomekitTaggedItem> newCharacteristics = newAccessory.getCharacteristics();
+        if (oldCharacteristics.size() != newCharacteristics.size()) {
+            return false;
+        }
+        for (int i = 0; i < oldCharacteristics.size(); i++) {
+            if (!isSameConfiguration(oldCharacteristics.get(i), newCharacteristics.get(i))) {
+                return false;
+            }
+        }
+        List<AbstractHomekitAccessoryImpl> oldLinkedAccessories = oldAccessory.getLinkedAccessories();
+        List<AbstractHomekitAccessoryImpl> newLinkedAccessories = newAccessory.getLinkedAccessories();
+        if (oldLinkedAccessories.size() != newLinkedAccessories.size()) {
+            return false;
+        }
+        for (int i = 0; i < oldLinkedAccessories.size(); i++) {
+            if (oldLinkedAccessories.get(i).getClass() != newLinkedAccessories.get(i).getClass()
+                    || !isSameConfiguration(oldLinkedAccessories.get(i), newLinkedAccessories.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSameConfiguration(HomekitTaggedItem oldItem, HomekitTaggedItem newItem) {
+        // an updated item is a new instance, the accessory must then be bound to the new instance
+        return oldItem.getItem() == newItem.getItem() && oldItem.getAccessoryType() == newItem.getAccessoryType()
+                && oldItem.getCharacteristicType() == newItem.getCharacteristicType()
+                && Objects.equals(oldItem.getConfiguration(), newItem.getConfiguration());
     }
 
     private boolean accessoryChanged(String name, @Nullable String oldValue) {
@@ -436,22 +504,36 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
      * @param item openHAB item
      */
     private void createRootAccessories(Item item) {
+        final AbstractHomekitAccessoryImpl accessory = createRootAccessory(item);
+        if (accessory != null) {
+            knownAccessories.put(item.getName(), accessory.toJson());
+            accessoryRegistry.addRootAccessory(item.getName(), accessory);
+        }
+    }
+
+    /**
+     * Creates the root accessory for the given openHAB item, without adding it to the bridge.
+     *
+     * @param item openHAB item
+     * @return the accessory, or null if the item is not a root accessory of this bridge
+     */
+    private @Nullable AbstractHomekitAccessoryImpl createRootAccessory(Item item) {
         final List<Entry<HomekitAccessoryType, HomekitCharacteristicType>> accessoryTypes = HomekitAccessoryFactory
                 .getAccessoryTypes(item, metadataRegistry);
         if (accessoryTypes.isEmpty()) {
-            return;
+            return null;
         }
 
         final List<GroupItem> groups = HomekitAccessoryFactory.getAccessoryGroups(item, itemRegistry, metadataRegistry);
         // Don't create accessories that are sub-accessories of other accessories
         if (groups.stream().anyMatch(g -> !HomekitAccessoryFactory.getAccessoryTypes(g, metadataRegistry).isEmpty())) {
-            return;
+            return null;
         }
 
         final @Nullable Map<String, Object> itemConfiguration = HomekitAccessoryFactory.getItemConfiguration(item,
                 metadataRegistry);
         if (!itemIsForThisBridge(item, itemConfiguration)) {
-            return;
+            return null;
         }
 
         final HomekitAccessoryType primaryAccessoryType = getPrimaryAccessoryType(item, accessoryTypes,
@@ -466,7 +548,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
             if (accessory.isLinkedServiceOnly()) {
                 logger.warn("Item '{}' is a '{}' which must be nested another another accessory.", taggedItem.getName(),
                         primaryAccessoryType);
-                return;
+                return null;
             }
 
             accessoryTypes.stream().filter(aType -> !primaryAccessoryType.equals(aType.getKey()))
@@ -491,14 +573,16 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
                                 }
                             }
                             accessory.getServices().add(additionalAccessory.getPrimaryService());
+                            // compared when the accessory is updated, like the linked services of group members
+                            accessory.addLinkedAccessory(additionalAccessory);
                         } catch (HomekitException e) {
                             logger.warn("Cannot create additional accessory {}", additionalTaggedItem);
                         }
                     });
-            knownAccessories.put(taggedItem.getName(), accessory.toJson());
-            accessoryRegistry.addRootAccessory(taggedItem.getName(), accessory);
+            return accessory;
         } catch (HomekitException e) {
             logger.warn("Cannot create accessory {}", taggedItem);
+            return null;
         }
     }
 
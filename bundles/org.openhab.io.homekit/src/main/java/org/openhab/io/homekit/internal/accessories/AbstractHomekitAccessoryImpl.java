@@ -62,6 +62,7 @@ public abstract class AbstractHomekitAccessoryImpl implements HomekitAccessory {
     private final HomekitSettings settings;
     private final List<Service> services;
     private final Map<Class<? extends Characteristic>, Characteristic> rawCharacteristics;
+    private final List<AbstractHomekitAccessoryImpl> linkedAccessories = new ArrayList<>();
 
     public AbstractHomekitAccessoryImpl(HomekitTaggedItem accessory, List<HomekitTaggedItem> characteristics,
             HomekitAccessoryUpdater updater, HomekitSettings settings) {
@@ -150,6 +151,29 @@ public abstract class AbstractHomekitAccessoryImpl implements HomekitAccessory {
         return accessory;
     }
 
+    /**
+     * @return the tagged items of the characteristics of this accessory
+     */
+    public List<HomekitTaggedItem> getCharacteristics() {
+        return characteristics;
+    }
+
+    /**
+     * @return the sub-accessories whose services were added to this accessory, e.g. for the members of a group
+     */
+    public List<AbstractHomekitAccessoryImpl> getLinkedAccessories() {
+        return linkedAccessories;
+    }
+
+    /**
+     * Remember a sub-accessory whose primary service was added to this accessory
+     *
+     * @param linkedAccessory the sub-accessory
+     */
+    public void addLinkedAccessory(AbstractHomekitAccessoryImpl linkedAccessory) {
+        linkedAccessories.add(linkedAccessory);
+    }
+
     @Override
     public Collection<Service> getServices() {
         return this.services;
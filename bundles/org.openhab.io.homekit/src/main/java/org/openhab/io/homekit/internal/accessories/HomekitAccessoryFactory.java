@@ -482,6 +482,7 @@ public class HomekitAccessoryFactory {
             } else {
                 accessory.getServices().add(subAccessory.getPrimaryService());
             }
+            accessory.addLinkedAccessory(subAccessory);
         }
     }
 
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.homekit.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.GroupItem;
+import org.openhab.core.items.Item;
+import org.openhab.core.library.items.SwitchItem;
+import org.openhab.io.homekit.internal.accessories.AbstractHomekitAccessoryImpl;
+
+/**
+ * Tests the decision of the {@link HomekitChangeListener} whether an existing accessory is kept or replaced.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HomekitChangeListenerTest {
+
+    private final GroupItem group = new GroupItem("fan");
+    private final SwitchItem active = new SwitchItem("fanActive");
+    private final SwitchItem light = new SwitchItem("fanLight");
+
+    private static HomekitTaggedItem taggedItem(Item item, HomekitAccessoryType type,
+            HomekitCharacteristicType characteristicType, @Nullable Map<String, Object> configuration) {
+        return new HomekitTaggedItem(new HomekitOHItemProxy(item), type, characteristicType, configuration);
+    }
+
+    private static AbstractHomekitAccessoryImpl accessory(HomekitTaggedItem root,
+            List<HomekitTaggedItem> characteristics, List<AbstractHomekitAccessoryImpl> linkedAccessories) {
+        AbstractHomekitAccessoryImpl accessory = mock(AbstractHomekitAccessoryImpl.class);
+        when(accessory.getRootAccessory()).thenReturn(root);
+        when(accessory.getCharacteristics()).thenReturn(new ArrayList<>(characteristics));
+        when(accessory.getLinkedAccessories()).thenReturn(new ArrayList<>(linkedAccessories));
+        return accessory;
+    }
+
+    private AbstractHomekitAccessoryImpl fan(SwitchItem active, SwitchItem light,
+            @Nullable Map<String, Object> lightConfiguration) {
+        AbstractHomekitAccessoryImpl lightAccessory = accessory(
+                taggedItem(light, HomekitAccessoryType.LIGHTBULB, HomekitCharacteristicType.EMPTY, lightConfiguration),
+                List.of(taggedItem(light, HomekitAccessoryType.LIGHTBULB, HomekitCharacteristicType.ON_STATE,
+                        lightConfiguration)),
+                List.of());
+        return accessory(taggedItem(group, HomekitAccessoryType.FAN, HomekitCharacteristicType.EMPTY, null),
+                List.of(taggedItem(active, HomekitAccessoryType.FAN, HomekitCharacteristicType.ACTIVE_STATUS, null)),
+                List.of(lightAccessory));
+    }
+
+    @Test
+    public void testUnchangedAccessoryIsKept() {
+        assertTrue(HomekitChangeListener.isSameConfiguration(fan(active, light, null), fan(active, light, null)));
+    }
+
+    @Test
+    public void testAccessoryIsReplacedWhenCharacteristicItemIsReplaced() {
+        assertFalse(HomekitChangeListener.isSameConfiguration(fan(active, light, null),
+                fan(new SwitchItem("fanActive"), light, null)));
+    }
+
+    @Test
+    public void testAccessoryIsReplacedWhenLinkedItemIsReplaced() {
+        assertFalse(HomekitChangeListener.isSameConfiguration(fan(active, light, null),
+                fan(active, new SwitchItem("fanLight"), null)));
+    }
+
+    @Test
+    public void testAccessoryIsReplacedWhenLinkedConfigurationChanged() {
+        assertFalse(HomekitChangeListener.isSameConfiguration(fan(active, light, null),
+                fan(active, light, Map.of("inverted", true))));
+    }
+
+    @Test
+    public void testAccessoryIsReplacedWhenLinkedAccessoryIsRemoved() {
+        AbstractHomekitAccessoryImpl withoutLight = accessory(
+                taggedItem(group, HomekitAccessoryType.FAN, HomekitCharacteristicType.EMPTY, null),
+                List.of(taggedItem(active, HomekitAccessoryType.FAN, HomekitCharacteristicType.ACTIVE_STATUS, null)),
+                List.of());
+        assertFalse(HomekitChangeListener.isSameConfiguration(fan(active, light, null), withoutLight));
+    }
+
+    @Test
+    public void testAccessoryIsReplacedWhenItemOfAdditionalAccessoryTypeIsReplaced() {
+        // a group that is both a fan and a light bulb, the light bulb is an additional accessory type
+        SwitchItem on = new SwitchItem("fanLightOn");
+        AbstractHomekitAccessoryImpl oldAccessory = fanWithAdditionalLightbulb(on);
+
+        assertTrue(HomekitChangeListener.isSameConfiguration(oldAccessory, fanWithAdditionalLightbulb(on)));
+        assertFalse(HomekitChangeListener.isSameConfiguration(oldAccessory,
+                fanWithAdditionalLightbulb(new SwitchItem("fanLightOn"))));
+    }
+
+    private AbstractHomekitAccessoryImpl fanWithAdditionalLightbulb(SwitchItem on) {
+        AbstractHomekitAccessoryImpl lightbulb = accessory(
+                taggedItem(group, HomekitAccessoryType.LIGHTBULB, HomekitCharacteristicType.EMPTY, null),
+                List.of(taggedItem(on, HomekitAccessoryType.LIGHTBULB, HomekitCharacteristicType.ON_STATE, null)),
+                List.of());
+        return accessory(taggedItem(group, HomekitAccessoryType.FAN, HomekitCharacteristicType.EMPTY, null),
+                List.of(taggedItem(active, HomekitAccessoryType.FAN, HomekitCharacteristicType.ACTIVE_STATUS, null)),
+                List.of(lightbulb));
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal.rest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import javax.ws.rs.core.EntityTag;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+
+/**
+ * Caches the serialised JSON of the entries of a collection of the
+ * {@link org.openhab.io.hueemulation.internal.dto.HueDataStore}, like the lights or the groups.
+ *
+ * <p>
+ * The JSON of an entry depends on the entry itself and on the current state of its item. The cache is given a
+ * function that returns these inputs for an entry. An entry is only serialised again if its inputs changed since the
+ * last request, and the whole collection is only assembled again if at least one entry changed. Every assembled
+ * collection gets a new entity tag, so clients can poll with "If-None-Match".
+ * </p>
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JsonViewCache<T> {
+    /**
+     * The serialised collection and its entity tag
+     */
+    public record View(String json, EntityTag etag) {
+    }
+
+    private record Fragment(List<@Nullable Object> inputs, String json) {
+    }
+
+    private final Gson gson;
+    private final Function<T, List<@Nullable Object>> inputs;
+    // the entity tags of this instance must differ from the ones of a previous instance, e.g. before a restart
+    private final String etagPrefix = Long.toHexString(System.currentTimeMillis()) + "-";
+
+    // guarded by this
+    private final Map<String, Fragment> fragments = new HashMap<>();
+    private List<String> viewIds = List.of();
+    private @Nullable View view;
+    private long version;
+
+    /**
+     * @param gson serialises a single entry
+     * @param inputs returns everything the JSON of an entry depends on. Entries without overridden equals are
+     *            compared by identity, so the entry object itself can be part of the inputs.
+     */
+    public JsonViewCache(Gson gson, Function<T, List<@Nullable Object>> inputs) {
+        this.gson = gson;
+        this.inputs = inputs;
+    }
+
+    /**
+     * Returns the serialised collection, as {@link Gson} would serialise the map.
+     *
+     * @param entries the collection, serialised in iteration order
+     */
+    public synchronized View getCollection(Map<String, T> entries) {
+        boolean changed = false;
+        List<String> ids = new ArrayList<>(entries.size());
+        List<String> jsons = new ArrayList<>(entries.size());
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            Fragment fragment = fragments.get(entry.getKey());
+            Fragment current = getFragment(entry.getKey(), entry.getValue());
+            changed |= fragment != current;
+            ids.add(entry.getKey());
+            jsons.add(current.json());
+        }
+        if (ids.size() < fragments.size()) {
+            fragments.keySet().retainAll(ids);
+        }
+
+        View localView = view;
+        if (localView != null && !changed && ids.equals(viewIds)) {
+            return localView;
+        }
+
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(gson.toJson(ids.get(i))).append(':').append(jsons.get(i));
+        }
+        json.append('}');
+        localView = new View(json.toString(), new EntityTag(etagPrefix + (++version)));
+        view = localView;
+        viewIds = ids;
+        return localView;
+    }
+
+    /**
+     * Returns the serialised entry.
+     *
+     * @param id the id of the entry
+     * @param entry the entry, or null if it does not exist
+     */
+    public synchronized String get(String id, @Nullable T entry) {
+        if (entry == null) {
+            return gson.toJson(null);
+        }
+        return getFragment(id, entry).json();
+    }
+
+    /**
+     * Serialise the entry again on the next request. Must be called if an entry was changed in a way its inputs do
+     * not reflect.
+     *
+     * @param id the id of the entry
+     */
+    public synchronized void invalidate(String id) {
+        fragments.remove(id);
+    }
+
+    private Fragment getFragment(String id, T entry) {
+        List<@Nullable Object> currentInputs = inputs.apply(entry);
+        Fragment fragment = fragments.get(id);
+        if (fragment == null || !Objects.equals(fragment.inputs(), currentInputs)) {
+            fragment = new Fragment(currentInputs, gson.toJson(entry));
+            fragments.put(id, fragment);
+        }
+        return fragment;
+    }
+}
@@ -13,6 +13,7 @@
 package org.openhab.io.hueemulation.internal.rest;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -27,7 +28,9 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -118,11 +121,22 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @Reference(policy = ReferencePolicy.DYNAMIC, cardinality = ReferenceCardinality.OPTIONAL)
     protected volatile @Nullable EventPublisher eventPublisher;
 
+    private @NonNullByDefault({}) JsonViewCache<HueLightEntry> lightsView;
+    private @NonNullByDefault({}) JsonViewCache<HueGroupEntry> groupsView;
+
     /**
      * Registers to the {@link ItemRegistry} and enumerates currently existing items.
      */
     @Activate
     protected void activate() {
+        // the JSON of a light depends on the state and label of its item, the one of a group on its members
+        lightsView = new JsonViewCache<>(cs.gson, light -> Arrays.asList(light, light.item, light.item.getState(),
+                light.item.getLabel(), light.lastCommand, light.lastHueChange));
+        groupsView = new JsonViewCache<>(cs.gson, group -> {
+            GroupItem groupItem = group.groupItem;
+            return Arrays.asList(group, groupItem, groupItem == null ? null : List.copyOf(groupItem.getMembers()),
+                    group.lights, group.action, group.name, group.type, group.roomclass);
+        });
         cs.ds.resetGroupsAndLights();
 
         itemRegistry.removeRegistryChangeListener(this);
@@ -247,12 +261,12 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @GET
     @Path("{username}/lights")
     @Operation(summary = "Return all lights", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllLightsApi(@Context UriInfo uri,
+    public Response getAllLightsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        return viewResponse(request, lightsView.getCollection(cs.ds.lights));
     }
 
     @GET
@@ -288,7 +302,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights.get(id))).build();
+        return Response.ok(lightsView.get(id, cs.ds.lights.get(id))).build();
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -385,6 +399,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
             hueDevice.lastHueChange = newState;
         }
 
+        lightsView.invalidate(id);
         return Response.ok(cs.gson.toJson(responses, new TypeToken<List<?>>() {
         }.getType())).build();
     }
@@ -431,6 +446,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
             }
         }
 
+        groupsView.invalidate(id);
         return Response.ok(cs.gson.toJson(responses, new TypeToken<List<?>>() {
         }.getType())).build();
     }
@@ -438,12 +454,12 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @GET
     @Path("{username}/groups")
     @Operation(summary = "Return all groups", responses = { @ApiResponse(responseCode = "200", description = "OK") })
-    public Response getAllGroupsApi(@Context UriInfo uri,
+    public Response getAllGroupsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @Parameter(description = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups)).build();
+        return viewResponse(request, groupsView.getCollection(cs.ds.groups));
     }
 
     @GET
@@ -455,7 +471,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups.get(id))).build();
+        return Response.ok(groupsView.get(id, cs.ds.groups.get(id))).build();
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -525,4 +541,15 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.NOT_AVAILABLE, "Group does not exist");
         }
     }
+
+    /**
+     * Responds with the serialised collection, or with "304 Not Modified" if the client already has it.
+     */
+    private static Response viewResponse(Request request, JsonViewCache.View view) {
+        ResponseBuilder notModified = request.evaluatePreconditions(view.etag());
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(view.json()).tag(view.etag()).build();
+    }
 }
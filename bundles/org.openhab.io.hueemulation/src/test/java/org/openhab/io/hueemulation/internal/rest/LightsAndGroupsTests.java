@@ -22,6 +22,8 @@ import java.io.IOException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jetty.client.api.ContentResponse;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -327,6 +329,45 @@ public class LightsAndGroupsTests {
         assertThat(body, containsString("color"));
     }
 
+    @Test
+    public void allLightsWithEntityTag() throws Exception {
+        ContentResponse response = commonSetup.sendGet("/testuser/lights");
+        assertEquals(200, response.getStatus());
+        String etag = response.getHeaders().get(HttpHeader.ETAG);
+        assertThat(etag, is(notNullValue()));
+        assertThat(response.getContentAsString(), is(cs.gson.toJson(cs.ds.lights)));
+
+        // Nothing changed
+        response = commonSetup.client.newRequest(commonSetup.basePath + "/testuser/lights").method(HttpMethod.GET)
+                .header(HttpHeader.IF_NONE_MATCH, etag).send();
+        assertEquals(304, response.getStatus());
+
+        // The state of an item changed
+        cs.ds.lights.get("1").item.setState(OnOffType.ON);
+        response = commonSetup.client.newRequest(commonSetup.basePath + "/testuser/lights").method(HttpMethod.GET)
+                .header(HttpHeader.IF_NONE_MATCH, etag).send();
+        assertEquals(200, response.getStatus());
+        assertThat(response.getHeaders().get(HttpHeader.ETAG), is(not(etag)));
+        assertThat(response.getContentAsString(), is(cs.gson.toJson(cs.ds.lights)));
+
+        // A light was removed
+        cs.ds.lights.remove("3");
+        response = commonSetup.sendGet("/testuser/lights");
+        assertThat(response.getContentAsString(), not(containsString("white")));
+    }
+
+    @Test
+    public void allGroupsWithEntityTag() throws Exception {
+        ContentResponse response = commonSetup.sendGet("/testuser/groups");
+        assertEquals(200, response.getStatus());
+        String etag = response.getHeaders().get(HttpHeader.ETAG);
+        assertThat(response.getContentAsString(), is(cs.gson.toJson(cs.ds.groups)));
+
+        response = commonSetup.client.newRequest(commonSetup.basePath + "/testuser/groups").method(HttpMethod.GET)
+                .header(HttpHeader.IF_NONE_MATCH, etag).send();
+        assertEquals(304, response.getStatus());
+    }
+
     private boolean assertHueValue(ItemCommandEvent ce, int hueValue) {
         assertThat(((HSBType) ce.getItemCommand()).getHue().intValue(), is(hueValue * 360 / HueStateColorBulb.MAX_HUE));
         return true;
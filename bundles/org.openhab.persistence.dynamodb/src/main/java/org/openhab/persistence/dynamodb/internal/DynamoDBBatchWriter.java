@@ -0,0 +1,347 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.RequestLimitExceededException;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+
+/**
+ * Buffers the DTOs to store and writes them with BatchWriteItem requests of up to 25 items.
+ *
+ * A batch is written as soon as it is full, buffered items are written at least once per linger time. Items that
+ * DynamoDB did not process, e.g. due to throttling, are retried with exponential backoff and full jitter. If a table
+ * does not exist yet, the items are written with {@link TableCreatingPutItem}, creating the table.
+ *
+ * The number of buffered items is bounded, items are dropped when the buffer is full. On close, the buffered items are
+ * written and the writes (including their retries) are waited for, for a bounded time.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class DynamoDBBatchWriter {
+    /**
+     * Maximum number of items in a BatchWriteItem request, as defined by DynamoDB
+     */
+    static final int MAX_BATCH_SIZE = 25;
+    static final int MAX_QUEUE_SIZE = 10_000;
+    static final int MAX_ATTEMPTS = 8;
+    private static final long LINGER_TIME_MS = 1000;
+    private static final long BACKOFF_BASE_MS = 50;
+    private static final long BACKOFF_MAX_MS = 20_000;
+    private static final long CLOSE_TIMEOUT_MS = 10_000;
+
+    private static final Logger logger = LoggerFactory.getLogger(DynamoDBBatchWriter.class);
+
+    private final DynamoDBPersistenceService service;
+    private final ScheduledExecutorService scheduler;
+    private final BlockingDeque<DynamoDBItem<?>> queue = new LinkedBlockingDeque<>(MAX_QUEUE_SIZE);
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledFuture<?> flushJob;
+    // writes that have not completed yet, including their retries
+    private final Set<CompletableFuture<?>> pendingWrites = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    // metrics
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedItems = new LongAdder();
+    private final LongAdder throttledWrites = new LongAdder();
+    private final LongAdder droppedItems = new LongAdder();
+
+    public DynamoDBBatchWriter(DynamoDBPersistenceService service, ScheduledExecutorService scheduler) {
+        this.service = service;
+        this.scheduler = scheduler;
+        this.flushJob = scheduler.scheduleWithFixedDelay(this::flush, LINGER_TIME_MS, LINGER_TIME_MS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queue an item for writing
+     *
+     * @param dto the item
+     * @return false if the item was dropped because the buffer is full
+     */
+    public boolean add(DynamoDBItem<?> dto) {
+        if (!queue.offer(dto)) {
+            droppedItems.increment();
+            return false;
+        }
+        if (queue.size() >= MAX_BATCH_SIZE && flushScheduled.compareAndSet(false, true)) {
+            // don't wait for the linger time if a batch is complete
+            scheduler.execute(this::flush);
+        }
+        return true;
+    }
+
+    /**
+     * Write all buffered items and stop writing in the background. Waits up to {@link #CLOSE_TIMEOUT_MS} for the
+     * pending writes, including their retries, so the client can be closed afterwards. Retries that are due after
+     * that are dropped.
+     */
+    public void close() {
+        flushJob.cancel(false);
+        flush();
+        try {
+            CompletableFuture.allOf(pendingWrites.toArray(CompletableFuture[]::new)).get(CLOSE_TIMEOUT_MS,
+                    TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("BatchWriteItem: {} writes not completed within {} ms, items may be lost.",
+                    pendingWrites.size(), CLOSE_TIMEOUT_MS);
+        } catch (ExecutionException e) {
+            // failures are handled by the writes
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closed = true;
+        logger.debug("BatchWriteItem statistics: {} batches, fill ratio {}, {} throttled writes, {} dropped items",
+                batches.sum(), getBatchFillRatio(), throttledWrites.sum(), droppedItems.sum());
+    }
+
+    /**
+     * Returns the average number of items per BatchWriteItem request, relative to the maximum of 25
+     */
+    public double getBatchFillRatio() {
+        long batchCount = batches.sum();
+        return batchCount == 0 ? 0 : (double) batchedItems.sum() / (batchCount * MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Returns the number of item writes that were throttled by DynamoDB and retried
+     */
+    public long getThrottledWrites() {
+        return throttledWrites.sum();
+    }
+
+    /**
+     * Returns the number of items that were dropped, because the buffer was full or all write attempts failed
+     */
+    public long getDroppedItems() {
+        return droppedItems.sum();
+    }
+
+    private synchronized void flush() {
+        flushScheduled.set(false);
+        List<DynamoDBItem<?>> batch;
+        while (!(batch = takeBatch(queue, droppedItems)).isEmpty()) {
+            CompletableFuture<?> write = writeBatch(batch, 1);
+            pendingWrites.add(write);
+            write.whenComplete((result, e) -> pendingWrites.remove(write));
+        }
+    }
+
+    /**
+     * Take the next batch from the queue.
+     *
+     * A BatchWriteItem request must not contain two items with the same key. Such items are left in the queue for the
+     * next batch. With the new table schema, numbers and strings share a table, so the key does not include the
+     * type. If the queue was filled up by concurrent writers in the meantime, the items that do not fit are dropped.
+     *
+     * @param queue the queue
+     * @param droppedItems counts the items that could not be put back
+     * @return up to {@link #MAX_BATCH_SIZE} items with distinct keys
+     */
+    static List<DynamoDBItem<?>> takeBatch(BlockingDeque<DynamoDBItem<?>> queue, LongAdder droppedItems) {
+        List<DynamoDBItem<?>> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        List<DynamoDBItem<?>> duplicates = new ArrayList<>();
+        Set<String> keys = new HashSet<>();
+        DynamoDBItem<?> dto;
+        while (batch.size() < MAX_BATCH_SIZE && (dto = queue.poll()) != null) {
+            if (keys.add(key(dto))) {
+                batch.add(dto);
+            } else {
+                duplicates.add(dto);
+            }
+        }
+        int dropped = 0;
+        for (int i = duplicates.size() - 1; i >= 0; i--) {
+            if (!queue.offerFirst(duplicates.get(i))) {
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            logger.warn("BatchWriteItem: buffer full, dropping {} items with duplicate keys", dropped);
+            droppedItems.add(dropped);
+        }
+        return batch;
+    }
+
+    private static String key(DynamoDBItem<?> dto) {
+        return dto.getName() + "/" + dto.getTime().toInstant().toEpochMilli();
+    }
+
+    /**
+     * Returns the delay before the given attempt, exponential backoff with full jitter
+     */
+    static long backoff(int attempt) {
+        long cap = Math.min(BACKOFF_MAX_MS, BACKOFF_BASE_MS << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    /**
+     * Write a batch
+     *
+     * @return completes when the batch is written, including retries and the fallback to PutItem, or dropped
+     */
+    private CompletableFuture<Void> writeBatch(List<DynamoDBItem<?>> batch, int attempt) {
+        DynamoDbEnhancedAsyncClient client = service.getClient();
+        if (client == null) {
+            logger.warn("BatchWriteItem: client not available, dropping {} items", batch.size());
+            droppedItems.add(batch.size());
+            return CompletableFuture.completedFuture(null);
+        }
+        DynamoDbAsyncTable<DynamoDBBigDecimalItem> numberTable = service.getTable(DynamoDBBigDecimalItem.class);
+        DynamoDbAsyncTable<DynamoDBStringItem> stringTable = service.getTable(DynamoDBStringItem.class);
+        WriteBatch.Builder<DynamoDBBigDecimalItem> numberItems = WriteBatch.builder(DynamoDBBigDecimalItem.class)
+                .mappedTableResource(numberTable);
+        WriteBatch.Builder<DynamoDBStringItem> stringItems = WriteBatch.builder(DynamoDBStringItem.class)
+                .mappedTableResource(stringTable);
+        boolean hasNumberItems = false;
+        boolean hasStringItems = false;
+        for (DynamoDBItem<?> dto : batch) {
+            if (dto instanceof DynamoDBBigDecimalItem numberItem) {
+                numberItems.addPutItem(numberItem);
+                hasNumberItems = true;
+            } else if (dto instanceof DynamoDBStringItem stringItem) {
+                stringItems.addPutItem(stringItem);
+                hasStringItems = true;
+            }
+        }
+        BatchWriteItemEnhancedRequest.Builder request = BatchWriteItemEnhancedRequest.builder();
+        if (hasNumberItems) {
+            request.addWriteBatch(numberItems.build());
+        }
+        if (hasStringItems) {
+            request.addWriteBatch(stringItems.build());
+        }
+
+        batches.increment();
+        batchedItems.add(batch.size());
+        return client.batchWriteItem(request.build()).<CompletableFuture<Void>> handleAsync((result, exception) -> {
+            if (exception == null) {
+                List<DynamoDBItem<?>> unprocessed = getUnprocessedItems(batch, result, numberTable, stringTable);
+                logger.trace("BatchWriteItem: {} of {} items written", batch.size() - unprocessed.size(),
+                        batch.size());
+                if (!unprocessed.isEmpty()) {
+                    throttledWrites.add(unprocessed.size());
+                    return retry(unprocessed, attempt);
+                }
+                return CompletableFuture.completedFuture(null);
+            }
+            Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+                    ? exception.getCause()
+                    : exception;
+            if (cause instanceof ResourceNotFoundException) {
+                // Most likely table does not exist yet, write the items one by one, creating the table
+                logger.trace("BatchWriteItem: table not present, writing {} items with PutItem", batch.size());
+                return CompletableFuture.allOf(batch.stream().map(this::putItem).toArray(CompletableFuture[]::new));
+            } else if (cause instanceof ProvisionedThroughputExceededException
+                    || cause instanceof RequestLimitExceededException) {
+                throttledWrites.add(batch.size());
+                return retry(batch, attempt);
+            } else {
+                logger.warn("BatchWriteItem: failed (final) with {} {}. Dropping {} items.",
+                        cause.getClass().getSimpleName(), cause.getMessage(), batch.size());
+                droppedItems.add(batch.size());
+                return CompletableFuture.completedFuture(null);
+            }
+        }, service.getExecutor()).thenCompose(write -> write);
+    }
+
+    /**
+     * Returns the items of the batch that DynamoDB did not process.
+     *
+     * The unprocessed items are matched by key, since the result maps them with the schema of the given table, which
+     * is the wrong one for half of the items if numbers and strings share a table.
+     */
+    private List<DynamoDBItem<?>> getUnprocessedItems(List<DynamoDBItem<?>> batch, BatchWriteResult result,
+            DynamoDbAsyncTable<DynamoDBBigDecimalItem> numberTable,
+            DynamoDbAsyncTable<DynamoDBStringItem> stringTable) {
+        Set<String> keys = new HashSet<>();
+        result.unprocessedPutItemsForTable(numberTable).forEach(dto -> keys.add(key(dto)));
+        if (!stringTable.tableName().equals(numberTable.tableName())) {
+            result.unprocessedPutItemsForTable(stringTable).forEach(dto -> keys.add(key(dto)));
+        }
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        return batch.stream().filter(dto -> keys.contains(key(dto))).toList();
+    }
+
+    private CompletableFuture<Void> retry(List<DynamoDBItem<?>> items, int attempt) {
+        if (attempt >= MAX_ATTEMPTS) {
+            logger.warn("BatchWriteItem: {} items still unprocessed after {} attempts. Dropping them.", items.size(),
+                    attempt);
+            droppedItems.add(items.size());
+            return CompletableFuture.completedFuture(null);
+        }
+        long delay = backoff(attempt);
+        logger.debug("BatchWriteItem: {} items throttled, retrying in {} ms", items.size(), delay);
+        CompletableFuture<Void> retried = new CompletableFuture<>();
+        scheduler.schedule(() -> {
+            if (closed) {
+                // the client is closed or about to be closed
+                logger.warn("BatchWriteItem: writer closed, dropping {} throttled items", items.size());
+                droppedItems.add(items.size());
+                retried.complete(null);
+                return;
+            }
+            writeBatch(items, attempt + 1).whenComplete((result, e) -> retried.complete(null));
+        }, delay, TimeUnit.MILLISECONDS);
+        return retried;
+    }
+
+    private CompletableFuture<Void> putItem(DynamoDBItem<?> dto) {
+        return dto.accept(new DynamoDBItemVisitor<TableCreatingPutItem<? extends DynamoDBItem<?>>>() {
+
+            @Override
+            public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBBigDecimalItem dynamoBigDecimalItem) {
+                return new TableCreatingPutItem<DynamoDBBigDecimalItem>(service, dynamoBigDecimalItem,
+                        service.getTable(DynamoDBBigDecimalItem.class));
+            }
+
+            @Override
+            public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBStringItem dynamoStringItem) {
+                return new TableCreatingPutItem<DynamoDBStringItem>(service, dynamoStringItem,
+                        service.getTable(DynamoDBStringItem.class));
+            }
+        }).putItemAsync();
+    }
+}
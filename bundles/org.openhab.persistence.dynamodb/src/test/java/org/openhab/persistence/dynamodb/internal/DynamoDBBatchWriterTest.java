@@ -0,0 +1,230 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class DynamoDBBatchWriterTest {
+
+    private static final ZonedDateTime TIME = ZonedDateTime.parse("2024-01-01T00:00:00Z");
+    private static final String TABLE = "openhab";
+
+    private @Mock @NonNullByDefault({}) DynamoDBPersistenceService service;
+    private @Mock @NonNullByDefault({}) DynamoDbAsyncClient lowLevelClient;
+    private @Mock @NonNullByDefault({}) DynamoDBConfig dbConfig;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @BeforeEach
+    public void setUp() {
+        // the enhanced client maps the DTOs with the real table schemas and calls the mocked low level client
+        DynamoDbEnhancedAsyncClient client = DynamoDbEnhancedAsyncClient.builder().dynamoDbClient(lowLevelClient)
+                .build();
+        when(service.getClient()).thenReturn(client);
+        when(service.getLowLevelClient()).thenReturn(lowLevelClient);
+        when(service.getExecutor()).thenReturn(executor);
+        when(service.getDbConfig()).thenReturn(dbConfig);
+        when(service.getTableNameResolver())
+                .thenReturn(new DynamoDBTableNameResolver(ExpectedTableSchema.NEW, TABLE, ""));
+        when(service.getTable(DynamoDBBigDecimalItem.class))
+                .thenReturn(client.table(TABLE, DynamoDBBigDecimalItem.TABLE_SCHEMA_NEW));
+        when(service.getTable(DynamoDBStringItem.class))
+                .thenReturn(client.table(TABLE, DynamoDBStringItem.TABLE_SCHEMA_NEW));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private DynamoDBBatchWriter createWriter() {
+        return new DynamoDBBatchWriter(service, scheduler);
+    }
+
+    private static DynamoDBItem<?> number(String name, ZonedDateTime time) {
+        return new DynamoDBBigDecimalItem(name, BigDecimal.ONE, time, null);
+    }
+
+    @Test
+    public void testBatchesAreLimitedTo25Items() {
+        BlockingDeque<DynamoDBItem<?>> queue = new LinkedBlockingDeque<>();
+        LongAdder dropped = new LongAdder();
+        for (int i = 0; i < 60; i++) {
+            queue.add(new DynamoDBBigDecimalItem("item" + i, BigDecimal.ONE, TIME, null));
+        }
+
+        assertEquals(25, DynamoDBBatchWriter.takeBatch(queue, dropped).size());
+        assertEquals(25, DynamoDBBatchWriter.takeBatch(queue, dropped).size());
+        assertEquals(10, DynamoDBBatchWriter.takeBatch(queue, dropped).size());
+        assertTrue(DynamoDBBatchWriter.takeBatch(queue, dropped).isEmpty());
+    }
+
+    @Test
+    public void testItemsWithSameKeyAreWrittenInDifferentBatches() {
+        BlockingDeque<DynamoDBItem<?>> queue = new LinkedBlockingDeque<>();
+        LongAdder dropped = new LongAdder();
+        DynamoDBItem<?> first = new DynamoDBBigDecimalItem("item", BigDecimal.ONE, TIME, null);
+        // numbers and strings share a table with the new schema
+        DynamoDBItem<?> second = new DynamoDBStringItem("item", "ON", TIME, null);
+        DynamoDBItem<?> other = new DynamoDBStringItem("item", "OFF", TIME.plusSeconds(1), null);
+        queue.addAll(List.of(first, second, other));
+
+        assertEquals(List.of(first, other), DynamoDBBatchWriter.takeBatch(queue, dropped));
+        assertEquals(List.of(second), DynamoDBBatchWriter.takeBatch(queue, dropped));
+        assertTrue(queue.isEmpty());
+        assertEquals(0, dropped.sum());
+    }
+
+    @Test
+    public void testDuplicatesAreCountedIfQueueIsFull() {
+        // the queue was filled up by concurrent writers while the batch was taken
+        BlockingDeque<DynamoDBItem<?>> queue = new LinkedBlockingDeque<>() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public boolean offerFirst(DynamoDBItem<?> dto) {
+                return false;
+            }
+        };
+        LongAdder dropped = new LongAdder();
+        DynamoDBItem<?> first = number("item", TIME);
+        queue.addAll(List.of(first, number("item", TIME), number("item", TIME)));
+
+        assertEquals(List.of(first), DynamoDBBatchWriter.takeBatch(queue, dropped));
+        assertEquals(2, dropped.sum());
+    }
+
+    @Test
+    public void testUnprocessedItemsAreRetried() {
+        List<BatchWriteItemRequest> requests = new CopyOnWriteArrayList<>();
+        when(lowLevelClient.batchWriteItem(any(BatchWriteItemRequest.class))).thenAnswer(invocation -> {
+            BatchWriteItemRequest request = invocation.getArgument(0);
+            requests.add(request);
+            BatchWriteItemResponse.Builder response = BatchWriteItemResponse.builder();
+            if (requests.size() == 1) {
+                // only the first item was processed
+                List<WriteRequest> writes = request.requestItems().get(TABLE);
+                response.unprocessedItems(Map.of(TABLE, writes.subList(1, writes.size())));
+            }
+            return CompletableFuture.completedFuture(response.build());
+        });
+        DynamoDBBatchWriter writer = createWriter();
+        writer.add(number("item1", TIME));
+        writer.add(number("item2", TIME));
+        writer.add(number("item3", TIME));
+
+        writer.close();
+
+        assertEquals(2, requests.size());
+        assertEquals(3, requests.get(0).requestItems().get(TABLE).size());
+        assertEquals(2, requests.get(1).requestItems().get(TABLE).size());
+        assertEquals(2, writer.getThrottledWrites());
+        assertEquals(0, writer.getDroppedItems());
+    }
+
+    @Test
+    public void testItemsAreWrittenWithPutItemIfTableDoesNotExist() {
+        when(lowLevelClient.batchWriteItem(any(BatchWriteItemRequest.class))).thenReturn(
+                CompletableFuture.failedFuture(ResourceNotFoundException.builder().message("no table").build()));
+        when(lowLevelClient.putItem(any(PutItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(PutItemResponse.builder().build()));
+        DynamoDBBatchWriter writer = createWriter();
+        writer.add(number("item1", TIME));
+        writer.add(new DynamoDBStringItem("item2", "ON", TIME, null));
+
+        writer.close();
+
+        verify(lowLevelClient).batchWriteItem(any(BatchWriteItemRequest.class));
+        verify(lowLevelClient, times(2)).putItem(any(PutItemRequest.class));
+        assertEquals(0, writer.getThrottledWrites());
+        assertEquals(0, writer.getDroppedItems());
+    }
+
+    @Test
+    public void testCloseWritesBufferedItemsAndWaitsForThem() {
+        CompletableFuture<BatchWriteItemResponse> response = new CompletableFuture<>();
+        when(lowLevelClient.batchWriteItem(any(BatchWriteItemRequest.class))).thenReturn(response);
+        DynamoDBBatchWriter writer = createWriter();
+        writer.add(number("item1", TIME));
+        writer.add(number("item2", TIME));
+        // less than a batch is buffered for the linger time
+        verify(lowLevelClient, never()).batchWriteItem(any(BatchWriteItemRequest.class));
+
+        scheduler.schedule(() -> response.complete(BatchWriteItemResponse.builder().build()), 200,
+                TimeUnit.MILLISECONDS);
+        writer.close();
+
+        assertTrue(response.isDone());
+        ArgumentCaptor<BatchWriteItemRequest> request = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(lowLevelClient).batchWriteItem(request.capture());
+        assertEquals(2, request.getValue().requestItems().get(TABLE).size());
+        assertEquals(0, writer.getDroppedItems());
+    }
+
+    @Test
+    public void testBackoffIsBounded() {
+        for (int attempt = 1; attempt <= DynamoDBBatchWriter.MAX_ATTEMPTS; attempt++) {
+            long cap = Math.min(20_000, 50L << attempt);
+            for (int i = 0; i < 100; i++) {
+                long backoff = DynamoDBBatchWriter.backoff(attempt);
+                assertTrue(backoff >= 0 && backoff <= cap, "backoff " + backoff + " exceeds " + cap);
+            }
+        }
+    }
+}
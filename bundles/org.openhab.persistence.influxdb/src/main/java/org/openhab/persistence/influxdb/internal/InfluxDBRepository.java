@@ -15,6 +15,7 @@ package org.openhab.persistence.influxdb.internal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.core.persistence.FilterCriteria;
@@ -62,11 +63,13 @@ public interface InfluxDBRepository {
     /**
      * Executes Flux query
      *
+     * The rows are streamed from the server while the result is consumed, only a bounded number of rows is buffered.
+     * The stream should be closed if it is not consumed to the end.
+     *
      * @param filter the query filter
      * @return Query results
-     * 
      */
-    List<InfluxRow> query(FilterCriteria filter, String retentionPolicy);
+    Stream<InfluxRow> query(FilterCriteria filter, String retentionPolicy);
 
     /**
      * Write points to database
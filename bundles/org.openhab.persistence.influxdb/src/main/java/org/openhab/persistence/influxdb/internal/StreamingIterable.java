@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.lang.ref.Cleaner;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link StreamingIterable} hands the stream of a query that is already running to the caller of
+ * {@link org.openhab.core.persistence.QueryablePersistenceService#query}.
+ *
+ * The result can be iterated once, the query is not executed again. The stream is closed when the iteration reaches
+ * its end, or when the result becomes unreachable before, e.g. because the caller stopped iterating early. Closing the
+ * stream cancels the query, so the thread of the InfluxDB client is not left waiting for the rows to be taken.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class StreamingIterable<T> implements Iterable<T> {
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Stream<T> stream;
+    private final Cleaner.Cleanable cleanable;
+    private final AtomicBoolean iterated = new AtomicBoolean();
+
+    public StreamingIterable(Stream<T> stream) {
+        this.stream = stream;
+        // the clean action must not reference this object, otherwise it never becomes unreachable
+        this.cleanable = CLEANER.register(this, stream::close);
+    }
+
+    /**
+     * Close the stream, e.g. if the result is not iterated to the end
+     */
+    public void close() {
+        cleanable.clean();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        if (!iterated.compareAndSet(false, true)) {
+            throw new IllegalStateException("The query result can only be iterated once");
+        }
+        Iterator<T> rows = stream.iterator();
+        // the iterator references this object, so the stream stays open while the iterator is in use
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                boolean hasNext = rows.hasNext();
+                if (!hasNext) {
+                    close();
+                }
+                return hasNext;
+            }
+
+            @Override
+            public T next() {
+                return rows.next();
+            }
+        };
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.persistence.influxdb.internal.InfluxDBRepository.InfluxRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link StreamingQueryResult} hands the rows of a query over from the thread of the InfluxDB client, which
+ * receives them with a callback, to the thread that iterates the query result.
+ *
+ * At most capacity rows are buffered, the client thread waits in {@link #add(InfluxRow)} until the iterating thread
+ * has taken rows. So the memory needed by a query does not depend on the number of rows it returns. If the iterating
+ * thread stops taking rows for longer than the timeout, {@link #add(InfluxRow)} returns false and the client must
+ * cancel the query. The rows received so far are still iterated, and the truncation of the result is logged.
+ * A result that is not iterated to the end must be closed, so the client thread is released right away.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class StreamingQueryResult implements Iterator<InfluxRow> {
+    public static final int DEFAULT_CAPACITY = 10_000;
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(1);
+    private static final InfluxRow END = new InfluxRow(Instant.EPOCH, "", "");
+
+    private final Logger logger = LoggerFactory.getLogger(StreamingQueryResult.class);
+
+    private final BlockingQueue<InfluxRow> rows = new LinkedBlockingQueue<>();
+    private final Semaphore freeCapacity;
+    private final long timeoutNanos;
+    private volatile boolean closed = false;
+    // set by the client thread if it stopped adding rows because the iterating thread was too slow
+    private volatile boolean truncated = false;
+    // only accessed by the iterating thread
+    private @Nullable InfluxRow next;
+    private boolean finished = false;
+
+    public StreamingQueryResult() {
+        this(DEFAULT_CAPACITY, DEFAULT_TIMEOUT);
+    }
+
+    public StreamingQueryResult(int capacity, Duration timeout) {
+        this.freeCapacity = new Semaphore(capacity);
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    /**
+     * Add a row, waiting for free capacity if necessary. Called by the client thread.
+     *
+     * @param row the row
+     * @return false if the row was not added because the result is not iterated anymore, the query must be cancelled
+     */
+    public boolean add(InfluxRow row) {
+        if (closed) {
+            return false;
+        }
+        try {
+            if (freeCapacity.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                if (closed) {
+                    return false;
+                }
+                rows.add(row);
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // keep the rows received so far, the iterating thread reports the truncation after them
+        truncated = true;
+        rows.add(END);
+        return false;
+    }
+
+    /**
+     * Mark the end of the result, after the last row or a failure of the query. Called by the client thread.
+     */
+    public void complete() {
+        rows.add(END);
+    }
+
+    /**
+     * Stop the iteration and release all buffered rows. A client thread waiting in {@link #add(InfluxRow)} is released
+     * and the next call of {@link #add(InfluxRow)} returns false.
+     */
+    public void close() {
+        closed = true;
+        rows.clear();
+        rows.add(END);
+        // release a client thread waiting for free capacity
+        freeCapacity.release();
+    }
+
+    /**
+     * Returns the rows as a sequential stream. Closing the stream closes this result.
+     */
+    public Stream<InfluxRow> stream() {
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                InfluxRow row = rows.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+                if (row == null) {
+                    logger.warn("No rows received from InfluxDB for {} s, the query result is truncated.",
+                            TimeUnit.NANOSECONDS.toSeconds(timeoutNanos));
+                    finished = true;
+                    close();
+                } else if (row == END) {
+                    if (truncated && !closed) {
+                        logger.warn("The query result was not read within {} s and is truncated.",
+                                TimeUnit.NANOSECONDS.toSeconds(timeoutNanos));
+                    }
+                    finished = true;
+                    close();
+                } else {
+                    freeCapacity.release();
+                    next = row;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                finished = true;
+                close();
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public InfluxRow next() {
+        InfluxRow row = next;
+        if (row == null && hasNext()) {
+            row = next;
+        }
+        if (row == null) {
+            throw new NoSuchElementException();
+        }
+        next = null;
+        return row;
+    }
+}
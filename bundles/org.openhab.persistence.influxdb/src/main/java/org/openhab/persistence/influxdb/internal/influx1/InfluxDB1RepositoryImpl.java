@@ -18,13 +18,14 @@ import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.FIELD_
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.TAG_ITEM_NAME;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -42,6 +43,7 @@ import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
+import org.openhab.persistence.influxdb.internal.StreamingQueryResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,6 +59,8 @@ import com.influxdb.exceptions.InfluxException;
  */
 @NonNullByDefault
 public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
+    private static final int QUERY_CHUNK_SIZE = 10_000;
+
     private final Logger logger = LoggerFactory.getLogger(InfluxDB1RepositoryImpl.class);
     private final InfluxDBConfiguration configuration;
     private final FilterCriteriaQueryCreator queryCreator;
@@ -163,26 +167,52 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
     }
 
     @Override
-    public List<InfluxRow> query(FilterCriteria filter, String retentionPolicy) {
+    public Stream<InfluxRow> query(FilterCriteria filter, String retentionPolicy) {
         try {
             final InfluxDB currentClient = client;
             if (currentClient != null) {
                 String query = queryCreator.createQuery(filter, retentionPolicy);
                 logger.trace("Query {}", query);
                 Query parsedQuery = new Query(query, configuration.getDatabaseName());
-                List<QueryResult.Result> results = currentClient.query(parsedQuery, TimeUnit.MILLISECONDS).getResults();
-                return convertClientResultToRepository(results);
+                StreamingQueryResult result = new StreamingQueryResult();
+                // the callbacks log the query string, the filter may be changed by the caller in the meantime
+                currentClient.query(parsedQuery, QUERY_CHUNK_SIZE, (cancellable, queryResult) -> {
+                    try {
+                        if (!convertClientResultToRepository(queryResult.getResults(), result::add)) {
+                            logger.debug("Cancelling query '{}', result is not consumed", query);
+                            cancellable.cancel();
+                        }
+                    } catch (IllegalStateException e) {
+                        logger.warn("Failed to execute query '{}': {}", query, e.getMessage());
+                        cancellable.cancel();
+                        result.complete();
+                    }
+                }, result::complete, e -> {
+                    logger.warn("Failed to execute query '{}': {}", query, e.getMessage());
+                    result.complete();
+                });
+                return result.stream();
             } else {
                 throw new InfluxException("API not present");
             }
         } catch (InfluxException | InfluxDBException e) {
             logger.warn("Failed to execute query '{}': {}", filter, e.getMessage());
-            return List.of();
+            return Stream.empty();
         }
     }
 
-    private List<InfluxRow> convertClientResultToRepository(List<QueryResult.Result> results) {
-        List<InfluxRow> rows = new ArrayList<>();
+    /**
+     * Convert a chunk of the query result
+     *
+     * @param results the chunk
+     * @param consumer receives the rows, returns false to stop the conversion
+     * @return false if the consumer stopped the conversion
+     */
+    private boolean convertClientResultToRepository(@Nullable List<QueryResult.Result> results,
+            Predicate<InfluxRow> consumer) {
+        if (results == null) {
+            return true;
+        }
         for (QueryResult.Result result : results) {
             List<QueryResult.Series> allSeries = result.getSeries();
             if (result.getError() != null) {
@@ -209,21 +239,32 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
                                 throw new IllegalStateException("missing column");
                             }
                             for (List<Object> valueObject : allValues) {
-                                Double rawTime = (Double) valueObject.get(timestampColumn);
-                                Instant time = Instant.ofEpochMilli(rawTime.longValue());
+                                Instant time = parseTime(valueObject.get(timestampColumn));
                                 Object value = valueObject.get(valueColumn);
                                 String itemName = itemNameColumn == -1 ? defaultItemName
                                         : Objects.requireNonNullElse((String) valueObject.get(itemNameColumn),
                                                 defaultItemName);
                                 logger.trace("adding historic item {}: time {} value {}", itemName, time, value);
-                                rows.add(new InfluxRow(time, itemName, value));
+                                if (!consumer.test(new InfluxRow(time, itemName, value))) {
+                                    return false;
+                                }
                             }
                         }
                     }
                 }
             }
         }
-        return rows;
+        return true;
+    }
+
+    /**
+     * Chunked queries can't request epoch timestamps, the time is returned in RFC3339 format then
+     */
+    private Instant parseTime(Object rawTime) {
+        if (rawTime instanceof Number number) {
+            return Instant.ofEpochMilli(number.longValue());
+        }
+        return Instant.parse(rawTime.toString());
     }
 
     @Override
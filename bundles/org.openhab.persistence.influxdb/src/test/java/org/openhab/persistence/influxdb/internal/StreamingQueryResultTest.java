@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.persistence.influxdb.internal.InfluxDBRepository.InfluxRow;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class StreamingQueryResultTest {
+    private static final int CAPACITY = 1000;
+
+    /**
+     * Streams a million rows and checks that the producer is never ahead of the consumer by more than the capacity,
+     * so the memory needed by a query does not depend on the number of rows.
+     */
+    @Test
+    public void millionRowsAreBuffered() throws Exception {
+        final int rowCount = 1_000_000;
+        StreamingQueryResult result = new StreamingQueryResult(CAPACITY, Duration.ofSeconds(10));
+        AtomicLong produced = new AtomicLong();
+        CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < rowCount; i++) {
+                produced.incrementAndGet();
+                if (!result.add(new InfluxRow(Instant.ofEpochMilli(i), "item", i))) {
+                    return;
+                }
+            }
+            result.complete();
+        });
+
+        long consumed = 0;
+        long maximumBuffered = 0;
+        while (result.hasNext()) {
+            InfluxRow row = result.next();
+            assertThat(row.value(), is((int) consumed));
+            consumed++;
+            maximumBuffered = Math.max(maximumBuffered, produced.get() - consumed);
+        }
+        producer.get(10, TimeUnit.SECONDS);
+
+        assertThat(consumed, is((long) rowCount));
+        assertThat(maximumBuffered, is(lessThanOrEqualTo(CAPACITY + 1L)));
+    }
+
+    @Test
+    public void closedStreamStopsProducer() throws Exception {
+        StreamingQueryResult result = new StreamingQueryResult(CAPACITY, Duration.ofSeconds(10));
+        CompletableFuture<Integer> producer = CompletableFuture.supplyAsync(() -> {
+            int i = 0;
+            while (result.add(new InfluxRow(Instant.ofEpochMilli(i), "item", i))) {
+                i++;
+            }
+            return i;
+        });
+
+        try (Stream<InfluxRow> stream = result.stream()) {
+            assertThat(stream.limit(10).count(), is(10L));
+        }
+
+        assertThat(producer.get(5, TimeUnit.SECONDS), is(lessThanOrEqualTo(CAPACITY + 10)));
+    }
+
+    @Test
+    public void slowConsumerStopsProducer() {
+        StreamingQueryResult result = new StreamingQueryResult(2, Duration.ofMillis(50));
+
+        assertThat(result.add(new InfluxRow(Instant.EPOCH, "item", 1)), is(true));
+        assertThat(result.add(new InfluxRow(Instant.EPOCH, "item", 2)), is(true));
+        assertThat(result.add(new InfluxRow(Instant.EPOCH, "item", 3)), is(false));
+        assertThat(result.add(new InfluxRow(Instant.EPOCH, "item", 4)), is(false));
+
+        // the rows received before the producer stopped are not dropped
+        assertThat(result.stream().map(InfluxRow::value).toList(), is(List.of(1, 2)));
+    }
+
+    @Test
+    public void closeReleasesWaitingProducer() throws Exception {
+        StreamingQueryResult result = new StreamingQueryResult(1, Duration.ofMinutes(1));
+        assertThat(result.add(new InfluxRow(Instant.EPOCH, "item", 1)), is(true));
+        CompletableFuture<Boolean> producer = CompletableFuture
+                .supplyAsync(() -> result.add(new InfluxRow(Instant.EPOCH, "item", 2)));
+
+        result.close();
+
+        assertThat(producer.get(5, TimeUnit.SECONDS), is(false));
+        assertThat(result.hasNext(), is(false));
+    }
+
+    @Test
+    public void iterableRunsQueryOnce() {
+        StreamingQueryResult result = new StreamingQueryResult();
+        result.add(new InfluxRow(Instant.EPOCH, "item", 1));
+        result.complete();
+        StreamingIterable<InfluxRow> iterable = new StreamingIterable<>(result.stream());
+
+        Iterator<InfluxRow> iterator = iterable.iterator();
+        assertThat(iterator.next().value(), is(1));
+        assertThat(iterator.hasNext(), is(false));
+        assertThrows(IllegalStateException.class, iterable::iterator);
+    }
+
+    @Test
+    public void closedIterableReleasesProducer() throws Exception {
+        StreamingQueryResult result = new StreamingQueryResult(1, Duration.ofMinutes(1));
+        StreamingIterable<InfluxRow> iterable = new StreamingIterable<>(result.stream());
+        CompletableFuture<Integer> producer = CompletableFuture.supplyAsync(() -> {
+            int i = 0;
+            while (result.add(new InfluxRow(Instant.ofEpochMilli(i), "item", i))) {
+                i++;
+            }
+            return i;
+        });
+
+        // the caller stops iterating early
+        assertThat(iterable.iterator().next().value(), is(0));
+        iterable.close();
+
+        assertThat(producer.get(5, TimeUnit.SECONDS), is(lessThanOrEqualTo(2)));
+    }
+
+    @Test
+    public void emptyResult() {
+        StreamingQueryResult result = new StreamingQueryResult();
+        result.complete();
+
+        assertThat(result.stream().count(), is(0L));
+    }
+}
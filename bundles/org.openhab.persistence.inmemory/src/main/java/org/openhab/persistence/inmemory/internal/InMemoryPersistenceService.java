@@ -14,11 +14,13 @@ package org.openhab.persistence.inmemory.internal;
 
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
@@ -83,12 +85,10 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         maxEntries = ConfigParser.valueAsOrElse(config.get(MAX_ENTRIES_CONFIG), Long.class, MAX_ENTRIES_DEFAULT);
 
         persistMap.values().forEach(persistItem -> {
-            Lock lock = persistItem.lock();
+            Lock lock = persistItem.lock;
             lock.lock();
             try {
-                while (persistItem.database().size() > maxEntries) {
-                    persistItem.database().pollFirst();
-                }
+                persistItem.trim(maxEntries);
             } finally {
                 lock.unlock();
             }
@@ -148,11 +148,17 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return false;
         }
 
-        Lock lock = persistItem.lock();
+        Lock lock = persistItem.lock;
         lock.lock();
         try {
-            List<PersistEntry> toRemove = persistItem.database().stream().filter(e -> applies(e, filter)).toList();
-            toRemove.forEach(persistItem.database()::remove);
+            NumericStateBuffer numericBuffer = persistItem.numericBuffer;
+            if (numericBuffer != null) {
+                numericBuffer.removeIf(i -> applies(
+                        new PersistEntry(numericBuffer.getTimestamp(i), numericBuffer.getState(i)), filter));
+            } else {
+                List<PersistEntry> toRemove = persistItem.database.stream().filter(e -> applies(e, filter)).toList();
+                toRemove.forEach(persistItem.database::remove);
+            }
         } finally {
             lock.unlock();
         }
@@ -171,16 +177,31 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return List.of();
         }
 
-        Lock lock = persistItem.lock();
-        lock.lock();
-
-        Comparator<PersistEntry> comparator = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING
-                ? Comparator.comparing(PersistEntry::timestamp)
-                : Comparator.comparing(PersistEntry::timestamp).reversed();
+        boolean ascending = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING;
+        ZonedDateTime beginDate = filter.getBeginDate();
+        ZonedDateTime endDate = filter.getEndDate();
 
+        Lock lock = persistItem.lock;
+        lock.lock();
         try {
-            return persistItem.database().stream().filter(e -> applies(e, filter)).sorted(comparator)
-                    .map(e -> toHistoricItem(itemName, e)).toList();
+            NumericStateBuffer numericBuffer = persistItem.numericBuffer;
+            if (numericBuffer != null) {
+                // the buffer is sorted, so the time range is found by binary search
+                int from = beginDate == null ? 0 : numericBuffer.indexOfFirstNotBefore(beginDate);
+                int to = endDate == null ? numericBuffer.size() : numericBuffer.indexAfterLastNotAfter(endDate);
+                List<HistoricItem> result = new ArrayList<>(Math.max(0, to - from));
+                for (int n = from; n < to; n++) {
+                    int i = ascending ? n : to - 1 - (n - from);
+                    PersistEntry entry = new PersistEntry(numericBuffer.getTimestamp(i), numericBuffer.getState(i));
+                    if (applies(entry, filter)) {
+                        result.add(toHistoricItem(itemName, entry));
+                    }
+                }
+                return result;
+            }
+            NavigableSet<PersistEntry> database = ascending ? persistItem.database
+                    : persistItem.database.descendingSet();
+            return database.stream().filter(e -> applies(e, filter)).map(e -> toHistoricItem(itemName, e)).toList();
         } finally {
             lock.unlock();
         }
@@ -193,13 +214,23 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     }
 
     private PersistenceItemInfo toItemInfo(Map.Entry<String, PersistItem> itemEntry) {
-        Lock lock = itemEntry.getValue().lock();
+        PersistItem persistItem = itemEntry.getValue();
+        Lock lock = persistItem.lock;
         lock.lock();
         try {
             String name = itemEntry.getKey();
-            Integer count = itemEntry.getValue().database().size();
-            Instant earliest = itemEntry.getValue().database().first().timestamp().toInstant();
-            Instant latest = itemEntry.getValue().database.last().timestamp.toInstant();
+            NumericStateBuffer numericBuffer = persistItem.numericBuffer;
+            Integer count = numericBuffer != null ? numericBuffer.size() : persistItem.database.size();
+            Instant earliest = null;
+            Instant latest = null;
+            if (count > 0) {
+                earliest = numericBuffer != null ? numericBuffer.getTimestamp(0).toInstant()
+                        : persistItem.database.first().timestamp().toInstant();
+                latest = numericBuffer != null ? numericBuffer.getTimestamp(count - 1).toInstant()
+                        : persistItem.database.last().timestamp().toInstant();
+            }
+            Instant finalEarliest = earliest;
+            Instant finalLatest = latest;
             return new PersistenceItemInfo() {
 
                 @Override
@@ -214,12 +245,12 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
 
                 @Override
                 public @Nullable Date getEarliest() {
-                    return Date.from(earliest);
+                    return finalEarliest != null ? Date.from(finalEarliest) : null;
                 }
 
                 @Override
                 public @Nullable Date getLatest() {
-                    return Date.from(latest);
+                    return finalLatest != null ? Date.from(finalLatest) : null;
                 }
             };
         } finally {
@@ -251,18 +282,12 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return;
         }
 
-        PersistItem persistItem = Objects.requireNonNull(persistMap.computeIfAbsent(itemName,
-                k -> new PersistItem(new TreeSet<>(Comparator.comparing(PersistEntry::timestamp)),
-                        new ReentrantLock())));
+        PersistItem persistItem = Objects.requireNonNull(persistMap.computeIfAbsent(itemName, k -> new PersistItem()));
 
-        Lock lock = persistItem.lock();
+        Lock lock = persistItem.lock;
         lock.lock();
         try {
-            persistItem.database().add(new PersistEntry(timestamp, state));
-
-            while (persistItem.database.size() > maxEntries) {
-                persistItem.database().pollFirst();
-            }
+            persistItem.add(timestamp, state, maxEntries);
         } finally {
             lock.unlock();
         }
@@ -316,6 +341,49 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     private record PersistEntry(ZonedDateTime timestamp, State state) {
     };
 
-    private record PersistItem(TreeSet<PersistEntry> database, Lock lock) {
-    };
+    /**
+     * The states of an item. As long as all states are numeric they are kept in a {@link NumericStateBuffer},
+     * otherwise the state objects are kept in a sorted set.
+     */
+    private static class PersistItem {
+        private final Lock lock = new ReentrantLock();
+        private final TreeSet<PersistEntry> database = new TreeSet<>(Comparator.comparing(PersistEntry::timestamp));
+        private @Nullable NumericStateBuffer numericBuffer;
+        private boolean numeric = true;
+
+        private void add(ZonedDateTime timestamp, State state, long maxEntries) {
+            if (numeric) {
+                NumericStateBuffer numericBuffer = this.numericBuffer;
+                if (numericBuffer == null) {
+                    numericBuffer = NumericStateBuffer.create(timestamp, state, maxEntries);
+                    if (numericBuffer != null) {
+                        this.numericBuffer = numericBuffer;
+                        return;
+                    }
+                } else if (numericBuffer.add(timestamp, state, maxEntries)) {
+                    return;
+                } else {
+                    // the state does not fit into the buffer, move all states to the sorted set
+                    for (int i = 0; i < numericBuffer.size(); i++) {
+                        database.add(new PersistEntry(numericBuffer.getTimestamp(i), numericBuffer.getState(i)));
+                    }
+                    this.numericBuffer = null;
+                }
+                numeric = false;
+            }
+            database.add(new PersistEntry(timestamp, state));
+            trim(maxEntries);
+        }
+
+        private void trim(long maxEntries) {
+            NumericStateBuffer numericBuffer = this.numericBuffer;
+            if (numericBuffer != null) {
+                numericBuffer.trim(maxEntries);
+            } else if (maxEntries > 0) {
+                while (database.size() > maxEntries) {
+                    database.pollFirst();
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,315 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.function.IntPredicate;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link NumericStateBuffer} stores the states of a numeric item as primitive timestamps and values in a ring
+ * buffer sorted by timestamp. All states must be of the same type (and unit) and in the same time zone, and their
+ * values must be representable as double without loss. States that do not fit are rejected, so the caller can fall
+ * back to storing the state objects.
+ *
+ * This class is not thread-safe.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class NumericStateBuffer {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private enum Kind {
+        DECIMAL,
+        PERCENT,
+        QUANTITY
+    }
+
+    private final Kind kind;
+    private final @Nullable Unit<?> unit;
+    private final ZoneId zone;
+
+    // timestamps in nanoseconds since epoch, oldest entry at index head
+    private long[] timestamps;
+    private double[] values;
+    private int head = 0;
+    private int size = 0;
+
+    private NumericStateBuffer(Kind kind, @Nullable Unit<?> unit, ZoneId zone, long maxEntries) {
+        this.kind = kind;
+        this.unit = unit;
+        this.zone = zone;
+        int capacity = maxEntries > 0 ? (int) Math.min(INITIAL_CAPACITY, maxEntries) : INITIAL_CAPACITY;
+        this.timestamps = new long[capacity];
+        this.values = new double[capacity];
+    }
+
+    /**
+     * Creates a buffer for the type of the given state.
+     *
+     * @return the buffer, or null if the state can not be stored in a buffer
+     */
+    static @Nullable NumericStateBuffer create(ZonedDateTime timestamp, State state, long maxEntries) {
+        Kind kind;
+        Unit<?> unit = null;
+        if (state instanceof QuantityType<?> quantityType) {
+            kind = Kind.QUANTITY;
+            unit = quantityType.getUnit();
+        } else if (state.getClass() == PercentType.class) {
+            kind = Kind.PERCENT;
+        } else if (state.getClass() == DecimalType.class) {
+            kind = Kind.DECIMAL;
+        } else {
+            return null;
+        }
+        NumericStateBuffer buffer = new NumericStateBuffer(kind, unit, timestamp.getZone(), maxEntries);
+        return buffer.add(timestamp, state, maxEntries) ? buffer : null;
+    }
+
+    /**
+     * Adds a state. A state with the timestamp of an already stored state is ignored. If the buffer holds
+     * {@code maxEntries} states, the oldest state is removed.
+     *
+     * @return false if the state can not be stored in this buffer
+     */
+    boolean add(ZonedDateTime timestamp, State state, long maxEntries) {
+        if (!timestamp.getZone().equals(zone)) {
+            return false;
+        }
+        BigDecimal value = toBigDecimal(state);
+        if (value == null) {
+            return false;
+        }
+        double doubleValue = value.doubleValue();
+        if (Double.isInfinite(doubleValue) || BigDecimal.valueOf(doubleValue).compareTo(value) != 0) {
+            return false;
+        }
+        long nanos;
+        try {
+            nanos = toNanos(timestamp.toInstant());
+        } catch (ArithmeticException e) {
+            return false;
+        }
+
+        int index = upperBound(nanos);
+        if (index > 0 && timestamps[physical(index - 1)] == nanos) {
+            // same behavior as a sorted set: keep the existing entry
+            return true;
+        }
+        if (maxEntries > 0 && size >= maxEntries) {
+            if (index == 0) {
+                // older than all entries, it would be removed immediately
+                return true;
+            }
+            removeOldest();
+            index--;
+        }
+        if (size == timestamps.length) {
+            grow(maxEntries);
+        }
+        if (index == size) {
+            int slot = physical(size);
+            timestamps[slot] = nanos;
+            values[slot] = doubleValue;
+            size++;
+        } else {
+            insert(index, nanos, doubleValue);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the oldest states until at most {@code maxEntries} states are left.
+     */
+    void trim(long maxEntries) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        while (size > maxEntries) {
+            removeOldest();
+        }
+    }
+
+    /**
+     * Removes all states whose index matches the predicate.
+     */
+    void removeIf(IntPredicate predicate) {
+        long[] newTimestamps = new long[timestamps.length];
+        double[] newValues = new double[values.length];
+        int newSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (!predicate.test(i)) {
+                int slot = physical(i);
+                newTimestamps[newSize] = timestamps[slot];
+                newValues[newSize] = values[slot];
+                newSize++;
+            }
+        }
+        timestamps = newTimestamps;
+        values = newValues;
+        head = 0;
+        size = newSize;
+    }
+
+    int size() {
+        return size;
+    }
+
+    ZonedDateTime getTimestamp(int index) {
+        long nanos = timestamps[physical(index)];
+        return Instant.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND), Math.floorMod(nanos, NANOS_PER_SECOND))
+                .atZone(zone);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    State getState(int index) {
+        BigDecimal value = BigDecimal.valueOf(values[physical(index)]).stripTrailingZeros();
+        switch (kind) {
+            case PERCENT:
+                return new PercentType(value);
+            case QUANTITY:
+                return new QuantityType(value, (Unit) unit);
+            default:
+                return new DecimalType(value);
+        }
+    }
+
+    /**
+     * Returns the index of the first state not before the given date, or {@link #size()} if there is none.
+     */
+    int indexOfFirstNotBefore(ZonedDateTime date) {
+        try {
+            return lowerBound(toNanos(date.toInstant()));
+        } catch (ArithmeticException e) {
+            return date.toInstant().isBefore(Instant.EPOCH) ? 0 : size;
+        }
+    }
+
+    /**
+     * Returns the index after the last state not after the given date, or 0 if there is none.
+     */
+    int indexAfterLastNotAfter(ZonedDateTime date) {
+        try {
+            return upperBound(toNanos(date.toInstant()));
+        } catch (ArithmeticException e) {
+            return date.toInstant().isBefore(Instant.EPOCH) ? 0 : size;
+        }
+    }
+
+    private @Nullable BigDecimal toBigDecimal(State state) {
+        switch (kind) {
+            case QUANTITY:
+                return state instanceof QuantityType<?> quantityType && quantityType.getUnit().equals(unit)
+                        ? quantityType.toBigDecimal()
+                        : null;
+            case PERCENT:
+                return state.getClass() == PercentType.class ? ((PercentType) state).toBigDecimal() : null;
+            default:
+                return state.getClass() == DecimalType.class ? ((DecimalType) state).toBigDecimal() : null;
+        }
+    }
+
+    private static long toNanos(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+    }
+
+    private int physical(int index) {
+        int slot = head + index;
+        return slot < timestamps.length ? slot : slot - timestamps.length;
+    }
+
+    private void removeOldest() {
+        head = physical(1);
+        size--;
+    }
+
+    // first index with a timestamp >= nanos
+    private int lowerBound(long nanos) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[physical(mid)] < nanos) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // first index with a timestamp > nanos
+    private int upperBound(long nanos) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[physical(mid)] <= nanos) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void grow(long maxEntries) {
+        int capacity = timestamps.length * 2;
+        if (maxEntries > 0) {
+            capacity = (int) Math.min(capacity, maxEntries);
+        }
+        long[] newTimestamps = new long[capacity];
+        double[] newValues = new double[capacity];
+        for (int i = 0; i < size; i++) {
+            int slot = physical(i);
+            newTimestamps[i] = timestamps[slot];
+            newValues[i] = values[slot];
+        }
+        timestamps = newTimestamps;
+        values = newValues;
+        head = 0;
+    }
+
+    // out-of-order insert, shifts the newer entries by one
+    private void insert(int index, long nanos, double value) {
+        for (int i = size; i > index; i--) {
+            int to = physical(i);
+            int from = physical(i - 1);
+            timestamps[to] = timestamps[from];
+            values[to] = values[from];
+        }
+        int slot = physical(index);
+        timestamps[slot] = nanos;
+        values[slot] = value;
+        size++;
+    }
+
+    @Override
+    public String toString() {
+        return "NumericStateBuffer [kind=" + kind + ", unit=" + unit + ", zone=" + zone + ", size=" + size
+                + ", capacity=" + timestamps.length + "]";
+    }
+}
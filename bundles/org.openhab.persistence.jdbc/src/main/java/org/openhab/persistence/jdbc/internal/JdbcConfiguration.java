@@ -65,6 +65,11 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    private int batchSize = 1;
+    private int batchInterval = 1000;
+    private int writeBufferSize = 10000;
+    private int queryPoolSize = 0;
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -189,6 +194,30 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String bs = (String) configuration.get("batchSize");
+        if (bs != null && !bs.isBlank() && isNumericPattern.matcher(bs).matches()) {
+            batchSize = Math.max(1, Integer.parseInt(bs));
+            logger.debug("JDBC::updateConfig: batchSize={}", batchSize);
+        }
+
+        String bi = (String) configuration.get("batchInterval");
+        if (bi != null && !bi.isBlank() && isNumericPattern.matcher(bi).matches()) {
+            batchInterval = Math.max(10, Integer.parseInt(bi));
+            logger.debug("JDBC::updateConfig: batchInterval={}", batchInterval);
+        }
+
+        String wb = (String) configuration.get("writeBufferSize");
+        if (wb != null && !wb.isBlank() && isNumericPattern.matcher(wb).matches()) {
+            writeBufferSize = Math.max(batchSize, Integer.parseInt(wb));
+            logger.debug("JDBC::updateConfig: writeBufferSize={}", writeBufferSize);
+        }
+
+        String qp = (String) configuration.get("queryPoolSize");
+        if (qp != null && !qp.isBlank() && isNumericPattern.matcher(qp).matches()) {
+            queryPoolSize = Integer.parseInt(qp);
+            logger.debug("JDBC::updateConfig: queryPoolSize={}", queryPoolSize);
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -398,6 +427,31 @@ public class JdbcConfiguration {
         return tableIdDigitCount;
     }
 
+    /**
+     * Checks if states are collected in the write buffer and stored in batches.
+     *
+     * @return true if batchSize is greater than one.
+     */
+    public boolean isBatchingEnabled() {
+        return batchSize > 1;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getBatchInterval() {
+        return batchInterval;
+    }
+
+    public int getWriteBufferSize() {
+        return writeBufferSize;
+    }
+
+    public int getQueryPoolSize() {
+        return queryPoolSize;
+    }
+
     public JdbcBaseDAO getDBDAO() {
         return dBDAO;
     }
@@ -19,7 +19,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -32,8 +34,10 @@ import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceItemInfo;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
+import org.openhab.persistence.jdbc.internal.dto.ItemValueVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcPersistenceItemInfo;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
@@ -51,6 +55,7 @@ import com.zaxxer.hikari.pool.HikariPool.PoolInitializationException;
 @NonNullByDefault
 public class JdbcMapper {
     private static final int MIGRATION_PERCENTAGE_THRESHOLD = 50;
+    private static final String QUERY_POOL_NAME = "query";
 
     private final Logger logger = LoggerFactory.getLogger(JdbcMapper.class);
     private final TimeZoneProvider timeZoneProvider;
@@ -59,7 +64,7 @@ public class JdbcMapper {
     protected int errCnt;
     protected boolean initialized = false;
     protected @NonNullByDefault({}) JdbcConfiguration conf;
-    protected final Map<String, String> itemNameToTableNameMap = new HashMap<>();
+    protected final Map<String, String> itemNameToTableNameMap = new ConcurrentHashMap<>();
     protected @NonNullByDefault({}) NamingStrategy namingStrategy;
     private long afterAccessMin = 10000;
     private long afterAccessMax = 0;
@@ -225,6 +230,15 @@ public class JdbcMapper {
         errCnt = 0;
     }
 
+    protected void storeItemValues(Item item, List<ItemValueVO> values) throws JdbcException {
+        logger.debug("JDBC::storeItemValues: item={} count={}", item, values.size());
+        String tableName = getTable(item);
+        long timerStart = System.currentTimeMillis();
+        conf.getDBDAO().doStoreItemValues(item, values, new ItemVO(tableName, null));
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+    }
+
     public long getRowCount(String tableName) throws JdbcSQLException {
         return conf.getDBDAO().doGetRowCount(tableName);
     }
@@ -242,6 +256,18 @@ public class JdbcMapper {
         return result;
     }
 
+    protected List<HistoricItem> getHistItemAggregateQuery(FilterCriteria filter, AggregationFunction function,
+            long bucketSeconds, int numberDecimalcount, String table, Item item) throws JdbcSQLException {
+        logger.debug("JDBC::getHistItemAggregateQuery function='{}' bucketSeconds='{}' table='{}' itemName='{}'",
+                function, bucketSeconds, table, item.getName());
+        long timerStart = System.currentTimeMillis();
+        List<HistoricItem> result = conf.getDBDAO().doGetHistItemAggregateQuery(item, filter, function, bucketSeconds,
+                numberDecimalcount, table, timeZoneProvider.getTimeZone());
+        logTime("getHistItemAggregateQuery", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+        return result;
+    }
+
     protected void deleteItemValues(FilterCriteria filter, String table) throws JdbcSQLException {
         logger.debug("JDBC::deleteItemValues filter='{}' table='{}' itemName='{}'", true, table, filter.getItemName());
         long timerStart = System.currentTimeMillis();
@@ -260,6 +286,7 @@ public class JdbcMapper {
             try {
                 Yank.setupDefaultConnectionPool(conf.getHikariConfiguration());
                 Yank.setThrowWrappedExceptions(true);
+                openQueryConnectionPool();
                 conf.setDbConnected(true);
                 return true;
             } catch (PoolInitializationException e) {
@@ -280,10 +307,33 @@ public class JdbcMapper {
         return true;
     }
 
+    /**
+     * Sets up a separate connection pool for queries, so that charts and rules querying data do not compete with
+     * storing states for connections.
+     */
+    private void openQueryConnectionPool() {
+        int queryPoolSize = conf.getQueryPoolSize();
+        if (queryPoolSize <= 0) {
+            conf.getDBDAO().setQueryPoolName(null);
+            return;
+        }
+        Properties hikariConfiguration = conf.getHikariConfiguration();
+        Properties queryPoolConfiguration = new Properties();
+        for (String key : hikariConfiguration.stringPropertyNames()) {
+            queryPoolConfiguration.setProperty(key, hikariConfiguration.getProperty(key));
+        }
+        queryPoolConfiguration.setProperty("maximumPoolSize", String.valueOf(queryPoolSize));
+        queryPoolConfiguration.setProperty("minimumIdle", "1");
+        logger.debug("JDBC::openConnection: setting up query connection pool with {} connections", queryPoolSize);
+        Yank.setupConnectionPool(QUERY_POOL_NAME, queryPoolConfiguration);
+        conf.getDBDAO().setQueryPoolName(QUERY_POOL_NAME);
+    }
+
     protected void closeConnection() {
         logger.debug("JDBC::closeConnection");
         // Closes all open connection pools
-        Yank.releaseDefaultConnectionPool();
+        conf.getDBDAO().setQueryPoolName(null);
+        Yank.releaseAllConnectionPools();
         conf.setDbConnected(false);
     }
 
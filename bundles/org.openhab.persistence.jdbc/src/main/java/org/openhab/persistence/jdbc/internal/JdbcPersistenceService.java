@@ -12,6 +12,7 @@
  */
 package org.openhab.persistence.jdbc.internal;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -44,7 +45,9 @@ import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
 import org.openhab.persistence.jdbc.internal.dto.Column;
+import org.openhab.persistence.jdbc.internal.dto.ItemValueVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
@@ -77,6 +80,8 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
 
+    private volatile @Nullable JdbcWriteBuffer writeBuffer;
+
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
@@ -121,6 +126,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
         // closeConnection();
+        stopWriteBuffer();
         initialized = false;
     }
 
@@ -137,24 +143,43 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public void store(Item item) {
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        enqueueStore(item, null, item.getState());
     }
 
     @Override
     public void store(Item item, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        enqueueStore(item, null, item.getState());
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state) {
-        scheduler.execute(() -> internalStore(item, date, state));
+        enqueueStore(item, date, state);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state, @Nullable String alias) {
         // alias is not supported
-        scheduler.execute(() -> internalStore(item, null, item.getState()));
+        enqueueStore(item, null, item.getState());
+    }
+
+    private void enqueueStore(Item item, @Nullable ZonedDateTime date, State state) {
+        JdbcWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer == null) {
+            scheduler.execute(() -> internalStore(item, date, state));
+            return;
+        }
+        // Do not store undefined/uninitialized data
+        if (state instanceof UnDefType) {
+            logger.debug("JDBC::store: ignore Item '{}' because it is UnDefType", item.getName());
+            return;
+        }
+        // The timestamp is taken now, as the state may be written to the database much later
+        if (!writeBuffer.add(new ItemValueVO(item, state, date != null ? date : ZonedDateTime.now()))
+                && writeBuffer.isClosed()) {
+            // the buffer has been closed by a configuration change since it was read
+            scheduler.execute(() -> internalStore(item, date, state));
+        }
     }
 
     private synchronized void internalStore(Item item, @Nullable ZonedDateTime date, State state) {
@@ -181,6 +206,56 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    /**
+     * Stores the states of an item in a single batch, or row by row if the batch fails.
+     *
+     * @return the number of states that could not be stored
+     * @throws JdbcException if the states could not be stored
+     */
+    private synchronized int internalStoreBatch(Item item, List<ItemValueVO> values) throws JdbcException {
+        if (!checkDBAccessability()) {
+            logger.warn(
+                    "JDBC::store: No connection to database. Cannot persist {} states for item '{}'! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
+                    values.size(), item, errCnt, conf.getErrReconnectThreshold());
+            throw new JdbcException("No connection to database");
+        }
+        long timerStart = System.currentTimeMillis();
+        int failed = 0;
+        try {
+            storeItemValues(item, values);
+        } catch (JdbcSQLException e) {
+            if (values.size() == 1) {
+                throw e;
+            }
+            // A single row (e.g. a duplicate key) must not discard the whole batch, so retry row by row
+            logger.debug("JDBC::store: Batch for item '{}' failed, storing {} states one by one: {}", item.getName(),
+                    values.size(), e.getMessage());
+            for (ItemValueVO value : values) {
+                try {
+                    storeItemValue(item, value.getState(), value.getTimestamp());
+                } catch (JdbcException e2) {
+                    failed++;
+                    logger.warn("JDBC::store: Unable to store state '{}' of item '{}': {}", value.getState(),
+                            item.getName(), e2.getMessage());
+                }
+            }
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("JDBC: Stored {} states of item '{}' in SQL database at {} in {} ms.", values.size() - failed,
+                    item.getName(), new Date(), System.currentTimeMillis() - timerStart);
+        }
+        return failed;
+    }
+
+    /**
+     * Get the write buffer used for batched inserts.
+     *
+     * @return the write buffer, or null if batching is disabled
+     */
+    public @Nullable JdbcWriteBuffer getWriteBuffer() {
+        return writeBuffer;
+    }
+
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
         return getItems();
@@ -196,6 +271,41 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
      */
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
+        return internalQuery(filter, null, 0);
+    }
+
+    /**
+     * Queries the {@link PersistenceService} for data with a given filter
+     * criteria, reduced by the database to about the given number of points.
+     * The time range of the filter is split into equally sized buckets and
+     * the values within each bucket are aggregated with the given function.
+     *
+     * @param filter
+     *            the filter to apply to the query, a begin date is required
+     * @param points
+     *            the maximum number of points to return
+     * @param function
+     *            the function aggregating the values within a bucket
+     * @return a time series of items
+     * @throws IllegalArgumentException if the filter has no begin date or points is not positive
+     */
+    public Iterable<HistoricItem> queryAggregated(FilterCriteria filter, int points, AggregationFunction function)
+            throws IllegalArgumentException {
+        ZonedDateTime beginDate = filter.getBeginDate();
+        if (beginDate == null) {
+            throw new IllegalArgumentException("Begin date must not be null");
+        }
+        if (points < 1) {
+            throw new IllegalArgumentException("Number of points must be positive");
+        }
+        ZonedDateTime endDate = filter.getEndDate();
+        long rangeSeconds = Duration.between(beginDate, endDate != null ? endDate : ZonedDateTime.now()).getSeconds();
+        long bucketSeconds = Math.max(1, (rangeSeconds + points - 1) / points);
+        return internalQuery(filter, function, bucketSeconds);
+    }
+
+    private Iterable<HistoricItem> internalQuery(FilterCriteria filter, @Nullable AggregationFunction function,
+            long bucketSeconds) {
         if (!checkDBAccessability()) {
             logger.warn("JDBC::query: database not connected, query aborted for item '{}'", filter.getItemName());
             return List.of();
@@ -239,7 +349,10 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
         try {
             long timerStart = System.currentTimeMillis();
-            List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
+            List<HistoricItem> items = function == null
+                    ? getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item)
+                    : getHistItemAggregateQuery(filter, function, bucketSeconds, conf.getNumberDecimalcount(), table,
+                            item);
             if (logger.isDebugEnabled()) {
                 logger.debug("JDBC: Query for item '{}' returned {} rows in {} ms", itemName, items.size(),
                         System.currentTimeMillis() - timerStart);
@@ -256,6 +369,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     public void updateConfig(Map<Object, Object> configuration) {
         logger.debug("JDBC::updateConfig");
 
+        stopWriteBuffer();
         conf = new JdbcConfiguration(configuration);
         if (conf.valid && checkDBAccessability()) {
             namingStrategy = new NamingStrategy(conf);
@@ -270,10 +384,25 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         } else {
             initialized = false;
         }
+        if (conf.isBatchingEnabled()) {
+            writeBuffer = new JdbcWriteBuffer(scheduler, this::internalStoreBatch, conf.getBatchSize(),
+                    conf.getBatchInterval(), conf.getWriteBufferSize());
+            logger.debug("JDBC::updateConfig: batching enabled, batchSize={} batchInterval={} writeBufferSize={}",
+                    conf.getBatchSize(), conf.getBatchInterval(), conf.getWriteBufferSize());
+        }
 
         logger.debug("JDBC::updateConfig: configuration complete for service={}.", getId());
     }
 
+    private void stopWriteBuffer() {
+        JdbcWriteBuffer writeBuffer = this.writeBuffer;
+        if (writeBuffer != null) {
+            this.writeBuffer = null;
+            // Drain remaining states before the configuration or connection goes away
+            writeBuffer.close();
+        }
+    }
+
     @Override
     public List<PersistenceStrategy> getDefaultStrategies() {
         return List.of(PersistenceStrategy.Globals.CHANGE);
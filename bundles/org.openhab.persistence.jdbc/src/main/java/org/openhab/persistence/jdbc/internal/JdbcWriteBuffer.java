@@ -0,0 +1,239 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.items.Item;
+import org.openhab.persistence.jdbc.internal.dto.ItemValueVO;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link JdbcWriteBuffer} collects item states in a bounded queue and writes them to the database in batches,
+ * grouped per item table. A flush is triggered when {@code batchSize} states are queued or when
+ * {@code batchInterval} milliseconds have passed, whichever comes first. When the queue is full, producers are
+ * blocked for up to {@link #OFFER_TIMEOUT_MS} before the state is dropped. Once the buffer is closed, no more states
+ * are accepted.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcWriteBuffer {
+
+    /**
+     * Sink the buffered states are flushed to, one call per item.
+     */
+    @FunctionalInterface
+    public interface Writer {
+        /**
+         * Writes the states of an item.
+         *
+         * @return the number of states that could not be written
+         * @throws JdbcException if the states could not be written, all of them are counted as failed
+         */
+        int write(Item item, List<ItemValueVO> values) throws JdbcException;
+    }
+
+    static final long OFFER_TIMEOUT_MS = 5000;
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcWriteBuffer.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final Writer writer;
+    private final int batchSize;
+    private final BlockingQueue<ItemValueVO> queue;
+    private final AtomicBoolean flushPending = new AtomicBoolean(false);
+    private @Nullable ScheduledFuture<?> flushJob;
+    // adding holds the read lock, so no state can be added after closing and the final flush
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private boolean closed = false;
+
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushTimeTotalMs = new AtomicLong();
+    private volatile long flushTimeLastMs = 0;
+    private volatile long flushTimeMaxMs = 0;
+
+    public JdbcWriteBuffer(ScheduledExecutorService scheduler, Writer writer, int batchSize, int batchInterval,
+            int capacity) {
+        this.scheduler = scheduler;
+        this.writer = writer;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.flushJob = scheduler.scheduleWithFixedDelay(this::flush, batchInterval, batchInterval,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds a state to the buffer, waiting for free space if the buffer is full.
+     *
+     * @param value the state to store
+     * @return false if the buffer is closed or if the state was dropped because the buffer stayed full
+     */
+    public boolean add(ItemValueVO value) {
+        boolean added;
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            added = queue.offer(value, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            added = false;
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        if (!added) {
+            droppedCount.incrementAndGet();
+            logger.warn("JDBC::store: write buffer is full, dropping state '{}' of item '{}'", value.getState(),
+                    value.getItem().getName());
+            return false;
+        }
+        queuedCount.incrementAndGet();
+        if (queue.size() >= batchSize && flushPending.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+        return true;
+    }
+
+    /**
+     * Writes all states currently in the buffer to the database.
+     */
+    public synchronized void flush() {
+        flushPending.set(false);
+        List<ItemValueVO> pending = new ArrayList<>(queue.size());
+        queue.drainTo(pending);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        long timerStart = System.currentTimeMillis();
+        Map<String, List<ItemValueVO>> valuesByItem = new LinkedHashMap<>();
+        for (ItemValueVO value : pending) {
+            valuesByItem.computeIfAbsent(value.getItem().getName(), k -> new ArrayList<>()).add(value);
+        }
+        for (List<ItemValueVO> values : valuesByItem.values()) {
+            Item item = values.get(values.size() - 1).getItem();
+            for (int from = 0; from < values.size(); from += batchSize) {
+                List<ItemValueVO> batch = values.subList(from, Math.min(values.size(), from + batchSize));
+                try {
+                    int failed = writer.write(item, batch);
+                    writtenCount.addAndGet(batch.size() - failed);
+                    failedCount.addAndGet(failed);
+                } catch (JdbcException e) {
+                    failedCount.addAndGet(batch.size());
+                    logger.warn("JDBC::store: Unable to store {} values of item '{}'", batch.size(), item.getName(),
+                            e);
+                } catch (RuntimeException e) {
+                    failedCount.addAndGet(batch.size());
+                    logger.warn("JDBC::store: Unexpected error storing {} values of item '{}'", batch.size(),
+                            item.getName(), e);
+                }
+            }
+        }
+
+        long flushTime = System.currentTimeMillis() - timerStart;
+        flushCount.incrementAndGet();
+        flushTimeTotalMs.addAndGet(flushTime);
+        flushTimeLastMs = flushTime;
+        if (flushTime > flushTimeMaxMs) {
+            flushTimeMaxMs = flushTime;
+        }
+        logger.debug("JDBC::flush: stored {} states of {} items in {} ms", pending.size(), valuesByItem.size(),
+                flushTime);
+    }
+
+    /**
+     * Stops the periodic flush and writes all remaining states to the database. States added afterwards are rejected.
+     */
+    public void close() {
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+            flush();
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+    }
+
+    public boolean isClosed() {
+        closeLock.readLock().lock();
+        try {
+            return closed;
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public long getFlushTimeLastMs() {
+        return flushTimeLastMs;
+    }
+
+    public long getFlushTimeMaxMs() {
+        return flushTimeMaxMs;
+    }
+
+    public long getFlushTimeAverageMs() {
+        long count = flushCount.get();
+        return count == 0 ? 0 : flushTimeTotalMs.get() / count;
+    }
+}
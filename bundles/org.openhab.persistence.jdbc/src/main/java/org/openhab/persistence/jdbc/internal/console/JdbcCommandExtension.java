@@ -12,6 +12,7 @@
  */
 package org.openhab.persistence.jdbc.internal.console;
 
+import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
@@ -28,12 +29,17 @@ import org.openhab.core.io.console.ConsoleCommandCompleter;
 import org.openhab.core.io.console.StringsCompleter;
 import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
 import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.PersistenceServiceRegistry;
 import org.openhab.persistence.jdbc.internal.ItemTableCheckEntry;
 import org.openhab.persistence.jdbc.internal.ItemTableCheckEntryStatus;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceService;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceServiceConstants;
+import org.openhab.persistence.jdbc.internal.JdbcWriteBuffer;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -51,6 +57,8 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
     private static final String CMD_SCHEMA = "schema";
     private static final String CMD_TABLES = "tables";
     private static final String CMD_RELOAD = "reload";
+    private static final String CMD_STATISTICS = "stats";
+    private static final String CMD_AGGREGATE = "aggregate";
     private static final String SUBCMD_SCHEMA_CHECK = "check";
     private static final String SUBCMD_SCHEMA_FIX = "fix";
     private static final String SUBCMD_TABLES_LIST = "list";
@@ -58,7 +66,7 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
     private static final String PARAMETER_ALL = "all";
     private static final String PARAMETER_FORCE = "force";
     private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
-            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD), false);
+            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD, CMD_STATISTICS, CMD_AGGREGATE), false);
     private static final StringsCompleter SUBCMD_SCHEMA_COMPLETER = new StringsCompleter(
             List.of(SUBCMD_SCHEMA_CHECK, SUBCMD_SCHEMA_FIX), false);
     private static final StringsCompleter SUBCMD_TABLES_COMPLETER = new StringsCompleter(
@@ -74,7 +82,7 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
 
     @Override
     public void execute(String[] args, Console console) {
-        if (args.length < 1 || args.length > 4) {
+        if (args.length < 1 || args.length > 5) {
             printUsage(console);
             return;
         }
@@ -135,6 +143,11 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         } else if (args.length == 1 && CMD_RELOAD.equalsIgnoreCase(args[0])) {
             reload(persistenceService, console);
             return true;
+        } else if (args.length == 1 && CMD_STATISTICS.equalsIgnoreCase(args[0])) {
+            printStatistics(persistenceService, console);
+            return true;
+        } else if (args.length > 3 && CMD_AGGREGATE.equalsIgnoreCase(args[0])) {
+            return aggregate(persistenceService, console, args);
         }
         return false;
     }
@@ -252,6 +265,48 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         console.println("Item index reloaded.");
     }
 
+    private void printStatistics(JdbcPersistenceService persistenceService, Console console) {
+        JdbcWriteBuffer writeBuffer = persistenceService.getWriteBuffer();
+        if (writeBuffer == null) {
+            console.println("Write buffer is disabled (batchSize is 1).");
+            return;
+        }
+        console.println("Write buffer");
+        console.println("  Queue depth:        " + writeBuffer.getQueueDepth());
+        console.println("  Queued states:      " + writeBuffer.getQueuedCount());
+        console.println("  Written states:     " + writeBuffer.getWrittenCount());
+        console.println("  Failed states:      " + writeBuffer.getFailedCount());
+        console.println("  Dropped states:     " + writeBuffer.getDroppedCount());
+        console.println("  Flushes:            " + writeBuffer.getFlushCount());
+        console.println("  Flush latency last: " + writeBuffer.getFlushTimeLastMs() + " ms");
+        console.println("  Flush latency avg:  " + writeBuffer.getFlushTimeAverageMs() + " ms");
+        console.println("  Flush latency max:  " + writeBuffer.getFlushTimeMaxMs() + " ms");
+    }
+
+    private boolean aggregate(JdbcPersistenceService persistenceService, Console console, String[] args) {
+        int hours;
+        int points;
+        AggregationFunction function;
+        try {
+            hours = Integer.parseInt(args[2]);
+            points = Integer.parseInt(args[3]);
+            function = args.length == 5 ? AggregationFunction.valueOf(args[4].toUpperCase()) : AggregationFunction.AVG;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (hours < 1 || points < 1) {
+            return false;
+        }
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(args[1]);
+        filter.setBeginDate(ZonedDateTime.now().minusHours(hours));
+        filter.setOrdering(Ordering.ASCENDING);
+        for (HistoricItem item : persistenceService.queryAggregated(filter, points, function)) {
+            console.println(item.getTimestamp() + "  " + item.getState());
+        }
+        return true;
+    }
+
     @Override
     public List<String> getUsages() {
         return Arrays.asList(buildCommandUsage(CMD_SCHEMA + " " + SUBCMD_SCHEMA_CHECK, "check schema integrity"),
@@ -261,7 +316,10 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
                 buildCommandUsage(
                         CMD_TABLES + " " + SUBCMD_TABLES_CLEAN + " [<itemName>]" + " [" + PARAMETER_FORCE + "]",
                         "clean inconsistent items (remove from index and drop tables)"),
-                buildCommandUsage(CMD_RELOAD, "reload item index/schema"));
+                buildCommandUsage(CMD_RELOAD, "reload item index/schema"),
+                buildCommandUsage(CMD_STATISTICS, "show write buffer statistics"),
+                buildCommandUsage(CMD_AGGREGATE + " <itemName> <hours> <points> [AVG|MIN|MAX|LAST]",
+                        "show the states of the last hours, aggregated by the database to the number of points"));
     }
 
     @Override
@@ -278,6 +336,12 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
                 return SUBCMD_TABLES_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
             } else if (CMD_SCHEMA.equalsIgnoreCase(args[0])) {
                 return SUBCMD_SCHEMA_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
+            } else if (CMD_AGGREGATE.equalsIgnoreCase(args[0])) {
+                JdbcPersistenceService persistenceService = getPersistenceService();
+                if (persistenceService != null) {
+                    return new StringsCompleter(persistenceService.getItemNames(), true).complete(args,
+                            cursorArgumentIndex, cursorPosition, candidates);
+                }
             }
         } else if (cursorArgumentIndex == 2) {
             if (CMD_TABLES.equalsIgnoreCase(args[0])) {
@@ -18,12 +18,16 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.measure.Quantity;
@@ -56,8 +60,10 @@ import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
+import org.openhab.persistence.jdbc.internal.dto.ItemValueVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
@@ -97,6 +103,21 @@ public class JdbcBaseDAO {
     protected String sqlAlterTableColumn = "ALTER TABLE #tableName# MODIFY COLUMN #columnName# #columnType#";
     protected String sqlInsertItemValue = "INSERT INTO #tableName# (time, value) VALUES( #tablePrimaryValue#, ? ) ON DUPLICATE KEY UPDATE VALUE= ?";
     protected String sqlGetRowCount = "SELECT COUNT(*) FROM #tableName#";
+    protected String sqlTimeParameter = "?";
+
+    // Query statements per table and filter shape in access order, the dates are bound as parameters. Paging is part
+    // of the statement, so the cache is bounded.
+    private static final int MAX_CACHED_QUERIES = 1000;
+    private final Map<String, String> histItemFilterQueryCache = Collections
+            .synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > MAX_CACHED_QUERIES;
+                }
+            });
+    private @Nullable String queryPoolName;
 
     /********
      * INIT *
@@ -331,6 +352,7 @@ public class JdbcBaseDAO {
     }
 
     public void doDropTable(String tableName) throws JdbcSQLException {
+        histItemFilterQueryCache.clear();
         String sql = StringUtilsExt.replaceArrayMerge(sqlDropTable, new String[] { "#tableName#" },
                 new String[] { tableName });
         logger.debug("JDBC::doDropTable sql={}", sql);
@@ -393,6 +415,7 @@ public class JdbcBaseDAO {
      *************/
     public void doUpdateItemTableNames(List<ItemVO> vol) throws JdbcSQLException {
         logger.debug("JDBC::doUpdateItemTableNames vol.size = {}", vol.size());
+        histItemFilterQueryCache.clear();
         for (ItemVO itemTable : vol) {
             String sql = updateItemTableNamesProvider(itemTable);
             try {
@@ -456,13 +479,47 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Stores multiple values of one item with a single JDBC batch. All values are stored with their own timestamp,
+     * the batch is sent using the same statement as {@link #doStoreItemValue(Item, State, ItemVO, ZonedDateTime)}.
+     * Drivers supporting it rewrite the batch into multi-row inserts.
+     *
+     * @param item the item the values belong to
+     * @param values the values to store
+     * @param vo the {@link ItemVO} holding the table name
+     * @throws JdbcSQLException on SQL errors
+     */
+    public void doStoreItemValues(Item item, List<ItemValueVO> values, ItemVO vo) throws JdbcSQLException {
+        if (values.isEmpty()) {
+            return;
+        }
+        String sql = null;
+        Object[][] params = new Object[values.size()][];
+        int i = 0;
+        for (ItemValueVO value : values) {
+            ItemVO storedVO = storeItemValueProvider(item, value.getState(), new ItemVO(vo.getTableName(), null));
+            if (sql == null) {
+                sql = storeItemValuesSqlProvider(storedVO);
+            }
+            java.sql.Timestamp timestamp = new java.sql.Timestamp(value.getTimestamp().toInstant().toEpochMilli());
+            params[i++] = storeItemValuesParamsProvider(timestamp, storedVO.getValue());
+        }
+        logger.debug("JDBC::doStoreItemValues sql={} rows={}", sql, params.length);
+        try {
+            Yank.executeBatch(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) throws JdbcSQLException {
-        String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
-        logger.debug("JDBC::doGetHistItemFilterQuery sql={}", sql);
+        String sql = getHistItemFilterQuery(filter, numberDecimalcount, table, name);
+        Object[] params = histItemFilterQueryParams(filter, timeZone);
+        logger.debug("JDBC::doGetHistItemFilterQuery sql={} params={}", sql, params);
         List<Object[]> m;
         try {
-            m = Yank.queryObjectArrays(sql, null);
+            m = queryObjectArrays(sql, params);
         } catch (YankSQLException e) {
             throw new JdbcSQLException(e);
         }
@@ -478,6 +535,33 @@ public class JdbcBaseDAO {
                 .collect(Collectors.<HistoricItem> toList());
     }
 
+    public List<HistoricItem> doGetHistItemAggregateQuery(Item item, FilterCriteria filter,
+            AggregationFunction function, long bucketSeconds, int numberDecimalcount, String table, ZoneId timeZone)
+            throws JdbcSQLException {
+        String sql = histItemAggregateQueryProvider(filter, function, bucketSeconds, numberDecimalcount, table,
+                getItemType(item));
+        Object[] params = histItemFilterQueryParams(filter, timeZone);
+        logger.debug("JDBC::doGetHistItemAggregateQuery sql={} params={}", sql, params);
+        List<Object[]> m;
+        try {
+            m = queryObjectArrays(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+        if (m == null) {
+            logger.debug("JDBC::doGetHistItemAggregateQuery Query failed. Returning an empty list.");
+            return List.of();
+        }
+        String itemName = item.getName();
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        // the average of an integer column is returned as decimal number
+        boolean percent = item instanceof DimmerItem || item instanceof RollershutterItem;
+        return m.stream().filter(o -> o[1] != null).map(o -> {
+            Object value = percent && o[1] instanceof Number number ? Math.round(number.floatValue()) : o[1];
+            return new JdbcHistoricItem(itemName, objectAsState(item, unit, value), objectAsZonedDateTime(o[0]));
+        }).collect(Collectors.<HistoricItem> toList());
+    }
+
     public void doDeleteItemValues(FilterCriteria filter, String table, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterDeleteProvider(filter, table, timeZone);
         logger.debug("JDBC::doDeleteItemValues sql={}", sql);
@@ -500,6 +584,34 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Runs a query on the query connection pool if one is configured, otherwise on the default pool.
+     */
+    protected List<Object[]> queryObjectArrays(String sql, Object @Nullable [] params) {
+        String poolName = queryPoolName;
+        return poolName == null ? Yank.queryObjectArrays(sql, params)
+                : Yank.queryObjectArrays(poolName, sql, params);
+    }
+
+    /**
+     * Returns the cached query statement for the table and the shape of the filter (dates set, ordering, paging),
+     * creating it on first use. The dates are bound as parameters, see
+     * {@link #histItemFilterQueryParams(FilterCriteria, ZoneId)}.
+     */
+    protected String getHistItemFilterQuery(FilterCriteria filter, int numberDecimalcount, String table,
+            String simpleName) {
+        String key = new StringBuilder(table).append('|').append(simpleName).append('|')
+                .append(filter.getBeginDate() != null).append('|').append(filter.getEndDate() != null).append('|')
+                .append(filter.getOrdering()).append('|').append(filter.getPageNumber()).append('|')
+                .append(filter.getPageSize()).append('|').append(numberDecimalcount).toString();
+        return histItemFilterQueryCache.computeIfAbsent(key,
+                k -> histItemFilterQueryProvider(filter, numberDecimalcount, table, simpleName, d -> sqlTimeParameter));
+    }
+
+    public void setQueryPoolName(@Nullable String queryPoolName) {
+        this.queryPoolName = queryPoolName;
+    }
+
     /*************
      * Providers *
      *************/
@@ -507,11 +619,22 @@ public class JdbcBaseDAO {
 
     protected String histItemFilterQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
             String simpleName, ZoneId timeZone) {
+        return histItemFilterQueryProvider(filter, numberDecimalcount, table, simpleName,
+                d -> "'" + JDBC_DATE_FORMAT.format(d.withZoneSameInstant(timeZone)) + "'");
+    }
+
+    /**
+     * Builds the query for a filter.
+     *
+     * @param timeValueProvider renders begin and end date of the filter, either as literal or as parameter
+     */
+    protected String histItemFilterQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
+            String simpleName, Function<ZonedDateTime, String> timeValueProvider) {
         logger.debug(
                 "JDBC::getHistItemFilterQueryProvider filter = {}, numberDecimalcount = {}, table = {}, simpleName = {}",
                 filter, numberDecimalcount, table, simpleName);
 
-        String filterString = resolveTimeFilter(filter, timeZone);
+        String filterString = resolveTimeFilter(filter, timeValueProvider);
         filterString += (filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY time ASC" : " ORDER BY time DESC";
         if (filter.getPageSize() != Integer.MAX_VALUE) {
             filterString += " LIMIT " + filter.getPageNumber() * filter.getPageSize() + "," + filter.getPageSize();
@@ -528,6 +651,81 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    /**
+     * Builds a query returning one row per time bucket of {@code bucketSeconds}. Numeric values are reduced with the
+     * given function, for other item types and for {@link AggregationFunction#LAST} the last row of each bucket is
+     * returned with its original timestamp. The dates of the filter are bound as parameters.
+     */
+    protected String histItemAggregateQueryProvider(FilterCriteria filter, AggregationFunction function,
+            long bucketSeconds, int numberDecimalcount, String table, String simpleName) {
+        logger.debug(
+                "JDBC::histItemAggregateQueryProvider filter = {}, function = {}, bucketSeconds = {}, table = {}, simpleName = {}",
+                filter, function, bucketSeconds, table, simpleName);
+
+        String filterString = resolveTimeFilter(filter, d -> sqlTimeParameter);
+        String orderString = (filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY time ASC"
+                : " ORDER BY time DESC";
+        String bucket = histItemBucketProvider(bucketSeconds);
+        String aggregate = isAggregatable(simpleName) ? histItemAggregateValueProvider(function) : null;
+        String queryString;
+        if (aggregate == null) {
+            queryString = "SELECT time, value FROM " + table + " WHERE time IN (SELECT MAX(time) FROM " + table
+                    + filterString + " GROUP BY " + bucket + ")" + orderString;
+        } else {
+            if ("NUMBERITEM".equalsIgnoreCase(simpleName) && numberDecimalcount > -1) {
+                aggregate = histItemRoundValueProvider(aggregate, numberDecimalcount);
+            }
+            queryString = "SELECT " + histItemBucketTimeProvider(bucket, function) + " AS time, " + aggregate
+                    + " FROM " + table + filterString + " GROUP BY " + bucket + orderString;
+        }
+        logger.debug("JDBC::query queryString = {}", queryString);
+        return queryString;
+    }
+
+    private boolean isAggregatable(String simpleName) {
+        return "NUMBERITEM".equalsIgnoreCase(simpleName) || "DIMMERITEM".equalsIgnoreCase(simpleName)
+                || "ROLLERSHUTTERITEM".equalsIgnoreCase(simpleName);
+    }
+
+    /**
+     * Provides the expression grouping the rows into time buckets, by default the integer division of the epoch
+     * seconds.
+     */
+    protected String histItemBucketProvider(long bucketSeconds) {
+        return "FLOOR(UNIX_TIMESTAMP(time) / " + bucketSeconds + ")";
+    }
+
+    /**
+     * Provides the timestamp returned for a bucket, by default the time of its first row. A dialect returning the last
+     * value of a bucket from {@link #histItemAggregateValueProvider(AggregationFunction)} must return the time of that
+     * row here.
+     */
+    protected String histItemBucketTimeProvider(String bucket, AggregationFunction function) {
+        return "MIN(time)";
+    }
+
+    /**
+     * Provides the aggregate expression for the value column.
+     *
+     * @return the expression, or null if the last row of each bucket should be selected instead
+     */
+    protected @Nullable String histItemAggregateValueProvider(AggregationFunction function) {
+        switch (function) {
+            case AVG:
+                return "AVG(value)";
+            case MIN:
+                return "MIN(value)";
+            case MAX:
+                return "MAX(value)";
+            default:
+                return null;
+        }
+    }
+
+    protected String histItemRoundValueProvider(String value, int numberDecimalcount) {
+        return "ROUND(" + value + "," + numberDecimalcount + ")";
+    }
+
     protected String histItemFilterDeleteProvider(FilterCriteria filter, String table, ZoneId timeZone) {
         logger.debug("JDBC::histItemFilterDeleteProvider filter = {}, table = {}", filter, table);
 
@@ -539,20 +737,57 @@ public class JdbcBaseDAO {
     }
 
     protected String resolveTimeFilter(FilterCriteria filter, ZoneId timeZone) {
+        return resolveTimeFilter(filter, d -> "'" + JDBC_DATE_FORMAT.format(d.withZoneSameInstant(timeZone)) + "'");
+    }
+
+    protected String resolveTimeFilter(FilterCriteria filter, Function<ZonedDateTime, String> timeValueProvider) {
         String filterString = "";
         ZonedDateTime beginDate = filter.getBeginDate();
         if (beginDate != null) {
             filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME>='" + JDBC_DATE_FORMAT.format(beginDate.withZoneSameInstant(timeZone)) + "'";
+            filterString += " TIME>=" + timeValueProvider.apply(beginDate);
         }
         ZonedDateTime endDate = filter.getEndDate();
         if (endDate != null) {
             filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME<='" + JDBC_DATE_FORMAT.format(endDate.withZoneSameInstant(timeZone)) + "'";
+            filterString += " TIME<=" + timeValueProvider.apply(endDate);
         }
         return filterString;
     }
 
+    /**
+     * Provides the parameters for a query created with {@link #getHistItemFilterQuery}, in the order they appear in
+     * the time filter.
+     */
+    protected Object[] histItemFilterQueryParams(FilterCriteria filter, ZoneId timeZone) {
+        List<Object> params = new ArrayList<>(2);
+        ZonedDateTime beginDate = filter.getBeginDate();
+        if (beginDate != null) {
+            params.add(JDBC_DATE_FORMAT.format(beginDate.withZoneSameInstant(timeZone)));
+        }
+        ZonedDateTime endDate = filter.getEndDate();
+        if (endDate != null) {
+            params.add(JDBC_DATE_FORMAT.format(endDate.withZoneSameInstant(timeZone)));
+        }
+        return params.toArray();
+    }
+
+    /**
+     * Provides the statement used for batched inserts, i.e. {@link #sqlInsertItemValue} with a parameter for the
+     * time column.
+     */
+    protected String storeItemValuesSqlProvider(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" }, new String[] { storedVO.getTableName(), "?" });
+    }
+
+    /**
+     * Provides the parameters of one row for the statement returned by {@link #storeItemValuesSqlProvider(ItemVO)}.
+     */
+    protected Object[] storeItemValuesParamsProvider(java.sql.Timestamp timestamp, Object value) {
+        return new Object[] { timestamp, value, value };
+    }
+
     private String updateItemTableNamesProvider(ItemVO itemTable) {
         String queryString = "ALTER TABLE " + itemTable.getTableName() + " RENAME TO " + itemTable.getNewTableName();
         logger.debug("JDBC::query queryString = {}", queryString);
@@ -70,6 +70,8 @@ public class JdbcMariadbDAO extends JdbcBaseDAO {
         databaseProps.setProperty("dataSource.prepStmtCacheSqlLimit", "2048");
         databaseProps.setProperty("dataSource.jdbcCompliantTruncation", "false");// jdbc standard max varchar max length
         // of 21845
+        // Send batched inserts as bulk statements
+        databaseProps.setProperty("dataSource.useBulkStmts", "true");
 
         // Properties for HikariCP
         // Use driverClassName
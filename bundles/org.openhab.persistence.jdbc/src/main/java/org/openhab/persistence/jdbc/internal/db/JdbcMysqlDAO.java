@@ -73,6 +73,8 @@ public class JdbcMysqlDAO extends JdbcBaseDAO {
         databaseProps.setProperty("dataSource.prepStmtCacheSqlLimit", "2048");
         databaseProps.setProperty("dataSource.jdbcCompliantTruncation", "false");// jdbc standard max varchar max length
                                                                                  // of 21845
+        // Let the driver rewrite batched inserts into multi-row VALUES statements
+        databaseProps.setProperty("dataSource.rewriteBatchedStatements", "true");
 
         // Properties for HikariCP
         // Use driverClassName
@@ -12,9 +12,10 @@
  */
 package org.openhab.persistence.jdbc.internal.db;
 
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.knowm.yank.Yank;
@@ -23,6 +24,7 @@ import org.openhab.core.items.Item;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
@@ -44,6 +46,8 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
     private static final String DRIVER_CLASS_NAME = org.postgresql.Driver.class.getName();
     @SuppressWarnings("unused")
     private static final String DATA_SOURCE_CLASS_NAME = org.postgresql.ds.PGSimpleDataSource.class.getName();
+    private static final Map<Long, String> DATE_TRUNC_UNITS = Map.of(1L, "second", 60L, "minute", 3600L, "hour",
+            86400L, "day", 604800L, "week");
 
     private final Logger logger = LoggerFactory.getLogger(JdbcPostgresqlDAO.class);
 
@@ -79,6 +83,7 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
         // existing value). The version check and query change is performed at initAfterFirstDbConnection()
         sqlInsertItemValue = "INSERT INTO #tableName# (TIME, VALUE) VALUES( #tablePrimaryValue#, CAST( ? as #dbType#) )";
         sqlAlterTableColumn = "ALTER TABLE #tableName# ALTER COLUMN #columnName# TYPE #columnType#";
+        sqlTimeParameter = "CAST( ? AS TIMESTAMP)";
     }
 
     @Override
@@ -127,6 +132,8 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
         // databaseProps.setProperty("dataSource.cachePrepStmts", "true");
         // databaseProps.setProperty("dataSource.prepStmtCacheSize", "250");
         // databaseProps.setProperty("dataSource.prepStmtCacheSqlLimit", "2048");
+        // Let the driver rewrite batched inserts into multi-row VALUES statements
+        databaseProps.setProperty("dataSource.reWriteBatchedInserts", "true");
 
         // Properties for HikariCP
         databaseProps.setProperty("driverClassName", DRIVER_CLASS_NAME);
@@ -258,9 +265,21 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
      * SQL generation Providers *
      ****************************/
 
+    @Override
+    protected String storeItemValuesSqlProvider(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
+                new String[] { storedVO.getTableName(), storedVO.getDbType(), "?" });
+    }
+
+    @Override
+    protected Object[] storeItemValuesParamsProvider(java.sql.Timestamp timestamp, Object value) {
+        return new Object[] { timestamp, value };
+    }
+
     @Override
     protected String histItemFilterQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
-            String simpleName, ZoneId timeZone) {
+            String simpleName, Function<ZonedDateTime, String> timeValueProvider) {
         logger.debug(
                 "JDBC::getHistItemFilterQueryProvider filter = {}, numberDecimalcount = {}, table = {}, simpleName = {}",
                 filter.toString(), numberDecimalcount, table, simpleName);
@@ -269,12 +288,12 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
         ZonedDateTime beginDate = filter.getBeginDate();
         if (beginDate != null) {
             filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME>='" + JDBC_DATE_FORMAT.format(beginDate.withZoneSameInstant(timeZone)) + "'";
+            filterString += " TIME>=" + timeValueProvider.apply(beginDate);
         }
         ZonedDateTime endDate = filter.getEndDate();
         if (endDate != null) {
             filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME<='" + JDBC_DATE_FORMAT.format(endDate.withZoneSameInstant(timeZone)) + "'";
+            filterString += " TIME<=" + timeValueProvider.apply(endDate);
         }
         filterString += (filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY time ASC" : " ORDER BY time DESC";
         if (filter.getPageSize() != 0x7fffffff) {
@@ -293,6 +312,28 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
         return queryString;
     }
 
+    /**
+     * Uses date_trunc when the bucket is exactly one unit, otherwise truncates the epoch seconds.
+     */
+    @Override
+    protected String histItemBucketProvider(long bucketSeconds) {
+        String unit = DATE_TRUNC_UNITS.get(bucketSeconds);
+        if (unit != null) {
+            return "date_trunc('" + unit + "', time)";
+        }
+        return "to_timestamp(floor(extract(epoch from time) / " + bucketSeconds + ") * " + bucketSeconds + ")";
+    }
+
+    @Override
+    protected String histItemBucketTimeProvider(String bucket, AggregationFunction function) {
+        return bucket;
+    }
+
+    @Override
+    protected String histItemRoundValueProvider(String value, int numberDecimalcount) {
+        return "ROUND(CAST (" + value + " AS numeric)," + numberDecimalcount + ")";
+    }
+
     /*****************
      * H E L P E R S *
      *****************/
@@ -13,6 +13,7 @@
 package org.openhab.persistence.jdbc.internal.db;
 
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -39,6 +40,8 @@ public class JdbcSqliteDAO extends JdbcBaseDAO {
     private static final String DRIVER_CLASS_NAME = org.sqlite.JDBC.class.getName();
     @SuppressWarnings("unused")
     private static final String DATA_SOURCE_CLASS_NAME = org.sqlite.SQLiteDataSource.class.getName();
+    // the local time text format of strftime('%Y-%m-%d %H:%M:%f', 'now', 'localtime'), used by unbuffered inserts
+    static final DateTimeFormatter SQLITE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
 
     private final Logger logger = LoggerFactory.getLogger(JdbcSqliteDAO.class);
 
@@ -144,6 +147,24 @@ public class JdbcSqliteDAO extends JdbcBaseDAO {
      * SQL generation Providers *
      ****************************/
 
+    @Override
+    protected String storeItemValuesSqlProvider(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
+                new String[] { storedVO.getTableName(), storedVO.getDbType(), "?" });
+    }
+
+    @Override
+    protected Object[] storeItemValuesParamsProvider(java.sql.Timestamp timestamp, Object value) {
+        // the driver stores a Timestamp as epoch milliseconds, store the same text as #tablePrimaryValue# instead
+        return new Object[] { SQLITE_TIME_FORMAT.format(timestamp.toLocalDateTime()), value };
+    }
+
+    @Override
+    protected String histItemBucketProvider(long bucketSeconds) {
+        return "CAST(strftime('%s', time) AS INTEGER) / " + bucketSeconds;
+    }
+
     /*****************
      * H E L P E R S *
      *****************/
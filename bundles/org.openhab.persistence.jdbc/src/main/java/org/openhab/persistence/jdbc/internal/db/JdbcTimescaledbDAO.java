@@ -15,8 +15,10 @@ package org.openhab.persistence.jdbc.internal.db;
 import java.util.Properties;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
@@ -58,4 +60,22 @@ public class JdbcTimescaledbDAO extends JdbcPostgresqlDAO {
             throw new JdbcSQLException(e);
         }
     }
+
+    @Override
+    protected String histItemBucketProvider(long bucketSeconds) {
+        return "time_bucket(INTERVAL '" + bucketSeconds + " seconds', time)";
+    }
+
+    @Override
+    protected String histItemBucketTimeProvider(String bucket, AggregationFunction function) {
+        // the last value keeps the time of its row instead of the start of the bucket
+        return function == AggregationFunction.LAST ? "last(time, time)"
+                : super.histItemBucketTimeProvider(bucket, function);
+    }
+
+    @Override
+    protected @Nullable String histItemAggregateValueProvider(AggregationFunction function) {
+        return function == AggregationFunction.LAST ? "last(value, time)"
+                : super.histItemAggregateValueProvider(function);
+    }
 }
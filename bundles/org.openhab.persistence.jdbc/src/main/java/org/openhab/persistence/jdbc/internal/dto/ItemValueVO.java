@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.dto;
+
+import java.time.ZonedDateTime;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.items.Item;
+import org.openhab.core.types.State;
+
+/**
+ * Represents an item state waiting in the write buffer to be stored in the database.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ItemValueVO {
+
+    private final Item item;
+    private final State state;
+    private final ZonedDateTime timestamp;
+
+    public ItemValueVO(Item item, State state, ZonedDateTime timestamp) {
+        this.item = item;
+        this.state = state;
+        this.timestamp = timestamp;
+    }
+
+    public Item getItem() {
+        return item;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public ZonedDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("ItemValueVO [item=").append(item.getName()).append(", state=").append(state)
+                .append(", timestamp=").append(timestamp).append("]").toString();
+    }
+}
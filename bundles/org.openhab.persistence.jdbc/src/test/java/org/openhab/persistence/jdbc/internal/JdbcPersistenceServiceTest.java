@@ -15,12 +15,15 @@ package org.openhab.persistence.jdbc.internal;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 
+import java.time.ZonedDateTime;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
 
 /**
  * Tests the {@link JdbcPersistenceService}.
@@ -48,4 +51,17 @@ public class JdbcPersistenceServiceTest {
     void removeThrowsIllegalArgumentExceptionIfItemNameOfFilterIsNull() {
         assertThrows(IllegalArgumentException.class, () -> jdbcPersistenceService.remove(filter));
     }
+
+    @Test
+    void queryAggregatedThrowsIllegalArgumentExceptionIfBeginDateOfFilterIsNull() {
+        assertThrows(IllegalArgumentException.class,
+                () -> jdbcPersistenceService.queryAggregated(filter, 10, AggregationFunction.AVG));
+    }
+
+    @Test
+    void queryAggregatedThrowsIllegalArgumentExceptionIfPointsAreNotPositive() {
+        filter.setBeginDate(ZonedDateTime.now().minusDays(1));
+        assertThrows(IllegalArgumentException.class,
+                () -> jdbcPersistenceService.queryAggregated(filter, 0, AggregationFunction.AVG));
+    }
 }
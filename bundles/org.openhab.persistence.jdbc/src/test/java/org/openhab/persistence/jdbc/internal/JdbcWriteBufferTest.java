@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.Item;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.persistence.jdbc.internal.dto.ItemValueVO;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
+
+/**
+ * Tests the {@link JdbcWriteBuffer}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcWriteBufferTest {
+
+    private static final int LONG_INTERVAL = 60000;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<List<ItemValueVO>> batches = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private synchronized int write(Item item, List<ItemValueVO> values) {
+        batches.add(new ArrayList<>(values));
+        return 0;
+    }
+
+    private ItemValueVO value(NumberItem item, int value) {
+        return new ItemValueVO(item, new DecimalType(value), ZonedDateTime.now());
+    }
+
+    @Test
+    void flushGroupsValuesPerItemAndSplitsBatches() {
+        JdbcWriteBuffer buffer = new JdbcWriteBuffer(scheduler, this::write, 2, LONG_INTERVAL, 100);
+        NumberItem itemA = new NumberItem("A");
+        NumberItem itemB = new NumberItem("B");
+
+        buffer.add(value(itemA, 1));
+        buffer.add(value(itemB, 2));
+        buffer.add(value(itemA, 3));
+        buffer.add(value(itemA, 4));
+        buffer.close();
+
+        assertThat(buffer.getQueueDepth(), is(0));
+        assertThat(buffer.getWrittenCount(), is(4L));
+        // item A: [1, 3] and [4], item B: [2]
+        assertThat(batches.stream().mapToInt(List::size).sum(), is(4));
+        assertThat(batches.stream().filter(b -> b.get(0).getItem() == itemA).count(), is(2L));
+        assertThat(batches.stream().filter(b -> b.get(0).getItem() == itemB).count(), is(1L));
+        batches.forEach(b -> assertThat(b.size(), is(lessThanOrEqualTo(2))));
+    }
+
+    @Test
+    void closeDrainsRemainingValues() {
+        JdbcWriteBuffer buffer = new JdbcWriteBuffer(scheduler, this::write, 100, LONG_INTERVAL, 1000);
+        NumberItem item = new NumberItem("A");
+        for (int i = 0; i < 10; i++) {
+            buffer.add(value(item, i));
+        }
+        assertThat(batches, is(empty()));
+
+        buffer.close();
+
+        assertThat(batches, hasSize(1));
+        assertThat(batches.get(0), hasSize(10));
+        assertThat(buffer.getFlushCount(), is(1L));
+    }
+
+    @Test
+    void failedBatchesAreCounted() {
+        JdbcWriteBuffer buffer = new JdbcWriteBuffer(scheduler, (item, values) -> {
+            throw new JdbcException("failed");
+        }, 10, LONG_INTERVAL, 100);
+        NumberItem item = new NumberItem("A");
+        buffer.add(value(item, 1));
+        buffer.add(value(item, 2));
+
+        buffer.close();
+
+        assertThat(buffer.getFailedCount(), is(2L));
+        assertThat(buffer.getWrittenCount(), is(0L));
+    }
+
+    @Test
+    void partiallyFailedBatchesAreCounted() {
+        JdbcWriteBuffer buffer = new JdbcWriteBuffer(scheduler, (item, values) -> 1, 10, LONG_INTERVAL, 100);
+        NumberItem item = new NumberItem("A");
+        buffer.add(value(item, 1));
+        buffer.add(value(item, 2));
+        buffer.add(value(item, 3));
+
+        buffer.close();
+
+        assertThat(buffer.getFailedCount(), is(1L));
+        assertThat(buffer.getWrittenCount(), is(2L));
+    }
+
+    @Test
+    void valuesAreRejectedAfterClose() {
+        JdbcWriteBuffer buffer = new JdbcWriteBuffer(scheduler, this::write, 10, LONG_INTERVAL, 100);
+        NumberItem item = new NumberItem("A");
+        assertThat(buffer.add(value(item, 1)), is(true));
+
+        buffer.close();
+
+        assertThat(buffer.isClosed(), is(true));
+        assertThat(buffer.add(value(item, 2)), is(false));
+        assertThat(buffer.getQueueDepth(), is(0));
+        assertThat(buffer.getDroppedCount(), is(0L));
+        assertThat(batches, hasSize(1));
+        assertThat(batches.get(0), hasSize(1));
+    }
+}
@@ -14,8 +14,10 @@ package org.openhab.persistence.jdbc.internal.db;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.time.Instant;
@@ -66,6 +68,7 @@ import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
 
 /**
  * Tests the {@link JdbcBaseDAO}.
@@ -194,6 +197,70 @@ public class JdbcBaseDAOTest {
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC LIMIT 0,1"));
     }
 
+    @Test
+    void testGetHistItemFilterQueryWithStartAndEndDateReturnsQueryWithParameters() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
+
+        String sql = jdbcBaseDAO.getHistItemFilterQuery(filter, 0, DB_TABLE_NAME, "TEST");
+        assertThat(sql,
+                is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE TIME>=? AND TIME<=? ORDER BY time DESC"));
+    }
+
+    @Test
+    void testGetHistItemFilterQueryReusesQueryForSameFilterShape() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        String sql = jdbcBaseDAO.getHistItemFilterQuery(filter, 0, DB_TABLE_NAME, "TEST");
+
+        FilterCriteria otherFilter = new FilterCriteria();
+        otherFilter.setBeginDate(parseDateTimeString("2023-05-01T10:00:00"));
+        assertSame(sql, jdbcBaseDAO.getHistItemFilterQuery(otherFilter, 0, DB_TABLE_NAME, "TEST"));
+
+        otherFilter.setOrdering(Ordering.ASCENDING);
+        assertThat(jdbcBaseDAO.getHistItemFilterQuery(otherFilter, 0, DB_TABLE_NAME, "TEST"),
+                is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE TIME>=? ORDER BY time ASC"));
+    }
+
+    @Test
+    void testHistItemFilterQueryParamsReturnsDatesInFilterOrder() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
+
+        Object[] params = jdbcBaseDAO.histItemFilterQueryParams(filter, UTC_ZONE_ID);
+        assertArrayEquals(new Object[] { "2022-01-10 15:01:44", "2022-01-15 15:01:44" }, params);
+    }
+
+    @Test
+    void testHistItemAggregateQueryProviderReturnsGroupedQueryForNumberItem() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setOrdering(Ordering.ASCENDING);
+
+        String sql = jdbcBaseDAO.histItemAggregateQueryProvider(filter, AggregationFunction.AVG, 3600, -1,
+                DB_TABLE_NAME, "NUMBERITEM");
+        assertThat(sql, is("SELECT MIN(time) AS time, AVG(value) FROM " + DB_TABLE_NAME
+                + " WHERE TIME>=? GROUP BY FLOOR(UNIX_TIMESTAMP(time) / 3600) ORDER BY time ASC"));
+    }
+
+    @Test
+    void testHistItemAggregateQueryProviderRoundsNumberItem() {
+        String sql = jdbcBaseDAO.histItemAggregateQueryProvider(filter, AggregationFunction.MAX, 60, 2, DB_TABLE_NAME,
+                "NUMBERITEM");
+        assertThat(sql, is("SELECT MIN(time) AS time, ROUND(MAX(value),2) FROM " + DB_TABLE_NAME
+                + " GROUP BY FLOOR(UNIX_TIMESTAMP(time) / 60) ORDER BY time DESC"));
+    }
+
+    @Test
+    void testHistItemAggregateQueryProviderReturnsLastRowPerBucketForStringItem() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
+
+        String sql = jdbcBaseDAO.histItemAggregateQueryProvider(filter, AggregationFunction.AVG, 60, -1,
+                DB_TABLE_NAME, "STRINGITEM");
+        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE time IN (SELECT MAX(time) FROM "
+                + DB_TABLE_NAME + " WHERE TIME>=? AND TIME<=? GROUP BY FLOOR(UNIX_TIMESTAMP(time) / 60))"
+                + " ORDER BY time DESC"));
+    }
+
     @Test
     void testHistItemFilterDeleteProviderReturnsDeleteQueryWithoutWhereClause() {
         String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID);
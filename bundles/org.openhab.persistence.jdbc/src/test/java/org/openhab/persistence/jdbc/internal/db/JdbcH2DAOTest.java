@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Properties;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.knowm.yank.Yank;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+
+/**
+ * Tests the rows returned by aggregated queries of the {@link JdbcH2DAO} with an in-memory database.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcH2DAOTest {
+    private static final String DB_TABLE_NAME = "testitem";
+    private static final LocalDateTime MINUTE = LocalDateTime.of(2024, 1, 10, 15, 1);
+
+    private final JdbcH2DAO jdbcH2DAO = new JdbcH2DAO();
+    private final NumberItem item = new NumberItem("Number1");
+
+    @BeforeEach
+    void setup() {
+        Properties properties = new Properties();
+        properties.setProperty("jdbcUrl", "jdbc:h2:mem:aggregate;DB_CLOSE_DELAY=-1");
+        properties.setProperty("driverClassName", org.h2.Driver.class.getName());
+        Yank.setupDefaultConnectionPool(properties);
+        Yank.execute("CREATE TABLE " + DB_TABLE_NAME + " (time TIMESTAMP NOT NULL PRIMARY KEY, value DOUBLE)", null);
+
+        // two rows in each of two minutes
+        insert(MINUTE.withSecond(10), 1);
+        insert(MINUTE.withSecond(40), 2);
+        insert(MINUTE.plusMinutes(1).withSecond(5), 3);
+        insert(MINUTE.plusMinutes(1).withSecond(50), 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Yank.execute("DROP TABLE " + DB_TABLE_NAME, null);
+        Yank.releaseDefaultConnectionPool();
+    }
+
+    private void insert(LocalDateTime time, double value) {
+        Yank.execute("INSERT INTO " + DB_TABLE_NAME + " (time, value) VALUES (?, ?)",
+                new Object[] { Timestamp.valueOf(time), value });
+    }
+
+    private List<HistoricItem> query(AggregationFunction function) throws JdbcSQLException {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setOrdering(Ordering.ASCENDING);
+        return jdbcH2DAO.doGetHistItemAggregateQuery(item, filter, function, 60, -1, DB_TABLE_NAME,
+                ZoneId.systemDefault());
+    }
+
+    private static void assertRow(HistoricItem historicItem, LocalDateTime time, double value) {
+        assertThat(historicItem.getTimestamp().withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime(),
+                is(time));
+        assertThat(((DecimalType) historicItem.getState()).doubleValue(), is(value));
+    }
+
+    @Test
+    void testLastReturnsLastRowOfEachBucketWithItsTime() throws JdbcSQLException {
+        List<HistoricItem> items = query(AggregationFunction.LAST);
+
+        assertThat(items.size(), is(2));
+        assertRow(items.get(0), MINUTE.withSecond(40), 2);
+        assertRow(items.get(1), MINUTE.plusMinutes(1).withSecond(50), 4);
+    }
+
+    @Test
+    void testAverageReturnsOneRowPerBucket() throws JdbcSQLException {
+        List<HistoricItem> items = query(AggregationFunction.AVG);
+
+        assertThat(items.size(), is(2));
+        assertRow(items.get(0), MINUTE.withSecond(10), 1.5);
+        assertRow(items.get(1), MINUTE.plusMinutes(1).withSecond(5), 3.5);
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.persistence.jdbc.internal.dto.ItemVO;
+
+/**
+ * Tests the {@link JdbcSqliteDAO}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcSqliteDAOTest {
+
+    private final JdbcSqliteDAO jdbcSqliteDAO = new JdbcSqliteDAO();
+
+    @Test
+    void testBatchedInsertBindsTimeParameter() {
+        ItemVO vo = new ItemVO("testitem", null);
+        vo.setDbType("DOUBLE");
+
+        assertThat(jdbcSqliteDAO.storeItemValuesSqlProvider(vo),
+                is("INSERT OR IGNORE INTO testitem (TIME, VALUE) VALUES( ?, CAST( ? as DOUBLE) )"));
+    }
+
+    @Test
+    void testBatchedInsertStoresLocalTimeText() {
+        // the same text strftime('%Y-%m-%d %H:%M:%f', 'now', 'localtime') produces for unbuffered inserts
+        Timestamp timestamp = Timestamp.valueOf(LocalDateTime.of(2024, 1, 10, 15, 1, 44, 123_000_000));
+
+        Object[] params = jdbcSqliteDAO.storeItemValuesParamsProvider(timestamp, 42.0);
+
+        assertThat(params.length, is(2));
+        assertThat(params[0], is("2024-01-10 15:01:44.123"));
+        assertThat(params[1], is(42.0));
+    }
+}
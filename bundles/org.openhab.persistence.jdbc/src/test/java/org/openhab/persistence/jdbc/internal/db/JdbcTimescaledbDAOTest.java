@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
+
+/**
+ * Tests the aggregated queries of the {@link JdbcTimescaledbDAO}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcTimescaledbDAOTest {
+    private static final String DB_TABLE_NAME = "testitem";
+
+    private final JdbcTimescaledbDAO jdbcTimescaledbDAO = new JdbcTimescaledbDAO();
+
+    @Test
+    void testLastValueIsReturnedWithTimeOfItsRow() {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setOrdering(Ordering.ASCENDING);
+
+        String sql = jdbcTimescaledbDAO.histItemAggregateQueryProvider(filter, AggregationFunction.LAST, 60, -1,
+                DB_TABLE_NAME, "NUMBERITEM");
+        assertThat(sql, is("SELECT last(time, time) AS time, last(value, time) FROM " + DB_TABLE_NAME
+                + " GROUP BY time_bucket(INTERVAL '60 seconds', time) ORDER BY time ASC"));
+    }
+
+    @Test
+    void testAverageIsReturnedWithStartOfBucket() {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setOrdering(Ordering.ASCENDING);
+
+        String sql = jdbcTimescaledbDAO.histItemAggregateQueryProvider(filter, AggregationFunction.AVG, 60, -1,
+                DB_TABLE_NAME, "NUMBERITEM");
+        assertThat(sql, is("SELECT time_bucket(INTERVAL '60 seconds', time) AS time, AVG(value) FROM " + DB_TABLE_NAME
+                + " GROUP BY time_bucket(INTERVAL '60 seconds', time) ORDER BY time ASC"));
+    }
+}
@@ -35,12 +35,19 @@ public class JpaConfiguration {
     private static final String CFG_USERNAME = "user";
     private static final String CFG_PASSWORD = "password";
     private static final String CFG_SYNCMAPPING = "syncmappings";
+    private static final String CFG_BATCH_SIZE = "batchSize";
+    private static final String CFG_FLUSH_INTERVAL = "flushInterval";
+
+    private static final int DEFAULT_BATCH_SIZE = 1;
+    private static final int DEFAULT_FLUSH_INTERVAL = 1000; // in ms
 
     public final String dbConnectionUrl;
     public final String dbDriverClass;
     public final String dbUserName;
     public final String dbPassword;
     public final String dbSyncMapping;
+    public final int batchSize;
+    public final int flushInterval;
 
     public JpaConfiguration(final Map<String, @Nullable Object> properties) throws IllegalArgumentException {
         logger.debug("Creating JPA config...");
@@ -81,6 +88,25 @@ public class JpaConfiguration {
         }
         dbSyncMapping = param == null ? "" : param;
 
+        batchSize = Math.max(1, getInt(properties, CFG_BATCH_SIZE, DEFAULT_BATCH_SIZE));
+        flushInterval = Math.max(1, getInt(properties, CFG_FLUSH_INTERVAL, DEFAULT_FLUSH_INTERVAL));
+        logger.debug("batchSize: {}, flushInterval: {}", batchSize, flushInterval);
+
         logger.debug("Creating JPA config... done");
     }
+
+    private int getInt(final Map<String, @Nullable Object> properties, String key, int defaultValue)
+            throws IllegalArgumentException {
+        Object param = properties.get(key);
+        if (param instanceof Number number) {
+            return number.intValue();
+        } else if (param instanceof String string && !string.isBlank()) {
+            try {
+                return Integer.parseInt(string.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + key + " '" + string + "' in JPA configuration!");
+            }
+        }
+        return defaultValue;
+    }
 }
@@ -12,20 +12,30 @@
  */
 package org.openhab.persistence.jpa.internal;
 
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
-import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
@@ -64,6 +74,12 @@ public class JpaPersistenceService implements QueryablePersistenceService {
     private static final String SERVICE_LABEL = "JPA";
     protected static final String CONFIG_URI = "persistence:jpa";
 
+    // the time range of a query without begin or end date
+    private static final Date MIN_DATE = new Date(0);
+    private static final Date MAX_DATE = Date.from(Instant.parse("9999-12-31T23:59:59Z"));
+    // maximum number of values buffered in the buffered ingest mode, e.g. while the database is not available
+    static final int MAX_QUEUED_ITEMS = 10_000;
+
     private final Logger logger = LoggerFactory.getLogger(JpaPersistenceService.class);
 
     private final ItemRegistry itemRegistry;
@@ -72,7 +88,13 @@ public class JpaPersistenceService implements QueryablePersistenceService {
 
     private @NonNullByDefault({}) JpaConfiguration config;
 
-    private boolean initialized;
+    private volatile boolean initialized;
+
+    // buffered ingest mode, used if the batch size is greater than 1
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("org.openhab.jpa");
+    private final BlockingQueue<JpaPersistentItem> itemsQueue = new LinkedBlockingQueue<>(MAX_QUEUED_ITEMS);
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private @Nullable ScheduledFuture<?> flushJob;
 
     @Activate
     public JpaPersistenceService(BundleContext context, Map<String, @Nullable Object> properties,
@@ -82,6 +104,10 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         try {
             config = new JpaConfiguration(properties);
             initialized = true;
+            if (config.batchSize > 1) {
+                flushJob = scheduler.scheduleWithFixedDelay(this::flush, config.flushInterval, config.flushInterval,
+                        TimeUnit.MILLISECONDS);
+            }
         } catch (IllegalArgumentException e) {
             logger.warn("{}", e.getMessage());
         }
@@ -107,7 +133,20 @@ public class JpaPersistenceService implements QueryablePersistenceService {
     @Deactivate
     public void deactivate() {
         logger.debug("Deactivating JPA persistence service");
-        closeEntityManagerFactory();
+        // stores and pending flushes must not create a new EntityManagerFactory after it has been closed
+        initialized = false;
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        synchronized (this) {
+            if (!itemsQueue.isEmpty()) {
+                // ensure we at least tried to store the buffered items
+                persistQueuedItems();
+            }
+            closeEntityManagerFactory();
+        }
     }
 
     @Override
@@ -155,22 +194,85 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         pItem.setRealName(item.getName());
         pItem.setTimestamp(new Date());
 
-        EntityManager em = getEntityManagerFactory().createEntityManager();
+        if (config.batchSize > 1) {
+            if (!itemsQueue.offer(pItem)) {
+                logger.warn("JPA buffer is full, {} values are waiting to be stored. Cannot persist item '{}'!",
+                        itemsQueue.size(), item.getName());
+                return;
+            }
+            if (itemsQueue.size() >= config.batchSize && flushScheduled.compareAndSet(false, true)) {
+                // don't wait for the flush interval if a batch is complete
+                scheduler.execute(this::flush);
+            }
+            logger.debug("Queued item for storing");
+            return;
+        }
+
+        persist(List.of(pItem));
+        logger.debug("Storing item...done");
+    }
+
+    /**
+     * Persists the buffered items in batches
+     */
+    private synchronized void flush() {
+        flushScheduled.set(false);
+        if (!initialized) {
+            // the final flush is done on deactivation
+            return;
+        }
+        try {
+            persistQueuedItems();
+        } catch (RuntimeException e) {
+            // an exception must not escape, it would suppress all following runs of the flush job
+            logger.error("Unexpected error while flushing the JPA buffer", e);
+        }
+    }
+
+    private void persistQueuedItems() {
+        List<JpaPersistentItem> batch = new ArrayList<>();
+        while (itemsQueue.drainTo(batch, config.batchSize) > 0) {
+            if (!persist(batch)) {
+                // the values of a rolled back batch can't be persisted again, their entities are in an undefined state
+                logger.warn("Lost {} values of a failed batch, {} values are still waiting to be stored.",
+                        batch.size(), itemsQueue.size());
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Persists the items in a single transaction
+     *
+     * @return false if the transaction was rolled back
+     */
+    private boolean persist(List<JpaPersistentItem> pItems) {
+        @Nullable
+        EntityManager em = null;
         try {
-            logger.debug("Persisting item...");
+            em = getEntityManagerFactory().createEntityManager();
+            logger.debug("Persisting {} items...", pItems.size());
             // In RESOURCE_LOCAL calls to EntityManager require a begin/commit
             em.getTransaction().begin();
-            em.persist(pItem);
+            for (JpaPersistentItem pItem : pItems) {
+                em.persist(pItem);
+            }
             em.getTransaction().commit();
-            logger.debug("Persisting item...done");
+            logger.debug("Persisting items...done");
+            return true;
         } catch (Exception e) {
-            logger.error("Error while persisting item! Rolling back!", e);
+            if (em == null) {
+                logger.error("Error while persisting {} items! Cannot create EntityManager!", pItems.size(), e);
+                return false;
+            }
+            logger.error("Error while persisting {} items! Rolling back!", pItems.size(), e);
             em.getTransaction().rollback();
+            return false;
         } finally {
-            em.close();
+            if (em != null) {
+                em.close();
+            }
         }
-
-        logger.debug("Storing item...done");
     }
 
     @Override
@@ -198,28 +300,12 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             return List.of();
         }
 
-        String sortOrder;
-        if (filter.getOrdering() == Ordering.ASCENDING) {
-            sortOrder = "ASC";
-        } else {
-            sortOrder = "DESC";
-        }
+        String queryName = filter.getOrdering() == Ordering.ASCENDING ? JpaPersistentItem.QUERY_ASCENDING
+                : JpaPersistentItem.QUERY_DESCENDING;
+        ZonedDateTime beginDate = filter.getBeginDate();
+        ZonedDateTime endDate = filter.getEndDate();
 
-        boolean hasBeginDate = false;
-        boolean hasEndDate = false;
-        String queryString = "SELECT n FROM " + JpaPersistentItem.class.getSimpleName()
-                + " n WHERE n.realName = :itemName";
-        if (filter.getBeginDate() != null) {
-            queryString += " AND n.timestamp >= :beginDate";
-            hasBeginDate = true;
-        }
-        if (filter.getEndDate() != null) {
-            queryString += " AND n.timestamp <= :endDate";
-            hasEndDate = true;
-        }
-        queryString += " ORDER BY n.timestamp " + sortOrder;
-
-        logger.debug("The query: {}", queryString);
+        logger.debug("The query: {}", queryName);
 
         EntityManager em = getEntityManagerFactory().createEntityManager();
         try {
@@ -227,21 +313,16 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             em.getTransaction().begin();
 
             logger.debug("Creating query...");
-            Query query = em.createQuery(queryString);
+            TypedQuery<JpaPersistentItem> query = em.createNamedQuery(queryName, JpaPersistentItem.class);
             query.setParameter("itemName", item.getName());
-            if (hasBeginDate) {
-                query.setParameter("beginDate", Date.from(filter.getBeginDate().toInstant()));
-            }
-            if (hasEndDate) {
-                query.setParameter("endDate", Date.from(filter.getEndDate().toInstant()));
-            }
+            query.setParameter("beginDate", beginDate != null ? Date.from(beginDate.toInstant()) : MIN_DATE);
+            query.setParameter("endDate", endDate != null ? Date.from(endDate.toInstant()) : MAX_DATE);
 
             query.setFirstResult(filter.getPageNumber() * filter.getPageSize());
             query.setMaxResults(filter.getPageSize());
             logger.debug("Creating query...done");
 
             logger.debug("Retrieving result list...");
-            @SuppressWarnings("unchecked")
             List<JpaPersistentItem> result = query.getResultList();
             logger.debug("Retrieving result list...done");
 
@@ -285,6 +366,10 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             logger.info("You are setting openjpa.jdbc.SynchronizeMappings, I hope you know what you're doing!");
             properties.put("openjpa.jdbc.SynchronizeMappings", config.dbSyncMapping);
         }
+        if (config.batchSize > 1) {
+            // let the JDBC driver send the inserts of a flushed batch in one statement batch
+            properties.put("openjpa.jdbc.DBDictionary", "batchLimit=" + config.batchSize);
+        }
 
         EntityManagerFactory factory = Persistence.createEntityManagerFactory(getPersistenceUnitName(), properties);
         logger.debug("Creating EntityManagerFactory...done");
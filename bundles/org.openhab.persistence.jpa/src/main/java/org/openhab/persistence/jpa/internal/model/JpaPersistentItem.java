@@ -22,6 +22,8 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
 import javax.persistence.Table;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
@@ -40,9 +42,23 @@ import org.openhab.core.types.UnDefType;
 
 @Entity
 @Table(name = "HISTORIC_ITEM")
+@NamedQueries({
+        @NamedQuery(name = JpaPersistentItem.QUERY_ASCENDING, query = JpaPersistentItem.QUERY_SELECT
+                + " ORDER BY n.timestamp ASC"),
+        @NamedQuery(name = JpaPersistentItem.QUERY_DESCENDING, query = JpaPersistentItem.QUERY_SELECT
+                + " ORDER BY n.timestamp DESC") })
 @NonNullByDefault
 public class JpaPersistentItem implements HistoricItem {
 
+    /**
+     * The named queries for the values of an item within a time range, with the parameters itemName, beginDate and
+     * endDate
+     */
+    public static final String QUERY_ASCENDING = "JpaPersistentItem.findByRealNameAscending";
+    public static final String QUERY_DESCENDING = "JpaPersistentItem.findByRealNameDescending";
+    static final String QUERY_SELECT = "SELECT n FROM JpaPersistentItem n WHERE n.realName = :itemName"
+            + " AND n.timestamp >= :beginDate AND n.timestamp <= :endDate";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private @NonNullByDefault({}) Long id;
@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jpa.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.*;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+import org.osgi.framework.BundleContext;
+
+/**
+ * Tests the {@link JpaPersistenceService} with an in-memory Derby database.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JpaPersistenceServiceTest {
+    private static final AtomicInteger DATABASE_COUNT = new AtomicInteger();
+    private static final String ITEM_NAME = "Number1";
+    private static final long WAIT_TIMEOUT_MS = 5000;
+
+    private final NumberItem item = new NumberItem(ITEM_NAME);
+    private final ItemRegistry itemRegistry = mock(ItemRegistry.class);
+    private final List<JpaPersistenceService> services = new ArrayList<>();
+    private String url = "";
+
+    @BeforeEach
+    public void setUp() throws ItemNotFoundException {
+        when(itemRegistry.getItem(ITEM_NAME)).thenReturn(item);
+        // a new database for each test, kept when a second service is created by a test
+        url = "jdbc:derby:memory:jpa" + DATABASE_COUNT.incrementAndGet() + ";create=true";
+    }
+
+    @AfterEach
+    public void tearDown() {
+        services.forEach(JpaPersistenceService::deactivate);
+    }
+
+    private JpaPersistenceService createService(int batchSize, int flushInterval) {
+        JpaPersistenceService service = new JpaPersistenceService(mock(BundleContext.class),
+                properties(batchSize, flushInterval), itemRegistry);
+        services.add(service);
+        return service;
+    }
+
+    private Map<String, @Nullable Object> properties(int batchSize, int flushInterval) {
+        Map<String, @Nullable Object> properties = new HashMap<>();
+        properties.put("url", url);
+        properties.put("driver", "org.apache.derby.jdbc.EmbeddedDriver");
+        properties.put("syncmappings", "buildSchema(SchemaAction='add')");
+        properties.put("batchSize", batchSize);
+        properties.put("flushInterval", flushInterval);
+        return properties;
+    }
+
+    private void store(JpaPersistenceService service, int value) throws InterruptedException {
+        item.setState(new DecimalType(value));
+        service.store(item);
+        // distinct timestamps for a defined ordering
+        Thread.sleep(10);
+    }
+
+    private List<Integer> query(JpaPersistenceService service, FilterCriteria filter) {
+        List<Integer> values = new ArrayList<>();
+        for (HistoricItem historicItem : service.query(filter)) {
+            values.add(((DecimalType) historicItem.getState()).intValue());
+        }
+        return values;
+    }
+
+    private FilterCriteria filter(Ordering ordering) {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(ITEM_NAME);
+        filter.setOrdering(ordering);
+        return filter;
+    }
+
+    private void waitForValues(JpaPersistenceService service, int count) throws InterruptedException {
+        long end = System.currentTimeMillis() + WAIT_TIMEOUT_MS;
+        while (query(service, filter(Ordering.ASCENDING)).size() < count && System.currentTimeMillis() < end) {
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    public void testNamedQueriesWithOrdering() throws InterruptedException {
+        JpaPersistenceService service = createService(1, 1000);
+        for (int i = 1; i <= 3; i++) {
+            store(service, i);
+        }
+
+        assertThat(query(service, filter(Ordering.ASCENDING)), is(List.of(1, 2, 3)));
+        assertThat(query(service, filter(Ordering.DESCENDING)), is(List.of(3, 2, 1)));
+    }
+
+    @Test
+    public void testNamedQueryWithTimeRangeAndPaging() throws InterruptedException {
+        JpaPersistenceService service = createService(1, 1000);
+        store(service, 1);
+        ZonedDateTime begin = ZonedDateTime.now();
+        Thread.sleep(10);
+        store(service, 2);
+        store(service, 3);
+        ZonedDateTime end = ZonedDateTime.now();
+        Thread.sleep(10);
+        store(service, 4);
+
+        FilterCriteria range = filter(Ordering.ASCENDING);
+        range.setBeginDate(begin);
+        range.setEndDate(end);
+        assertThat(query(service, range), is(List.of(2, 3)));
+
+        FilterCriteria fromBegin = filter(Ordering.ASCENDING);
+        fromBegin.setBeginDate(begin);
+        assertThat(query(service, fromBegin), is(List.of(2, 3, 4)));
+
+        FilterCriteria page = filter(Ordering.DESCENDING);
+        page.setPageSize(2);
+        page.setPageNumber(1);
+        assertThat(query(service, page), is(List.of(2, 1)));
+    }
+
+    @Test
+    public void testBufferedValuesAreWrittenWhenBatchIsFull() throws InterruptedException {
+        JpaPersistenceService service = createService(3, 60_000);
+        store(service, 1);
+        store(service, 2);
+        assertThat(query(service, filter(Ordering.ASCENDING)), is(List.of()));
+
+        store(service, 3);
+        waitForValues(service, 3);
+        assertThat(query(service, filter(Ordering.ASCENDING)), is(List.of(1, 2, 3)));
+    }
+
+    @Test
+    public void testBufferedValuesAreWrittenAfterFlushInterval() throws InterruptedException {
+        JpaPersistenceService service = createService(10, 100);
+        store(service, 1);
+
+        waitForValues(service, 1);
+        assertThat(query(service, filter(Ordering.ASCENDING)), is(List.of(1)));
+    }
+
+    @Test
+    public void testBufferedValuesAreWrittenOnDeactivate() throws InterruptedException {
+        JpaPersistenceService service = createService(10, 60_000);
+        store(service, 1);
+        store(service, 2);
+
+        service.deactivate();
+        assertFalse(service.isEntityManagerFactoryOpen());
+
+        // a value stored after deactivation must not open the database again
+        store(service, 3);
+        assertFalse(service.isEntityManagerFactoryOpen());
+
+        JpaPersistenceService newService = createService(1, 1000);
+        assertThat(query(newService, filter(Ordering.ASCENDING)), is(List.of(1, 2)));
+    }
+
+    @Test
+    public void testFlushJobContinuesAfterEntityManagerFactoryFailure() throws InterruptedException {
+        AtomicInteger failures = new AtomicInteger(1);
+        JpaPersistenceService service = new JpaPersistenceService(mock(BundleContext.class), properties(10, 100),
+                itemRegistry) {
+            @Override
+            protected EntityManagerFactory getEntityManagerFactory() {
+                if (failures.getAndDecrement() > 0) {
+                    throw new PersistenceException("database not available");
+                }
+                return super.getEntityManagerFactory();
+            }
+        };
+        services.add(service);
+
+        store(service, 1);
+        long end = System.currentTimeMillis() + WAIT_TIMEOUT_MS;
+        while (failures.get() > 0 && System.currentTimeMillis() < end) {
+            Thread.sleep(20);
+        }
+        assertThat(failures.get(), is(0));
+
+        // the value of the failed flush is lost, but the flush job still writes the following values
+        store(service, 2);
+        waitForValues(service, 1);
+        assertThat(query(service, filter(Ordering.ASCENDING)), is(List.of(2)));
+    }
+}
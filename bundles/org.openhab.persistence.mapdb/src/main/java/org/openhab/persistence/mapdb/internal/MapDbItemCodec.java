@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.TypeParser;
+
+/**
+ * Binary encoding of the timestamp and state of a {@link MapDbItem}. The item name is not encoded, as it is the key
+ * of the map. Common state types are written with a short tag, all other types with their class name and full string
+ * representation, like the {@link StateTypeAdapter} does.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbItemCodec {
+    private static final byte VERSION = 1;
+
+    private static final byte TYPE_OTHER = 0;
+    private static final byte TYPE_DECIMAL = 1;
+    private static final byte TYPE_PERCENT = 2;
+    private static final byte TYPE_QUANTITY = 3;
+    private static final byte TYPE_ON = 4;
+    private static final byte TYPE_OFF = 5;
+    private static final byte TYPE_OPEN = 6;
+    private static final byte TYPE_CLOSED = 7;
+    private static final byte TYPE_STRING = 8;
+
+    private MapDbItemCodec() {
+        // prevent instantiation
+    }
+
+    public static byte[] encode(MapDbItem item) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeLong(item.getTimestamp().toInstant().toEpochMilli());
+            State state = item.getState();
+            if (state instanceof OnOffType) {
+                out.writeByte(state == OnOffType.ON ? TYPE_ON : TYPE_OFF);
+            } else if (state instanceof OpenClosedType) {
+                out.writeByte(state == OpenClosedType.OPEN ? TYPE_OPEN : TYPE_CLOSED);
+            } else if (state.getClass() == DecimalType.class) {
+                out.writeByte(TYPE_DECIMAL);
+                writeString(out, ((DecimalType) state).toBigDecimal().toString());
+            } else if (state.getClass() == PercentType.class) {
+                out.writeByte(TYPE_PERCENT);
+                writeString(out, ((PercentType) state).toBigDecimal().toString());
+            } else if (state.getClass() == QuantityType.class) {
+                out.writeByte(TYPE_QUANTITY);
+                writeString(out, state.toFullString());
+            } else if (state.getClass() == StringType.class) {
+                out.writeByte(TYPE_STRING);
+                writeString(out, state.toFullString());
+            } else {
+                out.writeByte(TYPE_OTHER);
+                writeString(out, state.getClass().getName());
+                writeString(out, state.toFullString());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes an item.
+     *
+     * @return the item, or null if the data can not be decoded
+     */
+    public static @Nullable MapDbItem decode(String name, byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readByte() != VERSION) {
+                return null;
+            }
+            Date timestamp = new Date(in.readLong());
+            State state = readState(in);
+            if (state == null) {
+                return null;
+            }
+            MapDbItem item = new MapDbItem();
+            item.setName(name);
+            item.setState(state);
+            item.setTimestamp(timestamp);
+            return item;
+        }
+    }
+
+    private static @Nullable State readState(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_ON:
+                return OnOffType.ON;
+            case TYPE_OFF:
+                return OnOffType.OFF;
+            case TYPE_OPEN:
+                return OpenClosedType.OPEN;
+            case TYPE_CLOSED:
+                return OpenClosedType.CLOSED;
+            case TYPE_DECIMAL:
+                return new DecimalType(new BigDecimal(readString(in)));
+            case TYPE_PERCENT:
+                return new PercentType(new BigDecimal(readString(in)));
+            case TYPE_QUANTITY:
+                return new QuantityType<>(readString(in));
+            case TYPE_STRING:
+                return new StringType(readString(in));
+            case TYPE_OTHER:
+                String typeName = readString(in);
+                String value = readString(in);
+                try {
+                    @SuppressWarnings("unchecked")
+                    Class<? extends State> stateType = (Class<? extends State>) Class.forName(typeName);
+                    return TypeParser.parseState(List.of(stateType), value);
+                } catch (ClassNotFoundException | ClassCastException e) {
+                    return null;
+                }
+            default:
+                return null;
+        }
+    }
+
+    // DataOutput.writeUTF is limited to 64 KB, which is too short for e.g. images
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -24,7 +24,10 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -34,6 +37,8 @@ import org.mapdb.DB;
 import org.mapdb.DBMaker;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
+import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
@@ -43,9 +48,11 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
+import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,7 +67,10 @@ import com.google.gson.GsonBuilder;
  * @author Martin Kühl - Port to 3.x
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class })
+@Component(service = { PersistenceService.class,
+        QueryablePersistenceService.class }, configurationPid = "org.openhab.mapdb", //
+        property = Constants.SERVICE_PID + "=org.openhab.mapdb")
+@ConfigurableService(category = "persistence", label = "MapDB Persistence Service", description_uri = MapDbPersistenceService.CONFIG_URI)
 public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String SERVICE_ID = "mapdb";
@@ -68,24 +78,37 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     private static final Path DB_DIR = new File(OpenHAB.getUserDataFolder(), "persistence").toPath().resolve("mapdb");
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
+    // states were stored as JSON in this map before the binary encoding was introduced
+    private static final String LEGACY_MAP_NAME = "itemStore";
+    private static final String MAP_NAME = "itemStateStore";
+
+    protected static final String CONFIG_URI = "persistence:mapdb";
+    private static final String COMMIT_INTERVAL_CONFIG = "commitInterval";
+    private static final long COMMIT_INTERVAL_DEFAULT = 0;
 
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
-    private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    private final ScheduledExecutorService threadPool = ThreadPoolManager.getScheduledPool(getClass().getSimpleName());
 
     /**
      * holds the local instance of the MapDB database
      */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
+    private @NonNullByDefault({}) Map<String, byte[]> map;
+
+    // states not yet written to the database when group commit is enabled
+    private final Map<String, MapDbItem> pendingItems = new ConcurrentHashMap<>();
+    private final AtomicBoolean commitPending = new AtomicBoolean(false);
+    private volatile long commitInterval = COMMIT_INTERVAL_DEFAULT;
 
     private transient Gson mapper = new GsonBuilder().registerTypeHierarchyAdapter(State.class, new StateTypeAdapter())
             .create();
 
     @Activate
-    public void activate() {
+    public void activate(Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
+        modified(config);
 
         try {
             Files.createDirectories(DB_DIR);
@@ -98,7 +121,8 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         File dbFile = DB_DIR.resolve(DB_FILE_NAME).toFile();
         try {
             db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-            map = db.createTreeMap("itemStore").makeOrGet();
+            map = db.createTreeMap(MAP_NAME).makeOrGet();
+            migrateLegacyMap();
         } catch (RuntimeException re) {
             Throwable cause = re.getCause();
             if (cause instanceof ClassNotFoundException cnf) {
@@ -130,7 +154,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
                 }
 
                 db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-                map = db.createTreeMap("itemStore").makeOrGet();
+                map = db.createTreeMap(MAP_NAME).makeOrGet();
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
                 logger.warn("MapDB persistence service activation has failed.");
@@ -139,14 +163,51 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         logger.debug("MapDB persistence service is now activated");
     }
 
+    @Modified
+    public void modified(Map<String, Object> config) {
+        long commitInterval = ConfigParser.valueAsOrElse(config.get(COMMIT_INTERVAL_CONFIG), Long.class,
+                COMMIT_INTERVAL_DEFAULT);
+        this.commitInterval = Math.max(0, commitInterval);
+        if (this.commitInterval == 0 && db != null) {
+            // write states still waiting for a group commit
+            commit();
+        }
+    }
+
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
         if (db != null) {
+            commit();
             db.close();
         }
     }
 
+    /**
+     * Converts the states stored as JSON by earlier versions to the binary encoding.
+     */
+    private void migrateLegacyMap() {
+        if (!db.exists(LEGACY_MAP_NAME)) {
+            return;
+        }
+        Map<String, String> legacyMap = db.getTreeMap(LEGACY_MAP_NAME);
+        int count = 0;
+        for (Map.Entry<String, String> entry : legacyMap.entrySet()) {
+            Optional<MapDbItem> item = deserialize(entry.getValue());
+            if (item.isPresent() && !map.containsKey(entry.getKey())) {
+                try {
+                    map.put(entry.getKey(), MapDbItemCodec.encode(item.get()));
+                    count++;
+                } catch (IOException e) {
+                    logger.warn("Failed to migrate state of '{}': {}", entry.getKey(), e.getMessage());
+                }
+            }
+        }
+        db.delete(LEGACY_MAP_NAME);
+        db.commit();
+        logger.info("Migrated {} states in MapDB to binary encoding", count);
+    }
+
     @Override
     public String getId() {
         return SERVICE_ID;
@@ -159,7 +220,9 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
+        Stream<MapDbItem> storedItems = map.entrySet().stream().filter(e -> !pendingItems.containsKey(e.getKey()))
+                .map(e -> decode(e.getKey(), e.getValue())).flatMap(MapDbPersistenceService::streamOptional);
+        return Stream.concat(storedItems, pendingItems.values().stream())
                 .collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
     }
 
@@ -183,26 +246,84 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setName(localAlias);
         mItem.setState(state);
         mItem.setTimestamp(new Date());
+        long commitInterval = this.commitInterval;
+        if (commitInterval > 0) {
+            // group commit: only the latest state per item is written when the commit interval has passed
+            pendingItems.put(localAlias, mItem);
+            if (commitPending.compareAndSet(false, true)) {
+                threadPool.schedule(this::commit, commitInterval, TimeUnit.MILLISECONDS);
+            }
+            return;
+        }
         threadPool.submit(() -> {
-            String json = serialize(mItem);
-            map.put(localAlias, json);
-            db.commit();
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
+            if (put(localAlias, mItem)) {
+                db.commit();
+                logger.debug("Stored '{}' with state '{}' in MapDB database", localAlias, state);
+            }
         });
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
+        String itemName = filter.getItemName();
+        if (itemName == null) {
             return List.of();
         }
-        Optional<MapDbItem> item = deserialize(json);
+        MapDbItem pendingItem = pendingItems.get(itemName);
+        if (pendingItem != null) {
+            return List.of(pendingItem);
+        }
+        byte[] data = map.get(itemName);
+        if (data == null) {
+            return List.of();
+        }
+        Optional<MapDbItem> item = decode(itemName, data);
         return item.isPresent() ? List.of(item.get()) : List.of();
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+    /**
+     * Writes all pending states to the database and commits them at once.
+     */
+    private synchronized void commit() {
+        commitPending.set(false);
+        if (pendingItems.isEmpty()) {
+            return;
+        }
+        int count = 0;
+        for (Map.Entry<String, MapDbItem> entry : pendingItems.entrySet()) {
+            String name = entry.getKey();
+            MapDbItem item = entry.getValue();
+            if (put(name, item)) {
+                count++;
+            }
+            // keep a state that was stored in the meantime for the next commit
+            pendingItems.remove(name, item);
+        }
+        db.commit();
+        logger.debug("Committed {} states to MapDB database", count);
+    }
+
+    private boolean put(String name, MapDbItem item) {
+        try {
+            map.put(name, MapDbItemCodec.encode(item));
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to encode state '{}' of '{}': {}", item.getState(), name, e.getMessage());
+            return false;
+        }
+    }
+
+    private Optional<MapDbItem> decode(String name, byte[] data) {
+        try {
+            MapDbItem item = MapDbItemCodec.decode(name, data);
+            if (item != null) {
+                return Optional.of(item);
+            }
+            logger.warn("Failed to decode stored state of '{}'", name);
+        } catch (IOException e) {
+            logger.warn("Failed to decode stored state of '{}': {}", name, e.getMessage());
+        }
+        return Optional.empty();
     }
 
     @SuppressWarnings("null")
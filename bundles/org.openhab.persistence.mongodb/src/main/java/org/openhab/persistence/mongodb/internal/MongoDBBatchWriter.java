@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+
+/**
+ * The {@link MongoDBBatchWriter} buffers the documents to store and writes them with unordered bulk inserts.
+ *
+ * A batch is written as soon as it is full, buffered documents are written at least once per linger time. The buffer
+ * is bounded: if the database can't keep up, storing waits for free space for a short time and then drops the
+ * document. Documents that could not be written because the database is not available are retried before any newer
+ * document is written.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MongoDBBatchWriter {
+    private static final long OFFER_TIMEOUT_MS = 1000;
+    private static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+
+    private final Logger logger = LoggerFactory.getLogger(MongoDBBatchWriter.class);
+
+    private record Entry(String collectionName, Document document) {
+    }
+
+    private final Function<String, @Nullable MongoCollection<Document>> collections;
+    private final ScheduledExecutorService scheduler;
+    private final int batchSize;
+    private final BlockingQueue<Entry> queue;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledFuture<?> flushJob;
+    // guarded by this, documents of the last batch that could not be written, they are written first
+    private List<Entry> retry = List.of();
+
+    /**
+     * @param collections returns the collection with the given name, or null if the database is not available
+     * @param scheduler executes the writes
+     * @param batchSize maximum number of documents written with one bulk insert
+     * @param lingerTimeMs maximum time a document is buffered before it is written, in milliseconds
+     * @param maxQueueSize maximum number of buffered documents
+     */
+    public MongoDBBatchWriter(Function<String, @Nullable MongoCollection<Document>> collections,
+            ScheduledExecutorService scheduler, int batchSize, long lingerTimeMs, int maxQueueSize) {
+        this.collections = collections;
+        this.scheduler = scheduler;
+        this.batchSize = Math.max(1, batchSize);
+        this.queue = new LinkedBlockingQueue<>(Math.max(this.batchSize, maxQueueSize));
+        long interval = Math.max(1, lingerTimeMs);
+        this.flushJob = scheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queue a document
+     *
+     * @param collectionName the name of the collection the document is inserted into
+     * @param document the document
+     * @return false if the document was dropped because the buffer is full
+     */
+    public boolean add(String collectionName, Document document) {
+        try {
+            if (!queue.offer(new Entry(collectionName, document), OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (queue.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            // don't wait for the linger time if a batch is complete
+            scheduler.execute(this::flush);
+        }
+        return true;
+    }
+
+    /**
+     * Write all buffered documents and stop writing in the background. Documents added later are written on the next
+     * call of this method.
+     */
+    public void close() {
+        flushJob.cancel(false);
+        synchronized (this) {
+            flush();
+            if (!queue.isEmpty() || !retry.isEmpty()) {
+                logger.warn("MongoDB failed to finally store {} documents.", queue.size() + retry.size());
+            }
+        }
+    }
+
+    private synchronized void flush() {
+        flushScheduled.set(false);
+        List<Entry> batch = new ArrayList<>(retry);
+        retry = List.of();
+        if (batch.isEmpty()) {
+            queue.drainTo(batch, batchSize);
+        }
+        while (!batch.isEmpty()) {
+            List<Entry> unwritten = write(batch);
+            if (!unwritten.isEmpty()) {
+                // the database is not available, retry after the linger time, before newer documents
+                retry = unwritten;
+                return;
+            }
+            batch.clear();
+            queue.drainTo(batch, batchSize);
+        }
+    }
+
+    /**
+     * Write a batch
+     *
+     * @return the entries that were not written because the database is not available
+     */
+    private List<Entry> write(List<Entry> batch) {
+        Map<String, List<Entry>> entriesByCollection = new LinkedHashMap<>();
+        for (Entry entry : batch) {
+            entriesByCollection.computeIfAbsent(entry.collectionName(), name -> new ArrayList<>()).add(entry);
+        }
+
+        long start = System.nanoTime();
+        List<Entry> unwritten = new ArrayList<>();
+        for (Map.Entry<String, List<Entry>> entries : entriesByCollection.entrySet()) {
+            if (!unwritten.isEmpty()) {
+                unwritten.addAll(entries.getValue());
+                continue;
+            }
+            MongoCollection<Document> collection = collections.apply(entries.getKey());
+            if (collection == null) {
+                // Logging is done when resolving the collection
+                unwritten.addAll(entries.getValue());
+                continue;
+            }
+            try {
+                collection.insertMany(entries.getValue().stream().map(Entry::document).toList(), UNORDERED);
+            } catch (MongoBulkWriteException e) {
+                // unordered inserts write all other documents of the batch
+                logger.warn("MongoDB failed to store {} of {} documents in collection {}: {}",
+                        e.getWriteErrors().size(), entries.getValue().size(), entries.getKey(), e.getMessage());
+            } catch (MongoException e) {
+                logger.warn("MongoDB failed to store {} documents in collection {}: {}", entries.getValue().size(),
+                        entries.getKey(), e.getMessage());
+                unwritten.addAll(entries.getValue());
+            }
+        }
+        logger.debug("MongoDB stored {} documents in {} ms", batch.size() - unwritten.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return unwritten;
+    }
+}
@@ -21,10 +21,13 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -59,12 +62,12 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.mongodb.BasicDBObject;
-import com.mongodb.DBCollection;
-import com.mongodb.DBCursor;
-import com.mongodb.DBObject;
-import com.mongodb.MongoClient;
-import com.mongodb.MongoClientURI;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Indexes;
 
 /**
  * This is the implementation of the MongoDB {@link PersistenceService}.
@@ -83,6 +86,10 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     private static final String FIELD_TIMESTAMP = "timestamp";
     private static final String FIELD_VALUE = "value";
 
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final int DEFAULT_LINGER_TIME = 1000; // in ms
+    private static final int DEFAULT_MAX_QUEUE_SIZE = 10000;
+
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
     private String url = "";
@@ -95,6 +102,9 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     protected final ItemRegistry itemRegistry;
 
     private @Nullable MongoClient cl;
+    // the collections of the current connection, with the index already created
+    private final Map<String, MongoCollection<Document>> collections = new ConcurrentHashMap<>();
+    private @Nullable MongoDBBatchWriter writer;
 
     @Activate
     public MongoDBPersistenceService(final @Reference ItemRegistry itemRegistry) {
@@ -131,12 +141,36 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             logger.warn("Failed to connect to MongoDB server. Trying to reconnect later.");
         }
 
+        writer = new MongoDBBatchWriter(this::connectToCollection,
+                ThreadPoolManager.getScheduledPool("org.openhab.mongodb"),
+                getIntConfig(config, "batchSize", DEFAULT_BATCH_SIZE),
+                getIntConfig(config, "lingerTime", DEFAULT_LINGER_TIME),
+                getIntConfig(config, "maxQueueSize", DEFAULT_MAX_QUEUE_SIZE));
         initialized = true;
     }
 
+    private int getIntConfig(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        if (value instanceof Number number) {
+            return number.intValue();
+        } else if (value instanceof String string && !string.isBlank()) {
+            try {
+                return Integer.parseInt(string.trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for mongodb:{}, using {}", string, key, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        initialized = false;
+        MongoDBBatchWriter writer = this.writer;
+        if (writer != null) {
+            writer.close();
+        }
         disconnectFromDatabase();
     }
 
@@ -158,43 +192,31 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         }
 
         // If we've not initialized the bundle, then return
-        if (!initialized) {
+        MongoDBBatchWriter writer = this.writer;
+        if (!initialized || writer == null) {
             logger.warn("MongoDB not initialized");
             return;
         }
 
-        // Connect to mongodb server if we're not already connected
-        // If we can't connect, log.
-        if (!tryConnectToDatabase()) {
-            logger.warn(
-                    "mongodb: No connection to database. Cannot persist item '{}'! Will retry connecting to database next time.",
-                    item);
-            return;
-        }
-
         String realItemName = item.getName();
         String collectionName = collectionPerItem ? realItemName : this.collection;
 
-        @Nullable
-        DBCollection collection = connectToCollection(collectionName);
-
-        if (collection == null) {
-            // Logging is done in connectToCollection()
-            return;
-        }
-
         String name = (alias != null) ? alias : realItemName;
         Object value = this.convertValue(item.getState());
 
-        DBObject obj = new BasicDBObject();
+        Document obj = new Document();
         obj.put(FIELD_ID, new ObjectId());
         obj.put(FIELD_ITEM, name);
         obj.put(FIELD_REALNAME, realItemName);
         obj.put(FIELD_TIMESTAMP, new Date());
         obj.put(FIELD_VALUE, value);
-        collection.save(obj);
 
-        logger.debug("MongoDB save {}={}", name, value);
+        // the document is written in the background, the database connection is (re)established there
+        if (writer.add(collectionName, obj)) {
+            logger.debug("MongoDB save {}={}", name, value);
+        } else {
+            logger.warn("MongoDB buffer is full. Cannot persist item '{}'!", item);
+        }
     }
 
     private Object convertValue(State state) {
@@ -236,7 +258,7 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         // Network problems may cause failure sometimes,
         // even if the connection object was successfully created before.
         try {
-            cl.getAddress();
+            cl.getDatabase(this.db).runCommand(new Document("ping", 1));
             return true;
         } catch (Exception ex) {
             return false;
@@ -257,11 +279,12 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             logger.debug("Connect MongoDB");
             disconnectFromDatabase();
 
-            this.cl = new MongoClient(new MongoClientURI(this.url));
+            MongoClient client = MongoClients.create(this.url);
+            this.cl = client;
 
             // The mongo always succeeds in creating the connection.
             // We have to actually force it to test the connection to try to connect to the server.
-            cl.getAddress();
+            client.getDatabase(this.db).runCommand(new Document("ping", 1));
 
             logger.debug("Connect MongoDB ... done");
             return true;
@@ -282,11 +305,22 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
     }
 
     /**
-     * Connects to the Collection
+     * Connects to the Collection, (re)connecting to the database if necessary
      *
      * @return The collection object when collection creation was successful. Null otherwise.
      */
-    private @Nullable DBCollection connectToCollection(String collectionName) {
+    private @Nullable MongoCollection<Document> connectToCollection(String collectionName) {
+        // the client reconnects by itself to a known server, so only new collections need to check the connection
+        MongoCollection<Document> mongoCollection = collections.get(collectionName);
+        if (mongoCollection != null) {
+            return mongoCollection;
+        }
+
+        if (!tryConnectToDatabase()) {
+            logger.warn("mongodb: No connection to database. Will retry connecting to database next time.");
+            return null;
+        }
+
         try {
             @Nullable
             MongoClient db = getDatabase();
@@ -296,11 +330,9 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
                 return null;
             }
 
-            DBCollection mongoCollection = db.getDB(this.db).getCollection(collectionName);
-
-            BasicDBObject idx = new BasicDBObject();
-            idx.append(FIELD_ITEM, 1).append(FIELD_TIMESTAMP, 1);
-            mongoCollection.createIndex(idx);
+            mongoCollection = db.getDatabase(this.db).getCollection(collectionName);
+            mongoCollection.createIndex(Indexes.ascending(FIELD_ITEM, FIELD_TIMESTAMP));
+            collections.put(collectionName, mongoCollection);
 
             return mongoCollection;
         } catch (Exception e) {
@@ -318,6 +350,7 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         }
 
         cl = null;
+        collections.clear();
     }
 
     @Override
@@ -338,7 +371,7 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
 
         String collectionName = collectionPerItem ? realItemName : this.collection;
         @Nullable
-        DBCollection collection = connectToCollection(collectionName);
+        MongoCollection<Document> collection = connectToCollection(collectionName);
 
         // If collection creation failed, return nothing.
         if (collection == null) {
@@ -354,8 +387,7 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             return Collections.emptyList();
         }
 
-        List<HistoricItem> items = new ArrayList<>();
-        BasicDBObject query = new BasicDBObject();
+        Document query = new Document();
         if (filter.getItemName() != null) {
             query.put(FIELD_ITEM, filter.getItemName());
         }
@@ -370,10 +402,10 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
             }
 
             Object value = convertValue(filterState);
-            query.put(FIELD_VALUE, new BasicDBObject(op, value));
+            query.put(FIELD_VALUE, new Document(op, value));
         }
 
-        BasicDBObject dateQueries = new BasicDBObject();
+        Document dateQueries = new Document();
         if (filter.getBeginDate() != null) {
             dateQueries.put("$gte", Date.from(filter.getBeginDate().toInstant()));
         }
@@ -387,37 +419,44 @@ public class MongoDBPersistenceService implements QueryablePersistenceService {
         logger.debug("Query: {}", query);
 
         Integer sortDir = (filter.getOrdering() == Ordering.ASCENDING) ? 1 : -1;
-        DBCursor cursor = collection.find(query).sort(new BasicDBObject(FIELD_TIMESTAMP, sortDir))
-                .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize());
-
-        while (cursor.hasNext()) {
-            BasicDBObject obj = (BasicDBObject) cursor.next();
-
-            final State state;
-            if (item instanceof NumberItem) {
-                state = new DecimalType(obj.getDouble(FIELD_VALUE));
-            } else if (item instanceof DimmerItem) {
-                state = new PercentType(obj.getInt(FIELD_VALUE));
-            } else if (item instanceof SwitchItem) {
-                state = OnOffType.valueOf(obj.getString(FIELD_VALUE));
-            } else if (item instanceof ContactItem) {
-                state = OpenClosedType.valueOf(obj.getString(FIELD_VALUE));
-            } else if (item instanceof RollershutterItem) {
-                state = new PercentType(obj.getInt(FIELD_VALUE));
-            } else if (item instanceof DateTimeItem) {
-                state = new DateTimeType(
-                        ZonedDateTime.ofInstant(obj.getDate(FIELD_VALUE).toInstant(), ZoneId.systemDefault()));
-            } else {
-                state = new StringType(obj.getString(FIELD_VALUE));
+        List<HistoricItem> items = new ArrayList<>();
+        // read the page with a single cursor, which is closed even if the conversion fails
+        try (MongoCursor<Document> cursor = collection.find(query).sort(new Document(FIELD_TIMESTAMP, sortDir))
+                .skip(filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize()).iterator()) {
+            while (cursor.hasNext()) {
+                items.add(toHistoricItem(item, realItemName, cursor.next()));
             }
-
-            items.add(new MongoDBItem(realItemName, state,
-                    ZonedDateTime.ofInstant(obj.getDate(FIELD_TIMESTAMP).toInstant(), ZoneId.systemDefault())));
+        } catch (MongoException | ClassCastException | IllegalArgumentException | NullPointerException e) {
+            logger.warn("MongoDB failed to query item {}: {}", realItemName, e.getMessage());
+            return Collections.emptyList();
         }
 
         return items;
     }
 
+    private HistoricItem toHistoricItem(Item item, String realItemName, Document obj) {
+        final State state;
+        if (item instanceof NumberItem) {
+            state = new DecimalType(obj.get(FIELD_VALUE, Number.class).doubleValue());
+        } else if (item instanceof DimmerItem) {
+            state = new PercentType(obj.get(FIELD_VALUE, Number.class).intValue());
+        } else if (item instanceof SwitchItem) {
+            state = OnOffType.valueOf(String.valueOf(obj.get(FIELD_VALUE)));
+        } else if (item instanceof ContactItem) {
+            state = OpenClosedType.valueOf(String.valueOf(obj.get(FIELD_VALUE)));
+        } else if (item instanceof RollershutterItem) {
+            state = new PercentType(obj.get(FIELD_VALUE, Number.class).intValue());
+        } else if (item instanceof DateTimeItem) {
+            state = new DateTimeType(
+                    ZonedDateTime.ofInstant(obj.getDate(FIELD_VALUE).toInstant(), ZoneId.systemDefault()));
+        } else {
+            state = new StringType(String.valueOf(obj.get(FIELD_VALUE)));
+        }
+
+        return new MongoDBItem(realItemName, state,
+                ZonedDateTime.ofInstant(obj.getDate(FIELD_TIMESTAMP).toInstant(), ZoneId.systemDefault()));
+    }
+
     private @Nullable String convertOperator(Operator operator) {
         switch (operator) {
             case EQ:
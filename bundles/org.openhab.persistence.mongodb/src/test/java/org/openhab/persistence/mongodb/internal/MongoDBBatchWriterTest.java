@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+
+/**
+ * Tests the {@link MongoDBBatchWriter} with a mocked collection and scheduler.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class MongoDBBatchWriterTest {
+
+    private static final String COLLECTION = "items";
+
+    private @Mock @NonNullByDefault({}) MongoCollection<Document> collection;
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @Mock @NonNullByDefault({}) ScheduledFuture<?> flushJob;
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(flushJob).when(scheduler).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(),
+                any(TimeUnit.class));
+    }
+
+    private MongoDBBatchWriter createWriter(int batchSize, int maxQueueSize) {
+        return new MongoDBBatchWriter(name -> collection, scheduler, batchSize, 1000, maxQueueSize);
+    }
+
+    private Runnable lingerFlush() {
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).scheduleWithFixedDelay(flush.capture(), eq(1000L), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        return flush.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Document>> insertedBatches(int expectedCalls) {
+        ArgumentCaptor<List<Document>> batches = ArgumentCaptor.forClass(List.class);
+        verify(collection, times(expectedCalls)).insertMany(batches.capture(), any(InsertManyOptions.class));
+        return batches.getAllValues();
+    }
+
+    private static Document document(int value) {
+        return new Document("value", value);
+    }
+
+    @Test
+    public void testBatchesAreLimitedToBatchSize() {
+        MongoDBBatchWriter writer = createWriter(2, 10);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(writer.add(COLLECTION, document(i)));
+        }
+
+        lingerFlush().run();
+
+        List<List<Document>> batches = insertedBatches(3);
+        assertEquals(List.of(document(0), document(1)), batches.get(0));
+        assertEquals(List.of(document(2), document(3)), batches.get(1));
+        assertEquals(List.of(document(4)), batches.get(2));
+    }
+
+    @Test
+    public void testFullBatchIsWrittenBeforeLingerTime() {
+        MongoDBBatchWriter writer = createWriter(2, 10);
+        writer.add(COLLECTION, document(0));
+        verify(scheduler, never()).execute(any(Runnable.class));
+
+        writer.add(COLLECTION, document(1));
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).execute(flush.capture());
+        flush.getValue().run();
+
+        assertEquals(List.of(List.of(document(0), document(1))), insertedBatches(1));
+    }
+
+    @Test
+    public void testLingerFlushWritesIncompleteBatch() {
+        MongoDBBatchWriter writer = createWriter(100, 1000);
+        writer.add(COLLECTION, document(0));
+        verify(collection, never()).insertMany(anyList(), any(InsertManyOptions.class));
+
+        lingerFlush().run();
+
+        assertEquals(List.of(List.of(document(0))), insertedBatches(1));
+    }
+
+    @Test
+    public void testBatchIsRequeuedWhenDatabaseIsUnavailable() {
+        doThrow(new MongoException("not available")).doNothing().when(collection).insertMany(anyList(),
+                any(InsertManyOptions.class));
+        MongoDBBatchWriter writer = createWriter(100, 1000);
+        writer.add(COLLECTION, document(0));
+        writer.add(COLLECTION, document(1));
+
+        Runnable flush = lingerFlush();
+        flush.run();
+        flush.run();
+
+        List<List<Document>> batches = insertedBatches(2);
+        assertEquals(List.of(document(0), document(1)), batches.get(0));
+        assertEquals(List.of(document(0), document(1)), batches.get(1));
+    }
+
+    @Test
+    public void testRetriedBatchIsWrittenBeforeNewerDocuments() {
+        doThrow(new MongoException("not available")).doNothing().when(collection).insertMany(anyList(),
+                any(InsertManyOptions.class));
+        MongoDBBatchWriter writer = createWriter(2, 2);
+        writer.add(COLLECTION, document(0));
+        writer.add(COLLECTION, document(1));
+
+        Runnable flush = lingerFlush();
+        flush.run();
+        // the failed batch is kept apart, so it is not lost when the queue fills up again
+        assertTrue(writer.add(COLLECTION, document(2)));
+        assertTrue(writer.add(COLLECTION, document(3)));
+        flush.run();
+
+        List<List<Document>> batches = insertedBatches(3);
+        assertEquals(List.of(document(0), document(1)), batches.get(1));
+        assertEquals(List.of(document(2), document(3)), batches.get(2));
+    }
+
+    @Test
+    public void testBatchIsNotRequeuedOnWriteErrors() {
+        MongoBulkWriteException e = new MongoBulkWriteException(BulkWriteResult.unacknowledged(),
+                List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 0)), null,
+                new ServerAddress());
+        doThrow(e).when(collection).insertMany(anyList(), any(InsertManyOptions.class));
+        MongoDBBatchWriter writer = createWriter(100, 1000);
+        writer.add(COLLECTION, document(0));
+        writer.add(COLLECTION, document(1));
+
+        Runnable flush = lingerFlush();
+        flush.run();
+        flush.run();
+
+        insertedBatches(1);
+    }
+
+    @Test
+    public void testDocumentIsDroppedWhenQueueIsFull() {
+        MongoDBBatchWriter writer = createWriter(2, 2);
+        assertTrue(writer.add(COLLECTION, document(0)));
+        assertTrue(writer.add(COLLECTION, document(1)));
+
+        // the scheduled flush is not run by the mocked scheduler, so the queue stays full
+        assertFalse(writer.add(COLLECTION, document(2)));
+
+        lingerFlush().run();
+        assertEquals(List.of(List.of(document(0), document(1))), insertedBatches(1));
+    }
+
+    @Test
+    public void testCloseWritesBufferedDocuments() {
+        MongoDBBatchWriter writer = createWriter(100, 1000);
+        writer.add(COLLECTION, document(0));
+        writer.add(COLLECTION, document(1));
+
+        writer.close();
+
+        verify(flushJob).cancel(false);
+        assertEquals(List.of(List.of(document(0), document(1))), insertedBatches(1));
+    }
+}
@@ -22,10 +22,13 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.Executors;
@@ -43,6 +46,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
@@ -79,6 +83,7 @@ import org.rrd4j.ConsolFun;
 import org.rrd4j.DsType;
 import org.rrd4j.core.FetchData;
 import org.rrd4j.core.FetchRequest;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDb.Builder;
 import org.rrd4j.core.RrdDbPool;
@@ -107,6 +112,12 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     private static final String DEFAULT_NUMERIC = "default_numeric";
     private static final String DEFAULT_QUANTIFIABLE = "default_quantifiable";
 
+    private static final String LANES_CONFIG = "lanes";
+    private static final String BACKEND_CONFIG = "backend";
+    private static final int DEFAULT_LANES = 1;
+    private static final String DEFAULT_BACKEND = "NIO";
+    private static final Set<String> SUPPORTED_BACKENDS = Set.of("NIO", "FILE");
+
     private static final Set<String> SUPPORTED_TYPES = Set.of(CoreItemFactory.SWITCH, CoreItemFactory.CONTACT,
             CoreItemFactory.DIMMER, CoreItemFactory.NUMBER, CoreItemFactory.ROLLERSHUTTER, CoreItemFactory.COLOR);
 
@@ -127,6 +138,11 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     private final ItemRegistry itemRegistry;
     private boolean active = false;
 
+    // every item is written by the lane selected by the hash of its name, see getWriterLane
+    private final Object writerLanesLock = new Object();
+    private List<RRD4jWriterLane> writerLanes = List.of();
+    private volatile RrdBackendFactory backendFactory = RrdBackendFactory.getFactory(DEFAULT_BACKEND);
+
     public static Path getDatabasePath(String name) {
         return DB_FOLDER.resolve(name + ".rrd");
     }
@@ -140,13 +156,15 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     @Activate
     public RRD4jPersistenceService(final @Reference ItemRegistry itemRegistry, Map<String, Object> config) {
         this.itemRegistry = itemRegistry;
-        storeJob = scheduler.scheduleWithFixedDelay(() -> doStore(false), 1, 1, TimeUnit.SECONDS);
         modified(config);
+        storeJob = scheduler.scheduleWithFixedDelay(() -> doStore(false), 1, 1, TimeUnit.SECONDS);
         active = true;
     }
 
     @Modified
     protected void modified(final Map<String, Object> config) {
+        configureWriter(config);
+
         // clean existing definitions
         rrdDefs.clear();
 
@@ -198,8 +216,9 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         while (keys.hasNext()) {
             String key = keys.next();
 
-            if ("service.pid".equals(key) || "component.name".equals(key)) {
-                // ignore service.pid and name
+            if ("service.pid".equals(key) || "component.name".equals(key) || LANES_CONFIG.equals(key)
+                    || BACKEND_CONFIG.equals(key)) {
+                // ignore service.pid and name, writer settings are handled by configureWriter
                 continue;
             }
 
@@ -260,6 +279,64 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
         // make sure we really store everything
         doStore(true);
+        List<RRD4jWriterLane> oldLanes;
+        synchronized (writerLanesLock) {
+            oldLanes = writerLanes;
+            writerLanes = List.of();
+        }
+        oldLanes.forEach(RRD4jWriterLane::shutdown);
+    }
+
+    private void configureWriter(final Map<String, Object> config) {
+        Object backend = config.get(BACKEND_CONFIG);
+        String backendName = backend instanceof String s && !s.isBlank() ? s.trim().toUpperCase(Locale.ROOT)
+                : DEFAULT_BACKEND;
+        if (!SUPPORTED_BACKENDS.contains(backendName)) {
+            logger.warn("Unsupported rrd4j backend '{}', using '{}'", backend, DEFAULT_BACKEND);
+            backendName = DEFAULT_BACKEND;
+        }
+        // the pool closes a database file when it is no longer used, so the backend applies to all files opened after
+        // this change, files being read or written at this moment keep their backend until they are released
+        backendFactory = RrdBackendFactory.getFactory(backendName);
+
+        int laneCount = DEFAULT_LANES;
+        try {
+            laneCount = Math.max(1, ConfigParser.valueAsOrElse(config.get(LANES_CONFIG), Integer.class, DEFAULT_LANES));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring illegal configuration: {}", e.getMessage());
+        }
+
+        List<RRD4jWriterLane> oldLanes;
+        // the new lanes start writing when the old lanes have written all samples, so the samples of an item stay in
+        // order; the old lanes are shut down without holding the lock, which would block storing new samples
+        CompletableFuture<@Nullable Void> oldLanesDone = new CompletableFuture<>();
+        synchronized (writerLanesLock) {
+            if (writerLanes.size() == laneCount) {
+                return;
+            }
+            oldLanes = writerLanes;
+            List<RRD4jWriterLane> lanes = new ArrayList<>(laneCount);
+            for (int i = 0; i < laneCount; i++) {
+                lanes.add(new RRD4jWriterLane(i, this::writeToDatabase, oldLanesDone));
+            }
+            writerLanes = List.copyOf(lanes);
+            logger.debug("Using {} rrd4j writer lane(s) with backend {}", laneCount, backendName);
+        }
+        try {
+            oldLanes.forEach(RRD4jWriterLane::shutdown);
+        } finally {
+            oldLanesDone.complete(null);
+        }
+    }
+
+    private RRD4jWriterLane getWriterLane(String name) {
+        return writerLanes.get(RRD4jWriterLane.getLaneIndex(name, writerLanes.size()));
+    }
+
+    public List<RRD4jWriterLane> getWriterLanes() {
+        synchronized (writerLanesLock) {
+            return writerLanes;
+        }
     }
 
     @Override
@@ -333,14 +410,28 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                 // no new elements can be added for this timestamp because we are already past that time or the service
                 // requires forced storing
                 Map<String, Double> values = storageMap.pollFirstEntry().getValue();
-                values.forEach((name, value) -> writePointToDatabase(name, value, timestamp));
+                synchronized (writerLanesLock) {
+                    if (writerLanes.isEmpty()) {
+                        logger.debug("Discarding {} value(s) with timestamp {}, the service is shut down",
+                                values.size(), timestamp);
+                        continue;
+                    }
+                    values.forEach((name, value) -> getWriterLane(name).add(name, timestamp, value));
+                }
             } else {
                 return;
             }
         }
     }
 
-    private synchronized void writePointToDatabase(String name, double value, long timestamp) {
+    /**
+     * Writes the samples of an item, called by the {@link RRD4jWriterLane} the item is assigned to. Unless the
+     * database uses the AVERAGE consolidation function, only the last sample within each step is written, as
+     * intermediate values would be overwritten by the consolidation anyway.
+     *
+     * @return the number of written samples
+     */
+    private int writeToDatabase(String name, NavigableMap<Long, Double> samples) {
         RrdDb db = null;
         try {
             db = getDB(name, true);
@@ -348,10 +439,57 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
             logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
         }
         if (db == null) {
-            return;
+            return 0;
         }
 
-        ConsolFun function = getConsolidationFunction(db);
+        int written = 0;
+        try {
+            ConsolFun function = getConsolidationFunction(db);
+            long step = db.getRrdDef().getStep();
+            boolean counter = db.getDatasource(DATASOURCE_STATE).getType() == DsType.COUNTER;
+            Map<Long, Double> toStore = function == ConsolFun.AVERAGE ? samples : coalesce(samples, step);
+            if (toStore.size() < samples.size()) {
+                logger.trace("Coalesced {} samples of '{}' to {}", samples.size(), name, toStore.size());
+            }
+            for (Map.Entry<Long, Double> sample : toStore.entrySet()) {
+                writePointToDatabase(db, function, step, counter, name, sample.getValue(), sample.getKey());
+                written++;
+            }
+        } catch (IOException e) {
+            logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
+        }
+        try {
+            db.close();
+        } catch (IOException e) {
+            logger.debug("Error closing rrd4j database: {}", e.getMessage());
+        }
+        return written;
+    }
+
+    // keeps the last sample of every step, a step ends with a timestamp that is a multiple of the step size
+    private static Map<Long, Double> coalesce(NavigableMap<Long, Double> samples, long step) {
+        if (samples.size() == 1 || step <= 1) {
+            return samples;
+        }
+        Map<Long, Double> coalesced = new LinkedHashMap<>();
+        long lastBucket = Long.MIN_VALUE;
+        long lastTimestamp = 0;
+        double lastValue = 0;
+        for (Map.Entry<Long, Double> sample : samples.entrySet()) {
+            long bucket = Math.floorDiv(sample.getKey() - 1, step);
+            if (bucket != lastBucket && lastBucket != Long.MIN_VALUE) {
+                coalesced.put(lastTimestamp, lastValue);
+            }
+            lastBucket = bucket;
+            lastTimestamp = sample.getKey();
+            lastValue = sample.getValue();
+        }
+        coalesced.put(lastTimestamp, lastValue);
+        return coalesced;
+    }
+
+    private void writePointToDatabase(RrdDb db, ConsolFun function, long step, boolean counter, String name,
+            double value, long timestamp) {
         if (function != ConsolFun.AVERAGE) {
             try {
                 // we store the last value again, so that the value change
@@ -377,9 +515,9 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
             Sample sample = db.createSample();
             sample.setTime(timestamp);
             double storeValue = value;
-            if (db.getDatasource(DATASOURCE_STATE).getType() == DsType.COUNTER) {
+            if (counter) {
                 // counter values must be adjusted by stepsize
-                storeValue = value * db.getRrdDef().getStep();
+                storeValue = value * step;
             }
             sample.setValue(DATASOURCE_STATE, storeValue);
             sample.update();
@@ -387,11 +525,6 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         } catch (Exception e) {
             logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
         }
-        try {
-            db.close();
-        } catch (IOException e) {
-            logger.debug("Error closing rrd4j database: {}", e.getMessage());
-        }
     }
 
     @Override
@@ -513,12 +646,15 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return Set.of();
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+    // not synchronized: the pool serializes access to the same file, and files are only created by the writer lane
+    // of the item
+    protected @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
         RrdDb db = null;
         Path path = getDatabasePath(alias);
         try {
             Builder builder = RrdDb.getBuilder();
             builder.setPool(DATABASE_POOL);
+            builder.setBackendFactory(backendFactory);
 
             if (Files.exists(path)) {
                 // recreate the RrdDb instance from the file
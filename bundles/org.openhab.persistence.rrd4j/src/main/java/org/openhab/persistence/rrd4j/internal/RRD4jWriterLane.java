@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RRD4jWriterLane} writes the samples of a fixed subset of items to their rrd4j databases on its own
+ * thread. As every item is assigned to exactly one lane, the database files of different lanes can be written in
+ * parallel while the samples of a single item are still written in order.
+ *
+ * Samples that arrive while the lane is busy are collected per item and written with the next batch.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jWriterLane {
+
+    /**
+     * Writes the collected samples of one item.
+     */
+    @FunctionalInterface
+    interface ItemWriter {
+        /**
+         * @param name the item name (or alias)
+         * @param samples the values by timestamp in seconds
+         * @return the number of samples actually written to the database
+         */
+        int write(String name, NavigableMap<Long, Double> samples);
+    }
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final Logger logger = LoggerFactory.getLogger(RRD4jWriterLane.class);
+
+    private final int index;
+    private final ItemWriter writer;
+    private final ExecutorService executor;
+
+    // guarded by this
+    private Map<String, NavigableMap<Long, Double>> pending = new HashMap<>();
+    private int pendingSamples = 0;
+    private boolean drainScheduled = false;
+
+    private final AtomicLong receivedSamples = new AtomicLong();
+    private final AtomicLong writtenSamples = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile long lastLag = 0;
+    private volatile long maxLag = 0;
+
+    RRD4jWriterLane(int index, ItemWriter writer) {
+        this(index, writer, CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * @param index the index of the lane
+     * @param writer the writer for the samples of an item
+     * @param previousLanesDone completes when the lanes replaced by this lane have written their samples, the samples
+     *            of this lane are written afterwards so that the samples of an item stay in order
+     */
+    RRD4jWriterLane(int index, ItemWriter writer, CompletableFuture<?> previousLanesDone) {
+        this.index = index;
+        this.writer = writer;
+        this.executor = Executors.newSingleThreadExecutor(new NamedThreadFactory("RRD4j-writer-" + index));
+        if (!previousLanesDone.isDone()) {
+            executor.execute(() -> awaitPreviousLanes(previousLanesDone));
+        }
+    }
+
+    private void awaitPreviousLanes(CompletableFuture<?> previousLanesDone) {
+        try {
+            previousLanesDone.get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("rrd4j writer lane {} starts writing before the previous lanes have finished", index);
+        }
+    }
+
+    /**
+     * Returns the index of the lane the samples of an item are written by.
+     *
+     * @param name the item name (or alias)
+     * @param laneCount the number of lanes
+     */
+    static int getLaneIndex(String name, int laneCount) {
+        return Math.floorMod(name.hashCode(), laneCount);
+    }
+
+    void add(String name, long timestamp, double value) {
+        synchronized (this) {
+            pending.computeIfAbsent(name, n -> new TreeMap<>()).put(timestamp, value);
+            pendingSamples++;
+            receivedSamples.incrementAndGet();
+            if (drainScheduled) {
+                return;
+            }
+            drainScheduled = true;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // the lane is shutting down, do not lose the sample
+            drain();
+        }
+    }
+
+    /**
+     * Stops the lane after all pending samples have been written.
+     */
+    void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("rrd4j writer lane {} did not finish writing within {} seconds", index,
+                        SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+    }
+
+    private void drain() {
+        Map<String, NavigableMap<Long, Double>> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new HashMap<>();
+            pendingSamples = 0;
+            drainScheduled = false;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        batches.incrementAndGet();
+        batch.forEach((name, samples) -> {
+            long lag = System.currentTimeMillis() / 1000 - samples.firstKey();
+            lastLag = lag;
+            if (lag > maxLag) {
+                maxLag = lag;
+            }
+            try {
+                writtenSamples.addAndGet(writer.write(name, samples));
+            } catch (RuntimeException e) {
+                logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
+            }
+        });
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public synchronized int getPendingSamples() {
+        return pendingSamples;
+    }
+
+    public long getReceivedSamples() {
+        return receivedSamples.get();
+    }
+
+    /**
+     * Returns the number of samples written to the databases. The difference to the received samples are the pending
+     * samples and the samples that were coalesced with a later sample of the same step.
+     */
+    public long getWrittenSamples() {
+        return writtenSamples.get();
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * Returns the age in seconds of the oldest sample of the item written last.
+     */
+    public long getLastLag() {
+        return lastLag;
+    }
+
+    /**
+     * Returns the maximum age in seconds of a sample when it was written.
+     */
+    public long getMaxLag() {
+        return maxLag;
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2010-2024 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link RRD4jWriterLane}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jWriterLaneTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    // the samples of each write call, in order
+    private final List<Map<String, NavigableMap<Long, Double>>> writes = new ArrayList<>();
+    private final List<RRD4jWriterLane> lanes = new ArrayList<>();
+    private final CountDownLatch firstWriteStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+
+    @AfterEach
+    public void tearDown() {
+        releaseFirstWrite.countDown();
+        lanes.forEach(RRD4jWriterLane::shutdown);
+    }
+
+    private RRD4jWriterLane createLane(CompletableFuture<?> previousLanesDone) {
+        RRD4jWriterLane lane = new RRD4jWriterLane(0, this::write, previousLanesDone);
+        lanes.add(lane);
+        return lane;
+    }
+
+    /**
+     * Records the samples, the first call blocks until it is released.
+     */
+    private int write(String name, NavigableMap<Long, Double> samples) {
+        boolean first;
+        synchronized (writes) {
+            first = writes.isEmpty();
+            writes.add(Map.of(name, new TreeMap<>(samples)));
+        }
+        if (first) {
+            firstWriteStarted.countDown();
+            try {
+                releaseFirstWrite.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return samples.size();
+    }
+
+    private Map<String, NavigableMap<Long, Double>> writtenSamples(int fromWrite) {
+        Map<String, NavigableMap<Long, Double>> samples = new HashMap<>();
+        synchronized (writes) {
+            writes.subList(fromWrite, writes.size()).forEach(write -> write.forEach(
+                    (name, values) -> samples.computeIfAbsent(name, n -> new TreeMap<>()).putAll(values)));
+        }
+        return samples;
+    }
+
+    @Test
+    public void samplesArrivingWhileBusyAreWrittenInOneBatch() throws InterruptedException {
+        RRD4jWriterLane lane = createLane(CompletableFuture.completedFuture(null));
+        lane.add("a", 1, 1.0);
+        assertThat(firstWriteStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), is(true));
+
+        lane.add("a", 3, 3.0);
+        lane.add("a", 2, 2.0);
+        lane.add("b", 2, 20.0);
+        assertThat(lane.getPendingSamples(), is(3));
+
+        releaseFirstWrite.countDown();
+        lane.shutdown();
+
+        assertThat(lane.getReceivedSamples(), is(4L));
+        assertThat(lane.getWrittenSamples(), is(4L));
+        assertThat(lane.getBatches(), is(2L));
+        assertThat(lane.getPendingSamples(), is(0));
+        // one write per item, with the samples of an item in order of their timestamps
+        assertThat(writes, hasSize(3));
+        Map<String, NavigableMap<Long, Double>> secondBatch = writtenSamples(1);
+        assertThat(new ArrayList<>(secondBatch.get("a").keySet()), is(List.of(2L, 3L)));
+        assertThat(secondBatch.get("b").get(2L), is(20.0));
+    }
+
+    @Test
+    public void laterSampleWithSameTimestampReplacesPendingSample() throws InterruptedException {
+        RRD4jWriterLane lane = createLane(CompletableFuture.completedFuture(null));
+        lane.add("a", 1, 1.0);
+        assertThat(firstWriteStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), is(true));
+
+        lane.add("a", 2, 2.0);
+        lane.add("a", 2, 4.0);
+
+        releaseFirstWrite.countDown();
+        lane.shutdown();
+
+        assertThat(lane.getReceivedSamples(), is(3L));
+        assertThat(lane.getWrittenSamples(), is(2L));
+        assertThat(writtenSamples(1).get("a"), is(new TreeMap<>(Map.of(2L, 4.0))));
+    }
+
+    @Test
+    public void samplesAreWrittenAfterPreviousLanesAreDone() throws InterruptedException {
+        CompletableFuture<?> previousLanesDone = new CompletableFuture<>();
+        RRD4jWriterLane lane = createLane(previousLanesDone);
+        lane.add("a", 1, 1.0);
+
+        assertThat(firstWriteStarted.await(200, TimeUnit.MILLISECONDS), is(false));
+        assertThat(lane.getPendingSamples(), is(1));
+
+        previousLanesDone.complete(null);
+        assertThat(firstWriteStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void shutdownWritesPendingSamples() {
+        releaseFirstWrite.countDown();
+        RRD4jWriterLane lane = createLane(CompletableFuture.completedFuture(null));
+        for (long i = 0; i < 100; i++) {
+            lane.add("item" + (i % 5), i, i);
+        }
+
+        lane.shutdown();
+
+        assertThat(lane.getWrittenSamples(), is(100L));
+        Map<String, NavigableMap<Long, Double>> samples = writtenSamples(0);
+        assertThat(samples.keySet(), hasSize(5));
+        samples.values().forEach(values -> assertThat(values.size(), is(20)));
+    }
+
+    @Test
+    public void samplesOfAnItemAreAlwaysRoutedToTheSameLane() {
+        for (int laneCount = 1; laneCount <= 8; laneCount++) {
+            for (String name : List.of("Temperature", "Humidity_Kitchen", "a", "")) {
+                int index = RRD4jWriterLane.getLaneIndex(name, laneCount);
+                assertThat(index, is(both(greaterThanOrEqualTo(0)).and(lessThan(laneCount))));
+                assertThat(RRD4jWriterLane.getLaneIndex(name, laneCount), is(index));
+            }
+        }
+        // a negative hash code must not result in a negative index
+        assertThat("polygenelubricants".hashCode(), is(Integer.MIN_VALUE));
+        assertThat(RRD4jWriterLane.getLaneIndex("polygenelubricants", 3),
+                is(both(greaterThanOrEqualTo(0)).and(lessThan(3))));
+    }
+
+    @Test
+    public void itemsAreDistributedOverAllLanes() {
+        int laneCount = 4;
+        int[] itemsPerLane = new int[laneCount];
+        for (int i = 0; i < 1000; i++) {
+            itemsPerLane[RRD4jWriterLane.getLaneIndex("Item" + i, laneCount)]++;
+        }
+        for (int count : itemsPerLane) {
+            assertThat(count, is(greaterThan(100)));
+        }
+    }
+}
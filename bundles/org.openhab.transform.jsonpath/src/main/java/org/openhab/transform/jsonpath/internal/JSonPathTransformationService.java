@@ -12,7 +12,9 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,6 +26,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -33,6 +36,9 @@ import com.jayway.jsonpath.PathNotFoundException;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by JSonPath Expressions.
  *
+ * Compiled expressions and the most recently parsed documents are cached, so that extracting several values from the
+ * same JSON document (e.g. one per channel) parses the document only once.
+ *
  * @author Gaël L'hopital
  * @author Sebastian Janzen
  *
@@ -41,8 +47,31 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(property = { "openhab.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    private static final int MAX_CACHED_PATHS = 1000;
+    private static final int MAX_CACHED_DOCUMENTS = 8;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    // compiled paths by expression, in access order; compiled paths are thread-safe
+    private final Map<String, JsonPath> compiledPaths = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JsonPath> eldest) {
+            return size() > MAX_CACHED_PATHS;
+        }
+    };
+
+    // parsed documents by source, in access order; parsed documents are only read, so they can be shared
+    private final Map<String, DocumentContext> parsedDocuments = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DocumentContext> eldest) {
+            return size() > MAX_CACHED_DOCUMENTS;
+        }
+    };
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -64,7 +93,7 @@ public class JSonPathTransformationService implements TransformationService {
             return null;
         }
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            Object transformationResult = getDocument(source).read(getPath(jsonPathExpression));
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -80,6 +109,36 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private JsonPath getPath(String jsonPathExpression) {
+        synchronized (compiledPaths) {
+            JsonPath path = compiledPaths.get(jsonPathExpression);
+            if (path != null) {
+                return path;
+            }
+        }
+        // compile outside the lock, a concurrent compilation of the same expression is harmless
+        JsonPath path = JsonPath.compile(jsonPathExpression);
+        synchronized (compiledPaths) {
+            compiledPaths.put(jsonPathExpression, path);
+        }
+        return path;
+    }
+
+    private DocumentContext getDocument(String source) {
+        synchronized (parsedDocuments) {
+            DocumentContext document = parsedDocuments.get(source);
+            if (document != null) {
+                return document;
+            }
+        }
+        // parse outside the lock, a concurrent parse of the same source is harmless
+        DocumentContext document = JsonPath.parse(source);
+        synchronized (parsedDocuments) {
+            parsedDocuments.put(source, document);
+        }
+        return document;
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -14,6 +14,9 @@ package org.openhab.transform.jsonpath.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
@@ -57,6 +60,32 @@ public class JSonPathTransformationServiceTest {
         assertEquals("2", transformedResponse);
     }
 
+    @Test
+    public void testMultiplePathsOnSameDocument() throws TransformationException {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("bob", processor.transform("$[0].name", jsonArray));
+            assertEquals("alice", processor.transform("$[1].name", jsonArray));
+            assertEquals("[1, 2]", processor.transform("$[*].id", jsonArray));
+        }
+    }
+
+    @Test
+    public void testMorePathsThanCached() throws TransformationException {
+        String json = IntStream.range(0, 1500).mapToObj(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+        for (int i = 0; i < 1500; i++) {
+            assertEquals(String.valueOf(i), processor.transform("$[" + i + "]", json));
+            // a frequently used path stays cached while other paths are evicted
+            assertEquals("0", processor.transform("$[0]", json));
+        }
+    }
+
+    @Test
+    public void testChangedDocumentIsParsedAgain() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("carol", processor.transform("$[0].name", jsonArray.replace("bob", "carol")));
+        assertEquals("bob", processor.transform("$[0].name", new String(jsonArray)));
+    }
+
     @Test
     public void testInvalidPathThrowsException() {
         assertThrows(TransformationException.class, () -> processor.transform("$$", jsonArray));
@@ -12,13 +12,18 @@
  */
 package org.openhab.transform.xpath.internal;
 
+import java.io.IOException;
 import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -26,65 +31,151 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XPath Expressions.
  *
+ * Documents are parsed with a new builder from a shared factory. Compiled expressions are kept in a bounded cache,
+ * they are not thread-safe, so each one is evaluated by one thread at a time. Recently parsed documents are shared for
+ * a short time, so that extracting several values from the same response (e.g. one per channel) parses it only once.
+ * The caches are cleared when the service is deactivated.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    private static final int MAX_CACHED_EXPRESSIONS = 100;
+    private static final int MAX_CACHED_DOCUMENTS = 4;
+    private static final long DOCUMENT_CACHE_NANOS = 10_000_000_000L;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
-    @Override
-    public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
-        if (xpathExpression == null || source == null) {
-            throw new TransformationException("the given parameters 'xpath' and 'source' must not be null");
+    private final DocumentBuilderFactory domFactory;
+    private final XPathFactory xpathFactory = XPathFactory.newInstance();
+
+    // compiled expressions, in access order
+    private final Map<String, XPathExpression> expressions = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+            return size() > MAX_CACHED_EXPRESSIONS;
         }
+    };
 
-        logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
+    // recently parsed documents by source, in access order
+    private final Map<String, CachedDocument> documents = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
 
-        StringReader stringReader = null;
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedDocument> eldest) {
+            return size() > MAX_CACHED_DOCUMENTS;
+        }
+    };
 
+    private record CachedDocument(Document document, long parsedAt) {
+    }
+
+    public XPathTransformationService() {
+        domFactory = DocumentBuilderFactory.newInstance();
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
             // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
             domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
             domFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
             domFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-            domFactory.setXIncludeAware(false);
-            domFactory.setExpandEntityReferences(false);
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("XML parser does not support disabling external entities", e);
+        }
+        domFactory.setXIncludeAware(false);
+        domFactory.setExpandEntityReferences(false);
+        domFactory.setNamespaceAware(true);
+        domFactory.setValidating(false);
+    }
 
-            stringReader = new StringReader(source);
-            InputSource inputSource = new InputSource(stringReader);
-            inputSource.setEncoding("UTF-8");
+    @Deactivate
+    public void deactivate() {
+        synchronized (expressions) {
+            expressions.clear();
+        }
+        synchronized (documents) {
+            documents.clear();
+        }
+    }
+
+    @Override
+    public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
+        if (xpathExpression == null || source == null) {
+            throw new TransformationException("the given parameters 'xpath' and 'source' must not be null");
+        }
 
-            Document doc = builder.parse(inputSource);
+        logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
 
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
+        try {
+            Document doc = getDocument(source);
+            XPathExpression expr = getExpression(xpathExpression);
 
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            String transformationResult;
+            // DOM implementations are not thread-safe, even for reading
+            synchronized (doc) {
+                synchronized (expr) {
+                    transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+                }
+            }
 
             logger.debug("transformation resulted in '{}'", transformationResult);
 
             return transformationResult;
         } catch (Exception e) {
             throw new TransformationException("transformation throws exceptions", e);
-        } finally {
-            if (stringReader != null) {
-                stringReader.close();
+        }
+    }
+
+    private XPathExpression getExpression(String xpathExpression) throws XPathExpressionException {
+        synchronized (expressions) {
+            XPathExpression expr = expressions.get(xpathExpression);
+            if (expr == null) {
+                XPath xpath = xpathFactory.newXPath();
+                expr = xpath.compile(xpathExpression);
+                expressions.put(xpathExpression, expr);
             }
+            return expr;
+        }
+    }
+
+    private Document getDocument(String source) throws ParserConfigurationException, SAXException, IOException {
+        long now = System.nanoTime();
+        synchronized (documents) {
+            // don't keep expired documents until they are replaced
+            documents.values().removeIf(cached -> now - cached.parsedAt() >= DOCUMENT_CACHE_NANOS);
+            CachedDocument cached = documents.get(source);
+            if (cached != null) {
+                return cached.document();
+            }
+        }
+
+        DocumentBuilder builder;
+        synchronized (domFactory) {
+            builder = domFactory.newDocumentBuilder();
+        }
+        Document doc;
+        try (StringReader stringReader = new StringReader(source)) {
+            InputSource inputSource = new InputSource(stringReader);
+            inputSource.setEncoding("UTF-8");
+            doc = builder.parse(inputSource);
+        }
+
+        synchronized (documents) {
+            documents.put(source, new CachedDocument(doc, now));
         }
+        return doc;
     }
 }
@@ -13,11 +13,20 @@
 package org.openhab.transform.xslt.internal;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
+import javax.xml.transform.Templates;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -25,9 +34,13 @@ import javax.xml.transform.stream.StreamSource;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.OpenHAB;
+import org.openhab.core.service.WatchService;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,14 +48,68 @@ import org.slf4j.LoggerFactory;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XSLT.
  *
+ * Compiled stylesheets are cached until the file watcher reports a change of their file or of a stylesheet they
+ * include or import. Included and imported local files are also checked for a changed modification time before a
+ * cached stylesheet is used, since they may be outside of the watched folder. Stylesheets included from other
+ * locations, e.g. over http, are not checked.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=XSLT" })
-public class XsltTransformationService implements TransformationService {
+public class XsltTransformationService implements TransformationService, WatchService.WatchEventListener {
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    private final WatchService watchService;
+
+    // compiled stylesheets by absolute file path, Templates are thread-safe
+    private final Map<Path, CachedTemplates> templatesCache = new ConcurrentHashMap<>();
+
+    /**
+     * A compiled stylesheet and the modification times of the local files it includes or imports
+     */
+    private record CachedTemplates(Templates templates, Map<Path, FileTime> includes) {
+
+        boolean includesChanged() {
+            for (Map.Entry<Path, FileTime> include : includes.entrySet()) {
+                try {
+                    if (!Files.getLastModifiedTime(include.getKey()).equals(include.getValue())) {
+                        return true;
+                    }
+                } catch (IOException e) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean includes(Path path) {
+            return includes.keySet().stream().anyMatch(include -> include.endsWith(path));
+        }
+    }
+
+    @Activate
+    public XsltTransformationService(
+            final @Reference(target = WatchService.CONFIG_WATCHER_FILTER) WatchService watchService) {
+        this.watchService = watchService;
+        watchService.registerListener(this, Path.of(TransformationService.TRANSFORM_FOLDER_NAME));
+    }
+
+    @Deactivate
+    public void deactivate() {
+        watchService.unregisterListener(this);
+        templatesCache.clear();
+    }
+
+    @Override
+    public void processWatchEvent(WatchService.Kind kind, Path path) {
+        // the path may be relative to the config or the transform folder, so compare the trailing name elements
+        templatesCache.entrySet()
+                .removeIf(cached -> cached.getKey().endsWith(path) || cached.getValue().includes(path));
+        logger.trace("Invalidated cached stylesheet '{}' after {} event", path, kind);
+    }
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,12 +127,39 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        logger.debug("about to transform '{}' by the function '{}'", source, filename);
+
+        return doTransform(filename, new StreamSource(new StringReader(source)));
+    }
+
+    private String doTransform(String filename, Source source) throws TransformationException {
+        Templates templates = getTemplates(filename);
+        StringWriter out = new StringWriter();
 
         try {
-            String path = OpenHAB.getConfigFolder() + File.separator + TransformationService.TRANSFORM_FOLDER_NAME
-                    + File.separator + filename;
-            xsl = new StreamSource(new File(path));
+            // Transformer instances are not thread-safe, but cheap to create from the compiled Templates
+            templates.newTransformer().transform(source, new StreamResult(out));
+        } catch (Exception e) {
+            logger.error("transformation throws exception", e);
+            throw new TransformationException("transformation throws exception", e);
+        }
+
+        logger.debug("transformation resulted in '{}'", out.toString());
+
+        return out.toString();
+    }
+
+    private Templates getTemplates(String filename) throws TransformationException {
+        Path path;
+        Source xsl;
+        try {
+            path = Path.of(OpenHAB.getConfigFolder(), TransformationService.TRANSFORM_FOLDER_NAME, filename)
+                    .toAbsolutePath().normalize();
+            CachedTemplates cached = templatesCache.get(path);
+            if (cached != null && !cached.includesChanged()) {
+                return cached.templates();
+            }
+            xsl = new StreamSource(new File(path.toString()));
         } catch (Exception e) {
             String message = "opening file '" + filename + "' throws exception";
 
@@ -73,23 +167,38 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException(message, e);
         }
 
-        logger.debug("about to transform '{}' by the function '{}'", source, xsl);
-
-        StringReader xml = new StringReader(source);
-        StringWriter out = new StringWriter();
-
-        Transformer transformer;
-
+        Templates templates;
+        Map<Path, FileTime> includes = new HashMap<>();
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
-            transformer.transform(new StreamSource(xml), new StreamResult(out));
+            // TransformerFactory is not thread-safe, so every compilation uses its own instance
+            TransformerFactory factory = TransformerFactory.newInstance();
+            factory.setURIResolver((href, base) -> {
+                addInclude(href, base, includes);
+                // let the factory load the stylesheet as usual
+                return null;
+            });
+            templates = factory.newTemplates(xsl);
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
             throw new TransformationException("transformation throws exception", e);
         }
+        templatesCache.put(path, new CachedTemplates(templates, includes));
+        return templates;
+    }
 
-        logger.debug("transformation resulted in '{}'", out.toString());
-
-        return out.toString();
+    /**
+     * Record the modification time of an included or imported stylesheet, if it is a local file
+     */
+    private void addInclude(String href, @Nullable String base, Map<Path, FileTime> includes) {
+        try {
+            URI uri = base == null ? new URI(href) : new URI(base).resolve(href);
+            if ("file".equals(uri.getScheme())) {
+                Path include = Path.of(uri);
+                includes.put(include, Files.getLastModifiedTime(include));
+            }
+        } catch (URISyntaxException | IllegalArgumentException | IOException e) {
+            logger.debug("Changes of the stylesheet '{}' included from '{}' are not detected: {}", href, base,
+                    e.getMessage());
+        }
     }
 }
@@ -13,9 +13,17 @@
 package org.openhab.transform.xslt.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.openhab.core.service.WatchService;
 import org.openhab.core.transform.TransformationException;
 
 /**
@@ -23,11 +31,20 @@ import org.openhab.core.transform.TransformationException;
  */
 public class XsltTransformationServiceTest extends AbstractTransformationServiceTest {
 
+    private static final Path CACHE_TEST_FILE = Path.of("conf", "transform", "cache_test.xsl");
+    private static final Path INCLUDE_TEST_FILE = Path.of("conf", "transform", "include_test.xsl");
+
     private XsltTransformationService processor;
 
     @BeforeEach
     public void init() {
-        processor = new XsltTransformationService();
+        processor = new XsltTransformationService(mock(WatchService.class));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(CACHE_TEST_FILE);
+        Files.deleteIfExists(INCLUDE_TEST_FILE);
     }
 
     @Test
@@ -38,4 +55,67 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testCompiledStylesheetIsReloadedAfterChange() throws IOException, TransformationException {
+        Files.writeString(CACHE_TEST_FILE, stylesheet("temp_c"));
+        assertEquals("8", processor.transform("cache_test.xsl", source));
+
+        // the cached stylesheet is used until the watcher reports the change
+        Files.writeString(CACHE_TEST_FILE, stylesheet("temp_f"));
+        assertEquals("8", processor.transform("cache_test.xsl", source));
+
+        processor.processWatchEvent(WatchService.Kind.MODIFY, Path.of("transform", "cache_test.xsl"));
+        assertEquals("46", processor.transform("cache_test.xsl", source));
+    }
+
+    @Test
+    public void testCompiledStylesheetIsReloadedAfterChangeOfIncludedStylesheet()
+            throws IOException, TransformationException {
+        Files.writeString(CACHE_TEST_FILE, includingStylesheet());
+        Files.writeString(INCLUDE_TEST_FILE, stylesheet("temp_c"));
+        assertEquals("8", processor.transform("cache_test.xsl", source));
+
+        // detected by the modification time, without an event of the watcher
+        Files.writeString(INCLUDE_TEST_FILE, stylesheet("temp_f"));
+        Files.setLastModifiedTime(INCLUDE_TEST_FILE,
+                FileTime.fromMillis(Files.getLastModifiedTime(INCLUDE_TEST_FILE).toMillis() + 10_000));
+        assertEquals("46", processor.transform("cache_test.xsl", source));
+    }
+
+    @Test
+    public void testCompiledStylesheetIsReloadedAfterWatchEventOfIncludedStylesheet()
+            throws IOException, TransformationException {
+        Files.writeString(CACHE_TEST_FILE, includingStylesheet());
+        Files.writeString(INCLUDE_TEST_FILE, stylesheet("temp_c"));
+        FileTime modified = Files.getLastModifiedTime(INCLUDE_TEST_FILE);
+        assertEquals("8", processor.transform("cache_test.xsl", source));
+
+        // keep the modification time, so only the event can invalidate the stylesheet
+        Files.writeString(INCLUDE_TEST_FILE, stylesheet("temp_f"));
+        Files.setLastModifiedTime(INCLUDE_TEST_FILE, modified);
+        processor.processWatchEvent(WatchService.Kind.MODIFY, Path.of("transform", "include_test.xsl"));
+        assertEquals("46", processor.transform("cache_test.xsl", source));
+    }
+
+    private static String includingStylesheet() {
+        return """
+                <?xml version="1.0"?>
+                <xsl:stylesheet xmlns:xsl="http://www.w3.org/1999/XSL/Transform" version="1.0">
+                    <xsl:include href="include_test.xsl" />
+                </xsl:stylesheet>
+                """;
+    }
+
+    private static String stylesheet(String element) {
+        return """
+                <?xml version="1.0"?>
+                <xsl:stylesheet xmlns:xsl="http://www.w3.org/1999/XSL/Transform" version="1.0">
+                    <xsl:output method="text" />
+                    <xsl:template match="//current_conditions">
+                        <xsl:value-of select="%s/@data" />
+                    </xsl:template>
+                </xsl:stylesheet>
+                """.formatted(element);
+    }
 }
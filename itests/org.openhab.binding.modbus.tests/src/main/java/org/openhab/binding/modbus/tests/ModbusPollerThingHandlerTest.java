@@ -521,6 +521,143 @@ public class ModbusPollerThingHandlerTest extends AbstractModbusOSGiTest {
         verifyNoMoreInteractions(child2);
     }
 
+    @Test
+    public void testUnchangedRegistersAreNotDecodedAgain()
+            throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+        PollTask pollTask = Mockito.mock(PollTask.class);
+        doReturn(pollTask).when(comms).registerRegularPoll(notNull(), eq(150l), eq(0L), notNull(), notNull());
+
+        Configuration pollerConfig = new Configuration();
+        pollerConfig.put("refresh", 150L);
+        pollerConfig.put("start", 5);
+        pollerConfig.put("length", 3);
+        pollerConfig.put("type", "holding");
+        poller = createPollerThingBuilder("poller").withConfiguration(pollerConfig).withBridge(endpoint.getUID())
+                .build();
+        addThing(poller);
+        verifyEndpointBasicInitInteraction();
+
+        assertThat(poller.getStatus(), is(equalTo(ThingStatus.ONLINE)));
+
+        ModbusPollerThingHandler thingHandler = (ModbusPollerThingHandler) poller.getHandler();
+        assertNotNull(thingHandler);
+        ModbusReadCallback readCallback = getPollerCallback(thingHandler);
+
+        // child1 reads the first register, child2 the second and third register
+        ModbusDataThingHandler child1 = Mockito.mock(ModbusDataThingHandler.class);
+        doReturn(0).when(child1).getReadWindowStart();
+        doReturn(1).when(child1).getReadWindowLength();
+        ModbusDataThingHandler child2 = Mockito.mock(ModbusDataThingHandler.class);
+        doReturn(1).when(child2).getReadWindowStart();
+        doReturn(2).when(child2).getReadWindowLength();
+        thingHandler.childHandlerInitialized(child1, Mockito.mock(Thing.class));
+        thingHandler.childHandlerInitialized(child2, Mockito.mock(Thing.class));
+
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        AsyncModbusReadResult result1 = new AsyncModbusReadResult(request, new ModbusRegisterArray(1, 2, 3));
+        AsyncModbusReadResult result2 = new AsyncModbusReadResult(request, new ModbusRegisterArray(1, 2, 4));
+
+        // first result is decoded by all children
+        readCallback.handle(result1);
+        verify(child1).onReadResult(result1);
+        verify(child2).onReadResult(result1);
+
+        // only the data of child2 changed
+        readCallback.handle(result2);
+        verify(child1).onUnchangedReadResult(result2);
+        verify(child1, never()).onReadResult(result2);
+        verify(child2).onReadResult(result2);
+
+        assertThat(thingHandler.getDispatchedUpdates(), is(equalTo(3L)));
+        assertThat(thingHandler.getSkippedUpdates(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void testUnchangedRegistersAreDecodedWhenProcessingUnchangedData()
+            throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+        PollTask pollTask = Mockito.mock(PollTask.class);
+        doReturn(pollTask).when(comms).registerRegularPoll(notNull(), eq(150l), eq(0L), notNull(), notNull());
+
+        Configuration pollerConfig = new Configuration();
+        pollerConfig.put("refresh", 150L);
+        pollerConfig.put("start", 5);
+        pollerConfig.put("length", 3);
+        pollerConfig.put("type", "holding");
+        pollerConfig.put("processUnchangedData", true);
+        poller = createPollerThingBuilder("poller").withConfiguration(pollerConfig).withBridge(endpoint.getUID())
+                .build();
+        addThing(poller);
+        verifyEndpointBasicInitInteraction();
+
+        assertThat(poller.getStatus(), is(equalTo(ThingStatus.ONLINE)));
+
+        ModbusPollerThingHandler thingHandler = (ModbusPollerThingHandler) poller.getHandler();
+        assertNotNull(thingHandler);
+        ModbusReadCallback readCallback = getPollerCallback(thingHandler);
+
+        ModbusDataThingHandler child1 = Mockito.mock(ModbusDataThingHandler.class);
+        doReturn(0).when(child1).getReadWindowStart();
+        doReturn(1).when(child1).getReadWindowLength();
+        thingHandler.childHandlerInitialized(child1, Mockito.mock(Thing.class));
+
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        AsyncModbusReadResult result1 = new AsyncModbusReadResult(request, new ModbusRegisterArray(1, 2, 3));
+        AsyncModbusReadResult result2 = new AsyncModbusReadResult(request, new ModbusRegisterArray(1, 2, 4));
+
+        // the window of child1 is the same in both results, but every result is decoded
+        readCallback.handle(result1);
+        readCallback.handle(result2);
+        verify(child1).onReadResult(result1);
+        verify(child1).onReadResult(result2);
+        verify(child1, never()).onUnchangedReadResult(any());
+
+        assertThat(thingHandler.getDispatchedUpdates(), is(equalTo(2L)));
+        assertThat(thingHandler.getSkippedUpdates(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testUnchangedRegistersAreDecodedAgainAfterError()
+            throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
+        PollTask pollTask = Mockito.mock(PollTask.class);
+        doReturn(pollTask).when(comms).registerRegularPoll(notNull(), eq(150l), eq(0L), notNull(), notNull());
+
+        Configuration pollerConfig = new Configuration();
+        pollerConfig.put("refresh", 150L);
+        pollerConfig.put("start", 5);
+        pollerConfig.put("length", 3);
+        pollerConfig.put("type", "holding");
+        poller = createPollerThingBuilder("poller").withConfiguration(pollerConfig).withBridge(endpoint.getUID())
+                .build();
+        addThing(poller);
+        verifyEndpointBasicInitInteraction();
+
+        assertThat(poller.getStatus(), is(equalTo(ThingStatus.ONLINE)));
+
+        ModbusPollerThingHandler thingHandler = (ModbusPollerThingHandler) poller.getHandler();
+        assertNotNull(thingHandler);
+        ModbusReadCallback readCallback = getPollerCallback(thingHandler);
+
+        ModbusDataThingHandler child1 = Mockito.mock(ModbusDataThingHandler.class);
+        doReturn(0).when(child1).getReadWindowStart();
+        doReturn(1).when(child1).getReadWindowLength();
+        thingHandler.childHandlerInitialized(child1, Mockito.mock(Thing.class));
+
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        AsyncModbusReadResult result1 = new AsyncModbusReadResult(request, new ModbusRegisterArray(1, 2, 3));
+        AsyncModbusReadResult result2 = new AsyncModbusReadResult(request, new ModbusRegisterArray(1, 2, 3));
+        AsyncModbusFailure<ModbusReadRequestBlueprint> failure = new AsyncModbusFailure<>(request, new Exception());
+
+        readCallback.handle(result1);
+        verify(child1).onReadResult(result1);
+
+        // the result after an error is decoded, even if the data did not change
+        getPollerFailureCallback(thingHandler).handle(failure);
+        readCallback.handle(result2);
+        verify(child1).handleReadError(failure);
+        verify(child1).onReadResult(result2);
+        verify(child1, never()).onUnchangedReadResult(any());
+    }
+
     @Test
     public void testErrorPassedToChildDataThings()
             throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {